@@ -0,0 +1,48 @@
+package com.rakta.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Enables @Async work on dedicated bounded pools.
+ *
+ * Badge evaluation runs after the request's transaction commits but would
+ * otherwise do so on the request thread, which still holds its connection
+ * (open-in-view) while the evaluation takes a second one. A few requests at
+ * once could then exhaust the pool and wait on each other.
+ */
+@Configuration
+@EnableAsync
+@Slf4j
+public class AsyncConfig {
+
+    public static final String BADGE_EXECUTOR = "badgeEvaluationExecutor";
+
+    @Bean(BADGE_EXECUTOR)
+    public ThreadPoolTaskExecutor badgeEvaluationExecutor(
+            @Value("${badges.evaluation.threads:2}") int threads,
+            @Value("${badges.evaluation.queue-capacity:1000}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("badge-evaluation-");
+        // Never run on the caller: that is the request thread this pool keeps free
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            log.warn("Badge evaluation queue full ({} waiting), dropping an event", pool.getQueue().size());
+            meterRegistry.counter("rakta.badges.rejected").increment();
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        meterRegistry.gauge("rakta.badges.queue", executor,
+                pool -> pool.getThreadPoolExecutor().getQueue().size());
+        return executor;
+    }
+}
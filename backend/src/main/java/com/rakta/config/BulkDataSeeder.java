@@ -0,0 +1,414 @@
+package com.rakta.config;
+
+import com.rakta.entity.DailyMetric;
+import com.rakta.entity.User;
+import com.rakta.service.FollowCounterReconciler;
+import com.rakta.service.ReadinessCalculatorService;
+import com.rakta.service.ReadinessScoringKernel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Writes the {@link DataSeeder} volume data with JDBC batch inserts.
+ *
+ * Users are split into fixed-size segments that are generated and written in
+ * parallel. Each segment draws from its own random stream, derived from the
+ * fixed seed and the segment index, and ids come from the segment layout, so
+ * the data only depends on the configured scale and segment size, not on the
+ * thread count. Post like ids are the exception; they are drawn from the
+ * table's sequence in blocks, like Hibernate does.
+ *
+ * Seeding runs in two phases to keep foreign keys satisfied: users with their
+ * metrics and readiness snapshots, then posts, likes and follows, which
+ * reference users of other segments.
+ *
+ * On PostgreSQL, add reWriteBatchedInserts=true to the JDBC URL so each batch
+ * is sent as multi-row INSERTs.
+ */
+@Component
+@Profile("!prod")
+@Slf4j
+@RequiredArgsConstructor
+public class BulkDataSeeder {
+
+    private static final long SEED = 42L; // Fixed seed for reproducibility
+    private static final int USER_PHASE = 1;
+    private static final int SOCIAL_PHASE = 2;
+
+    // Scored days, counted back from the newest metric
+    private static final int SNAPSHOT_INTERVAL_DAYS = 10;
+
+    // Increment of the entity id sequences (their allocationSize)
+    private static final int SEQUENCE_INCREMENT = 50;
+
+    private static final String INSERT_USER = "INSERT INTO users (id, first_name, last_name, username, email, "
+            + "password, date_of_birth, gender, height, weight, blood_type, terms_accepted, enabled, created_at, "
+            + "updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] USER_TYPES = { Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+            Types.VARCHAR, Types.VARCHAR, Types.DATE, Types.VARCHAR, Types.DOUBLE, Types.DOUBLE, Types.VARCHAR,
+            Types.BOOLEAN, Types.BOOLEAN, Types.TIMESTAMP, Types.TIMESTAMP };
+
+    private static final String INSERT_METRIC = "INSERT INTO daily_metrics (id, user_id, date, sleep_hours, "
+            + "sleep_efficiency, training_load_acute, resting_heart_rate, hrv_ms, iron_intake_score, energy_level, "
+            + "hydration_liters, source, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] METRIC_TYPES = { SqlTypeValue.TYPE_UNKNOWN, Types.BIGINT, Types.DATE,
+            Types.NUMERIC, Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER,
+            Types.INTEGER, Types.NUMERIC, Types.VARCHAR, Types.TIMESTAMP };
+
+    private static final String INSERT_SNAPSHOT = "INSERT INTO readiness_snapshots (id, user_id, date, total_score, "
+            + "rbc_component, iron_component, lifestyle_component, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] SNAPSHOT_TYPES = { SqlTypeValue.TYPE_UNKNOWN, Types.BIGINT, Types.DATE,
+            Types.INTEGER, Types.NUMERIC, Types.NUMERIC, Types.NUMERIC, Types.TIMESTAMP };
+
+    private static final String INSERT_POST = "INSERT INTO donation_posts (id, user_id, location_id, donation_date, "
+            + "review_text, like_count, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final int[] POST_TYPES = { Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.DATE, Types.VARCHAR,
+            Types.INTEGER, Types.TIMESTAMP };
+
+    private static final String INSERT_LIKE = "INSERT INTO post_likes (id, user_id, post_id, liked_at) "
+            + "VALUES (?, ?, ?, ?)";
+    private static final int[] LIKE_TYPES = { Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.TIMESTAMP };
+
+    private static final String INSERT_FOLLOW = "INSERT INTO user_follows (follower_id, following_id, created_at) "
+            + "VALUES (?, ?, ?)";
+    private static final int[] FOLLOW_TYPES = { Types.BIGINT, Types.BIGINT, Types.TIMESTAMP };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ReadinessCalculatorService readinessCalculatorService;
+
+    @Value("${seeder.users:1000}")
+    private int userCount;
+
+    @Value("${seeder.days:30}")
+    private int daysOfMetrics;
+
+    @Value("${seeder.segment-size:5000}")
+    private int segmentSize;
+
+    @Value("${seeder.threads:4}")
+    private int threads;
+
+    @Value("${seeder.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Row counts written by a seeding run (or one segment of it).
+     */
+    public record Result(long users, long metrics, long snapshots, long posts, long likes, long follows) {
+
+        static final Result EMPTY = new Result(0, 0, 0, 0, 0, 0);
+
+        Result plus(Result other) {
+            return new Result(users + other.users, metrics + other.metrics, snapshots + other.snapshots,
+                    posts + other.posts, likes + other.likes, follows + other.follows);
+        }
+    }
+
+    /**
+     * Seed users, metrics, readiness snapshots and social data. Expects the
+     * user tables to be empty; locations must already exist.
+     *
+     * @param locationIds Locations to attach donation posts to
+     * @param today       Date of the newest metric
+     */
+    public Result seed(List<Long> locationIds, LocalDate today) {
+        if (userCount <= 0 || segmentSize <= 0 || batchSize <= 0 || daysOfMetrics <= 0) {
+            throw new IllegalArgumentException("seeder.users, days, segment-size and batch-size must be positive");
+        }
+        int segments = (userCount + segmentSize - 1) / segmentSize;
+        log.info("🚀 Starting bulk data seeding: {} users, {} days of metrics, {} segments on {} threads",
+                userCount, daysOfMetrics, segments, Math.min(threads, segments));
+        long startTime = System.currentTimeMillis();
+
+        long userBase = sequenceBase("users");
+        long postBase = sequenceBase("donation_posts");
+        long[] postOffsets = new long[segments + 1];
+        for (int s = 0; s < segments; s++) {
+            postOffsets[s + 1] = postOffsets[s] + postsInSegment(s);
+        }
+        String encodedPassword = passwordEncoder.encode("password123");
+        Timestamp seededAt = Timestamp.valueOf(today.atStartOfDay());
+
+        Result result = runSegments(segments,
+                s -> seedUserSegment(s, userBase, encodedPassword, today, seededAt));
+        restartSequence("users", userBase + userCount);
+        log.info("   ✅ {} users, {} daily metrics, {} readiness snapshots",
+                result.users(), result.metrics(), result.snapshots());
+
+        if (locationIds.isEmpty()) {
+            log.warn("⚠️ No locations available for posts. Skipping social interactions.");
+        } else {
+            result = result.plus(runSegments(segments,
+                    s -> seedSocialSegment(s, userBase, postBase + postOffsets[s], postOffsets[s], locationIds,
+                            today, seededAt)));
+            restartSequence("donation_posts", postBase + postOffsets[segments]);
+            // Follows cross segments, so the counters are filled in one pass at the end
+            jdbcTemplate.update(FollowCounterReconciler.REPAIR_SQL, userBase, userBase + userCount);
+            log.info("   ✅ {} donation posts, {} likes, {} follow relationships",
+                    result.posts(), result.likes(), result.follows());
+        }
+
+        log.info("🎉 Bulk data seeding complete in {} ms", System.currentTimeMillis() - startTime);
+        return result;
+    }
+
+    /**
+     * Phase 1: the segment's users, their metrics and readiness snapshots.
+     */
+    private Result seedUserSegment(int segment, long userBase, String encodedPassword, LocalDate today,
+            Timestamp seededAt) {
+        Random random = segmentRandom(USER_PHASE, segment);
+        ReadinessScoringKernel kernel = readinessCalculatorService.getScoringKernel();
+        ReadinessScoringKernel.Window window = new ReadinessScoringKernel.Window();
+        Batch users = new Batch(INSERT_USER, USER_TYPES, null);
+        Batch metrics = new Batch(INSERT_METRIC, METRIC_TYPES, users);
+        Batch snapshots = new Batch(INSERT_SNAPSHOT, SNAPSHOT_TYPES, users);
+
+        int first = segment * segmentSize;
+        int last = Math.min(userCount, first + segmentSize);
+        for (int index = first; index < last; index++) {
+            long userId = userBase + index + 1;
+            User user = DataSeeder.createRandomUser(random, index + 1, encodedPassword, today);
+            users.add(userId, user.getFirstName(), user.getLastName(), user.getUsername(), user.getEmail(),
+                    user.getPassword(), Date.valueOf(user.getDateOfBirth()), user.getGender(), user.getHeight(),
+                    user.getWeight(), user.getBloodType(), user.isTermsAccepted(), user.isEnabled(), seededAt,
+                    seededAt);
+
+            List<DailyMetric> days = DataSeeder.generateMetricsForUser(random, user,
+                    DataSeeder.determineSegment(index, userCount), daysOfMetrics, today);
+            for (DailyMetric m : days) {
+                metrics.add(randomUuid(random), userId, Date.valueOf(m.getDate()), m.getSleepHours(),
+                        m.getSleepEfficiency(), m.getTrainingLoadAcute(), m.getRestingHeartRate(), m.getHrvMs(),
+                        m.getIronIntakeScore(), m.getEnergyLevel(), m.getHydrationLiters(), m.getSource(),
+                        seededAt);
+            }
+
+            // Scored as of each day, from that day and the ones before it
+            boolean female = "FEMALE".equalsIgnoreCase(user.getGender());
+            for (int d = days.size() - 1; d >= 0; d -= SNAPSHOT_INTERVAL_DAYS) {
+                window.clear();
+                for (int w = d; w >= 0 && d - w < ReadinessScoringKernel.CHRONIC_WINDOW_DAYS; w--) {
+                    DailyMetric m = days.get(w);
+                    window.add(d - w, m.getSleepHours().doubleValue(), m.getIronIntakeScore(),
+                            m.getTrainingLoadAcute());
+                }
+                ReadinessScoringKernel.Score score = kernel.score(window, ReadinessScoringKernel.NO_DONATION,
+                        female);
+                snapshots.add(randomUuid(random), userId, Date.valueOf(days.get(d).getDate()), score.totalScore(),
+                        scale(score.rbcComponent()), scale(score.ironComponent()),
+                        scale(score.lifestyleComponent()), seededAt);
+            }
+        }
+        metrics.flush();
+        snapshots.flush();
+        return new Result(users.written, metrics.written, snapshots.written, 0, 0, 0);
+    }
+
+    /**
+     * Phase 2: posts by the segment's users with their likes, and the
+     * segment's follows. Likers and followed users come from all segments.
+     */
+    private Result seedSocialSegment(int segment, long userBase, long firstPostId, long postOrdinal,
+            List<Long> locationIds, LocalDate today, Timestamp seededAt) {
+        Random random = segmentRandom(SOCIAL_PHASE, segment);
+        Batch posts = new Batch(INSERT_POST, POST_TYPES, null);
+        Batch likes = new Batch(INSERT_LIKE, LIKE_TYPES, posts);
+        Batch follows = new Batch(INSERT_FOLLOW, FOLLOW_TYPES, null);
+        SequenceIds likeIds = new SequenceIds("post_likes_seq");
+
+        int first = segment * segmentSize;
+        int size = Math.min(userCount, first + segmentSize) - first;
+        Set<Long> seen = new HashSet<>();
+
+        int postCount = postsInSegment(segment);
+        for (int p = 0; p < postCount; p++) {
+            long postId = firstPostId + p;
+            long authorId = userBase + first + random.nextInt(size) + 1;
+            Long locationId = locationIds.get(random.nextInt(locationIds.size()));
+            LocalDate donationDate = today.minusDays(random.nextInt(daysOfMetrics));
+            String reviewText = DataSeeder.randomReviewText(random, (int) (postOrdinal + p + 1));
+            Timestamp createdAt = Timestamp.valueOf(donationDate.atTime(8 + random.nextInt(12), random.nextInt(60)));
+
+            // Likes are generated before their post so the post row carries
+            // the final like count; the post batch is flushed first.
+            seen.clear();
+            List<Object[]> postLikes = new ArrayList<>();
+            int likeCount = random.nextInt(DataSeeder.MAX_LIKES_PER_POST + 1);
+            for (int i = 0; i < likeCount && i < userCount; i++) {
+                long likerId = userBase + random.nextInt(userCount) + 1;
+                if (likerId == authorId || !seen.add(likerId)) {
+                    continue;
+                }
+                postLikes.add(new Object[] { likeIds.next(), likerId, postId,
+                        new Timestamp(createdAt.getTime() + random.nextInt(86_400) * 1000L) });
+            }
+            posts.add(postId, authorId, locationId, Date.valueOf(donationDate), reviewText, postLikes.size(),
+                    createdAt);
+            postLikes.forEach(likes::add);
+        }
+
+        for (int index = first; index < first + size; index++) {
+            long followerId = userBase + index + 1;
+            int followCount = DataSeeder.MIN_FOLLOWS_PER_USER
+                    + random.nextInt(DataSeeder.MAX_FOLLOWS_PER_USER - DataSeeder.MIN_FOLLOWS_PER_USER + 1);
+            seen.clear();
+            for (int i = 0; i < followCount; i++) {
+                long followingId = userBase + random.nextInt(userCount) + 1;
+                if (followingId == followerId || !seen.add(followingId)) {
+                    continue;
+                }
+                follows.add(followerId, followingId, seededAt);
+            }
+        }
+        likes.flush();
+        follows.flush();
+        return new Result(0, 0, 0, posts.written, likes.written, follows.written);
+    }
+
+    private int postsInSegment(int segment) {
+        int size = Math.min(userCount, (segment + 1) * segmentSize) - segment * segmentSize;
+        return (int) (size * DataSeeder.POST_CREATION_RATIO);
+    }
+
+    private Result runSegments(int segments, IntFunction<Result> task) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, segments)));
+        try {
+            List<Future<Result>> futures = new ArrayList<>(segments);
+            for (int s = 0; s < segments; s++) {
+                int segment = s;
+                futures.add(executor.submit(() -> task.apply(segment)));
+            }
+            Result total = Result.EMPTY;
+            for (Future<Result> future : futures) {
+                total = total.plus(future.get());
+            }
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while seeding", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Seeding a segment failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Id before the first one to assign explicitly. Taken from the table's
+     * sequence so it lies above every id already handed out.
+     */
+    private long sequenceBase(String table) {
+        Long low = jdbcTemplate.queryForObject("SELECT nextval('" + table + "_seq')", Long.class);
+        return (low != null ? low : 1L) - 1;
+    }
+
+    /**
+     * Move the table's id sequence past the explicitly assigned ids.
+     */
+    private void restartSequence(String table, long lastId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + (lastId + 1));
+    }
+
+    private static Random segmentRandom(int phase, int segment) {
+        return new Random(SEED * 1_000_003L + phase * 0x9E3779B97F4A7C15L + segment);
+    }
+
+    /**
+     * Version 4 style UUID drawn from the segment's random stream.
+     */
+    private static UUID randomUuid(Random random) {
+        long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private static BigDecimal scale(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Ids reserved from a sequence a block at a time (pooled-lo: each
+     * sequence value is the first id of a block of the sequence increment).
+     */
+    private final class SequenceIds {
+
+        private final String sequence;
+        private long next;
+        private long limit;
+
+        SequenceIds(String sequence) {
+            this.sequence = sequence;
+        }
+
+        long next() {
+            if (next == limit) {
+                Long low = jdbcTemplate.queryForObject("SELECT nextval('" + sequence + "')", Long.class);
+                next = low != null ? low : 0L;
+                limit = next + SEQUENCE_INCREMENT;
+            }
+            return next++;
+        }
+    }
+
+    /**
+     * Buffered rows of one INSERT, written with a JDBC batch when full. A
+     * parent batch (the referenced table) is flushed first.
+     */
+    private final class Batch {
+
+        private final String sql;
+        private final int[] types;
+        private final Batch parent;
+        private final List<Object[]> rows = new ArrayList<>();
+        private long written;
+
+        Batch(String sql, int[] types, Batch parent) {
+            this.sql = sql;
+            this.types = types;
+            this.parent = parent;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (parent != null) {
+                parent.flush();
+            }
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows, types);
+                written += rows.size();
+                rows.clear();
+            }
+        }
+    }
+}
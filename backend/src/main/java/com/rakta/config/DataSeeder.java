@@ -2,9 +2,12 @@ package com.rakta.config;
 
 import com.rakta.entity.*;
 import com.rakta.repository.*;
+import com.rakta.service.BadgeBackfill;
+import com.rakta.service.FollowCounterReconciler;
 import com.rakta.service.ReadinessCalculatorService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -27,6 +30,10 @@ import java.util.*;
  * - Social interactions: Donation posts, likes, follows
  * 
  * Only seeds if UserRepository count is 0.
+ *
+ * The volume data is written by {@link BulkDataSeeder} unless seeder.mode is
+ * set to "jpa"; its scale is configured under seeder.* (see
+ * application.yml).
  * 
  * NOTE: Disabled in production via @Profile("!prod"). Run with
  * -Dspring.profiles.active=prod to skip seeding.
@@ -45,10 +52,20 @@ public class DataSeeder implements CommandLineRunner {
     private final UserFollowRepository userFollowRepository;
     private final PasswordEncoder passwordEncoder;
     private final ReadinessCalculatorService readinessCalculatorService;
+    private final BulkDataSeeder bulkDataSeeder;
+    private final FollowCounterReconciler followCounterReconciler;
+    private final BadgeBackfill badgeBackfill;
+
+    /**
+     * "bulk" writes the volume data with JDBC batch inserts (see
+     * {@link BulkDataSeeder}); "jpa" uses the original repository-based path.
+     */
+    @Value("${seeder.mode:bulk}")
+    private String mode;
 
     // Volume Configuration
     private static final int USER_COUNT = 1000;
-    private static final int DAYS_OF_METRICS = 30;
+    static final int DAYS_OF_METRICS = 30;
     private static final int USER_BATCH_SIZE = 100;
     private static final int METRIC_BATCH_SIZE = 500;
     private static final int POST_BATCH_SIZE = 100;
@@ -56,16 +73,16 @@ public class DataSeeder implements CommandLineRunner {
     private static final int FOLLOW_BATCH_SIZE = 500;
 
     // User segment distribution
-    private static final double ATHLETE_RATIO = 0.30; // 30%
-    private static final double AVERAGE_RATIO = 0.50; // 50%
+    static final double ATHLETE_RATIO = 0.30; // 30%
+    static final double AVERAGE_RATIO = 0.50; // 50%
     // STRESSED_RATIO = 0.20 (20%) - implicitly the remainder after ATHLETE +
     // AVERAGE
 
     // Social simulation
-    private static final double POST_CREATION_RATIO = 0.20; // 20% of users create posts
-    private static final int MAX_LIKES_PER_POST = 50;
-    private static final int MIN_FOLLOWS_PER_USER = 5;
-    private static final int MAX_FOLLOWS_PER_USER = 10;
+    static final double POST_CREATION_RATIO = 0.20; // 20% of users create posts
+    static final int MAX_LIKES_PER_POST = 50;
+    static final int MIN_FOLLOWS_PER_USER = 5;
+    static final int MAX_FOLLOWS_PER_USER = 10;
 
     private static final Random RANDOM = new Random(42); // Fixed seed for reproducibility
 
@@ -103,7 +120,7 @@ public class DataSeeder implements CommandLineRunner {
             null
     };
 
-    private enum UserSegment {
+    enum UserSegment {
         ATHLETE, AVERAGE, STRESSED
     }
 
@@ -169,6 +186,13 @@ public class DataSeeder implements CommandLineRunner {
             return;
         }
 
+        if ("bulk".equalsIgnoreCase(mode)) {
+            List<Long> locationIds = locationRepository.findAll().stream().map(DonationLocation::getId).toList();
+            bulkDataSeeder.seed(locationIds, LocalDate.now());
+            badgeBackfill.backfill();
+            return;
+        }
+
         log.info("🚀 Starting Volume Data Seeding...");
         log.info("   📊 Target: {} users, {} days of metrics each", USER_COUNT, DAYS_OF_METRICS);
         long startTime = System.currentTimeMillis();
@@ -182,6 +206,8 @@ public class DataSeeder implements CommandLineRunner {
         // Phase 3: Create Social Interactions
         List<DonationLocation> locations = locationRepository.findAll();
         createSocialInteractions(allUsers, locations);
+        followCounterReconciler.reconcile();
+        badgeBackfill.backfill();
 
         long elapsed = (System.currentTimeMillis() - startTime) / 1000;
         log.info("🎉 Volume Data Seeding Complete!");
@@ -204,7 +230,7 @@ public class DataSeeder implements CommandLineRunner {
         String encodedPassword = passwordEncoder.encode("password123");
 
         for (int i = 1; i <= USER_COUNT; i++) {
-            User user = createRandomUser(i, encodedPassword);
+            User user = createRandomUser(RANDOM, i, encodedPassword, LocalDate.now());
             batch.add(user);
 
             if (batch.size() >= USER_BATCH_SIZE) {
@@ -228,19 +254,19 @@ public class DataSeeder implements CommandLineRunner {
     /**
      * Creates a single user with randomized demographics.
      */
-    private User createRandomUser(int index, String encodedPassword) {
-        String firstName = FIRST_NAMES[RANDOM.nextInt(FIRST_NAMES.length)];
-        String lastName = LAST_NAMES[RANDOM.nextInt(LAST_NAMES.length)];
-        String gender = GENDERS[RANDOM.nextInt(GENDERS.length)];
-        String bloodType = BLOOD_TYPES[RANDOM.nextInt(BLOOD_TYPES.length)];
+    static User createRandomUser(Random random, int index, String encodedPassword, LocalDate today) {
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        String gender = GENDERS[random.nextInt(GENDERS.length)];
+        String bloodType = BLOOD_TYPES[random.nextInt(BLOOD_TYPES.length)];
 
         // Age between 18-60
-        int age = 18 + RANDOM.nextInt(43);
-        LocalDate dob = LocalDate.now().minusYears(age).minusDays(RANDOM.nextInt(365));
+        int age = 18 + random.nextInt(43);
+        LocalDate dob = today.minusYears(age).minusDays(random.nextInt(365));
 
         // Height 150-200cm, Weight 50-100kg
-        double height = 150 + RANDOM.nextDouble() * 50;
-        double weight = 50 + RANDOM.nextDouble() * 50;
+        double height = 150 + random.nextDouble() * 50;
+        double weight = 50 + random.nextDouble() * 50;
 
         return User.builder()
                 .email("user" + index + "@rakta.app")
@@ -269,7 +295,8 @@ public class DataSeeder implements CommandLineRunner {
         for (int i = 0; i < users.size(); i++) {
             User user = users.get(i);
             UserSegment segment = determineSegment(i, users.size());
-            List<DailyMetric> userMetrics = generateMetricsForUser(user, segment);
+            List<DailyMetric> userMetrics = generateMetricsForUser(RANDOM, user, segment, DAYS_OF_METRICS,
+                    LocalDate.now());
             metricBatch.addAll(userMetrics);
 
             if (metricBatch.size() >= METRIC_BATCH_SIZE) {
@@ -296,7 +323,7 @@ public class DataSeeder implements CommandLineRunner {
     /**
      * Determines user segment based on distribution ratios.
      */
-    private UserSegment determineSegment(int index, int totalUsers) {
+    static UserSegment determineSegment(int index, int totalUsers) {
         double ratio = (double) index / totalUsers;
         if (ratio < ATHLETE_RATIO) {
             return UserSegment.ATHLETE;
@@ -308,11 +335,12 @@ public class DataSeeder implements CommandLineRunner {
     }
 
     /**
-     * Generates metrics for a single user based on their segment.
+     * Generates metrics for a single user based on their segment, oldest day
+     * first.
      */
-    private List<DailyMetric> generateMetricsForUser(User user, UserSegment segment) {
-        List<DailyMetric> metrics = new ArrayList<>();
-        LocalDate today = LocalDate.now();
+    static List<DailyMetric> generateMetricsForUser(Random random, User user, UserSegment segment, int days,
+            LocalDate today) {
+        List<DailyMetric> metrics = new ArrayList<>(days + 1);
 
         // Initial values based on segment
         double sleepWalk, rhrWalk;
@@ -337,17 +365,17 @@ public class DataSeeder implements CommandLineRunner {
                 break;
         }
 
-        for (int i = DAYS_OF_METRICS; i >= 0; i--) {
+        for (int i = days; i >= 0; i--) {
             LocalDate date = today.minusDays(i);
-            DailyMetric metric = generateSingleDayMetric(user, date, segment, sleepWalk, rhrWalk, hrvBase);
+            DailyMetric metric = generateSingleDayMetric(random, user, date, segment, sleepWalk, rhrWalk, hrvBase);
             metrics.add(metric);
 
             // Random walk for next day
-            sleepWalk += (RANDOM.nextDouble() - 0.5) * 0.4;
+            sleepWalk += (random.nextDouble() - 0.5) * 0.4;
             sleepWalk = clamp(sleepWalk, segment == UserSegment.ATHLETE ? 7.0 : 4.0,
                     segment == UserSegment.STRESSED ? 7.0 : 9.5);
 
-            rhrWalk += (RANDOM.nextDouble() - 0.5) * 3.0;
+            rhrWalk += (random.nextDouble() - 0.5) * 3.0;
             rhrWalk = clamp(rhrWalk, segment == UserSegment.ATHLETE ? 45 : 50,
                     segment == UserSegment.STRESSED ? 95 : 80);
         }
@@ -358,24 +386,24 @@ public class DataSeeder implements CommandLineRunner {
     /**
      * Generates a single day's metrics.
      */
-    private DailyMetric generateSingleDayMetric(User user, LocalDate date, UserSegment segment,
-            double sleepWalk, double rhrWalk, int hrvBase) {
+    private static DailyMetric generateSingleDayMetric(Random random, User user, LocalDate date,
+            UserSegment segment, double sleepWalk, double rhrWalk, int hrvBase) {
         // Add daily noise
-        double sleepHours = clamp(sleepWalk + (RANDOM.nextDouble() - 0.5) * 0.6, 4.0, 10.0);
-        int restingHeartRate = (int) Math.round(clamp(rhrWalk + (RANDOM.nextDouble() - 0.5) * 4, 40, 100));
-        int hrvMs = (int) Math.round(clamp(hrvBase + (RANDOM.nextDouble() - 0.5) * 15, 20, 90));
-        int ironIntakeScore = segment == UserSegment.STRESSED ? 1 + RANDOM.nextInt(2) : // Low iron for stressed
-                generateWeightedIronScore();
-        int trainingLoadAcute = segment == UserSegment.ATHLETE ? 5 + RANDOM.nextInt(6) : // Higher for athletes
-                RANDOM.nextInt(8) + 1;
-        int energyLevel = (int) Math.round(clamp((sleepHours - 4) * 1.5 + (RANDOM.nextDouble() - 0.5) * 2, 1, 10));
-        double hydrationLiters = 1.0 + RANDOM.nextDouble() * 2.5;
+        double sleepHours = clamp(sleepWalk + (random.nextDouble() - 0.5) * 0.6, 4.0, 10.0);
+        int restingHeartRate = (int) Math.round(clamp(rhrWalk + (random.nextDouble() - 0.5) * 4, 40, 100));
+        int hrvMs = (int) Math.round(clamp(hrvBase + (random.nextDouble() - 0.5) * 15, 20, 90));
+        int ironIntakeScore = segment == UserSegment.STRESSED ? 1 + random.nextInt(2) : // Low iron for stressed
+                generateWeightedIronScore(random);
+        int trainingLoadAcute = segment == UserSegment.ATHLETE ? 5 + random.nextInt(6) : // Higher for athletes
+                random.nextInt(8) + 1;
+        int energyLevel = (int) Math.round(clamp((sleepHours - 4) * 1.5 + (random.nextDouble() - 0.5) * 2, 1, 10));
+        double hydrationLiters = 1.0 + random.nextDouble() * 2.5;
 
         return DailyMetric.builder()
                 .user(user)
                 .date(date)
                 .sleepHours(BigDecimal.valueOf(sleepHours).setScale(2, RoundingMode.HALF_UP))
-                .sleepEfficiency((int) Math.round(60 + RANDOM.nextDouble() * 35))
+                .sleepEfficiency((int) Math.round(60 + random.nextDouble() * 35))
                 .restingHeartRate(restingHeartRate)
                 .hrvMs(hrvMs)
                 .ironIntakeScore(ironIntakeScore)
@@ -439,10 +467,7 @@ public class DataSeeder implements CommandLineRunner {
             LocalDate donationDate = LocalDate.now().minusDays(RANDOM.nextInt(DAYS_OF_METRICS));
 
             donationCount++;
-            String reviewTemplate = REVIEW_TEMPLATES[RANDOM.nextInt(REVIEW_TEMPLATES.length)];
-            String reviewText = reviewTemplate != null && reviewTemplate.contains("%d")
-                    ? String.format(reviewTemplate, donationCount)
-                    : reviewTemplate;
+            String reviewText = randomReviewText(RANDOM, donationCount);
 
             DonationPost post = DonationPost.builder()
                     .user(user)
@@ -573,11 +598,22 @@ public class DataSeeder implements CommandLineRunner {
         log.info("   ✅ Created {} follow relationships", totalFollows);
     }
 
+    /**
+     * Picks a review text template, filling in the donation number where the
+     * template has one.
+     */
+    static String randomReviewText(Random random, int donationCount) {
+        String reviewTemplate = REVIEW_TEMPLATES[random.nextInt(REVIEW_TEMPLATES.length)];
+        return reviewTemplate != null && reviewTemplate.contains("%d")
+                ? String.format(reviewTemplate, donationCount)
+                : reviewTemplate;
+    }
+
     /**
      * Generates a weighted iron intake score.
      */
-    private int generateWeightedIronScore() {
-        double roll = RANDOM.nextDouble();
+    private static int generateWeightedIronScore(Random random) {
+        double roll = random.nextDouble();
         if (roll < 0.05)
             return 1;
         if (roll < 0.25)
@@ -592,7 +628,7 @@ public class DataSeeder implements CommandLineRunner {
     /**
      * Clamps a value between min and max bounds.
      */
-    private double clamp(double value, double min, double max) {
+    private static double clamp(double value, double min, double max) {
         return Math.max(min, Math.min(max, value));
     }
 }
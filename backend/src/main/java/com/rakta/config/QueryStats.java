@@ -0,0 +1,120 @@
+package com.rakta.config;
+
+import java.util.Locale;
+
+/**
+ * SQL statements issued by the current thread between {@link #start()} and
+ * {@link #stop()}: count, total execution time and the slowest statement.
+ *
+ * Fed by Hibernate through {@link QueryStatsInspector} (one call per
+ * prepared statement) and {@link QueryStatsSessionListener} (execution
+ * timing). Recordings nest; a stopped recording is added to the enclosing
+ * one, so a test can measure around a request that the filter also records.
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final QueryStats parent;
+    private int statements;
+    private long totalNanos;
+    private long slowestNanos;
+    private String slowestSql;
+    private String lastSql;
+    private long executeStartNanos;
+
+    private QueryStats(QueryStats parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Starts recording on the current thread.
+     */
+    public static QueryStats start() {
+        QueryStats stats = new QueryStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Stops the innermost recording on the current thread and returns it.
+     */
+    public static QueryStats stop() {
+        QueryStats stats = CURRENT.get();
+        if (stats == null) {
+            throw new IllegalStateException("No query recording in progress");
+        }
+        if (stats.parent != null) {
+            stats.parent.add(stats);
+            CURRENT.set(stats.parent);
+        } else {
+            CURRENT.remove();
+        }
+        return stats;
+    }
+
+    static void statementPrepared(String sql) {
+        QueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statements++;
+            stats.lastSql = sql;
+        }
+    }
+
+    static void executeStarted() {
+        QueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.executeStartNanos = System.nanoTime();
+        }
+    }
+
+    static void executeEnded() {
+        QueryStats stats = CURRENT.get();
+        if (stats != null && stats.executeStartNanos != 0) {
+            stats.recordExecution(stats.lastSql, System.nanoTime() - stats.executeStartNanos);
+            stats.executeStartNanos = 0;
+        }
+    }
+
+    private void recordExecution(String sql, long nanos) {
+        totalNanos += nanos;
+        if (nanos > slowestNanos) {
+            slowestNanos = nanos;
+            slowestSql = sql;
+        }
+    }
+
+    private void add(QueryStats child) {
+        statements += child.statements;
+        totalNanos += child.totalNanos;
+        if (child.slowestNanos > slowestNanos) {
+            slowestNanos = child.slowestNanos;
+            slowestSql = child.slowestSql;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getSlowestNanos() {
+        return slowestNanos;
+    }
+
+    /**
+     * SQL of the slowest statement, or null if none was executed.
+     */
+    public String getSlowestSql() {
+        return slowestSql;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "statements=%d, time=%.1fms, slowest=%.1fms",
+                statements, totalNanos / 1e6, slowestNanos / 1e6);
+    }
+}
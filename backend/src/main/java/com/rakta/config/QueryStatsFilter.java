@@ -0,0 +1,108 @@
+package com.rakta.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the SQL statements of each request, including the authentication
+ * lookup, and publishes them per endpoint:
+ * - db.request.statements: statements per request
+ * - db.request.time: total statement execution time per request
+ * - db.request.slowest: slowest statement per request
+ *
+ * With query-stats.header-enabled (local debugging, tests) the numbers are
+ * also returned in the X-Query-Stats header. The body is buffered so the
+ * header can be set after the handler; statements run during serialization
+ * (lazy loading with open-in-view) are included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Query-Stats";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${query-stats.header-enabled:false}")
+    private boolean headerEnabled;
+
+    @Value("${query-stats.slow-statement-ms:500}")
+    private long slowStatementMs;
+
+    public QueryStatsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        ContentCachingResponseWrapper buffered = headerEnabled ? new ContentCachingResponseWrapper(response) : null;
+        QueryStats.start();
+        QueryStats stats;
+        try {
+            filterChain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            stats = QueryStats.stop();
+        }
+
+        record(request, stats);
+        if (buffered != null) {
+            buffered.setHeader(HEADER, stats.toString());
+            buffered.copyBodyToResponse();
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryStats stats) {
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri(request));
+        DistributionSummary.builder("db.request.statements")
+                .description("SQL statements per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("db.request.time")
+                .description("Total SQL execution time per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getTotalNanos(), TimeUnit.NANOSECONDS);
+        Timer.builder("db.request.slowest")
+                .description("Slowest SQL statement per HTTP request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.getSlowestNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.getSlowestNanos() > TimeUnit.MILLISECONDS.toNanos(slowStatementMs)) {
+            log.warn("Slow statement in {} {} ({}): {}", request.getMethod(), request.getRequestURI(),
+                    String.format(Locale.ROOT, "%.1fms", stats.getSlowestNanos() / 1e6), stats.getSlowestSql());
+        }
+    }
+
+    /**
+     * Route pattern such as /api/v1/feed/{postId}; unmatched requests share
+     * one tag so scanners cannot blow up the meter count.
+     */
+    private String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNMATCHED";
+    }
+}
@@ -0,0 +1,16 @@
+package com.rakta.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every statement Hibernate prepares into the current
+ * {@link QueryStats} recording. The SQL is passed through unchanged.
+ */
+public class QueryStatsInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryStats.statementPrepared(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,31 @@
+package com.rakta.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times statement and batch executions for the current {@link QueryStats}
+ * recording. Hibernate creates one instance per session from the
+ * hibernate.session.events.auto setting.
+ */
+public class QueryStatsSessionListener implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        QueryStats.executeStarted();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        QueryStats.executeEnded();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        QueryStats.executeStarted();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        QueryStats.executeEnded();
+    }
+}
@@ -0,0 +1,13 @@
+package com.rakta.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (outbox, deny-list sync, reconciliation).
+ * They share spring.task.scheduling.pool.size threads.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,43 @@
+package com.rakta.config;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Refuses to start the production profile unless Flyway owns the schema.
+ *
+ * The entity ids come from pooled sequences that V4 starts past the existing
+ * ids. With Flyway off, ddl-auto: update would create them at 1 and the
+ * first inserts would collide with existing rows (and V5's counter backfill
+ * and V9's badge seed would be skipped). Checked before any bean is created,
+ * so nothing touches the database first.
+ */
+@Configuration
+@Profile("prod")
+public class SchemaManagementGuard {
+
+    private static final Set<String> SAFE_DDL_AUTO = Set.of("validate", "none");
+
+    @Bean
+    public static BeanFactoryPostProcessor requireFlyway(Environment environment) {
+        return beanFactory -> check(environment);
+    }
+
+    static void check(Environment environment) {
+        if (!environment.getProperty("spring.flyway.enabled", Boolean.class, true)) {
+            throw new IllegalStateException("The prod profile requires Flyway (V4 id sequences); "
+                    + "remove SPRING_FLYWAY_ENABLED=false from the deployment");
+        }
+        String ddlAuto = environment.getProperty("spring.jpa.hibernate.ddl-auto", "validate");
+        if (!SAFE_DDL_AUTO.contains(ddlAuto.trim().toLowerCase(Locale.ROOT))) {
+            throw new IllegalStateException("The prod profile requires ddl-auto validate or none, not '"
+                    + ddlAuto + "'; remove SPRING_JPA_HIBERNATE_DDL_AUTO from the deployment");
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.rakta.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FastByteArrayOutputStream;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Adds a weak ETag to successful JSON GET responses and answers a matching
+ * If-None-Match with 304 and no body.
+ *
+ * Unlike Spring's ShallowEtagHeaderFilter the body is hashed as it is
+ * written, into a single buffer that is then sent as is, so it is neither
+ * copied nor read a second time. Whether to buffer is decided on the first
+ * write, once status and content type are known; anything else (errors,
+ * CSV exports) streams straight through. The ETag is weak because gzip
+ * compression by the server or proxy changes the bytes, not the content.
+ *
+ * Runs inside the security chain. Responses it tags get
+ * "Cache-Control: private, no-cache" unless the handler set one, replacing
+ * Spring Security's no-store so that browsers keep the body and revalidate.
+ */
+@Component
+public class WeakEtagFilter extends OncePerRequestFilter {
+
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        HashingResponse hashing = new HashingResponse(response);
+        filterChain.doFilter(request, hashing);
+        hashing.finish(request);
+    }
+
+    /**
+     * Buffers and hashes the body of JSON 200 responses; passes others through.
+     */
+    private static final class HashingResponse extends HttpServletResponseWrapper {
+
+        private final MessageDigest digest;
+        private final ServletOutputStream outputStream = new HashingOutputStream();
+        private FastByteArrayOutputStream body;
+        private boolean passThrough;
+        private PrintWriter writer;
+        private Long contentLength;
+
+        private HashingResponse(HttpServletResponse response) {
+            super(response);
+            try {
+                this.digest = MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("MD5 not available", e);
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(outputStream, getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            setContentLengthLong(len);
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            if (passThrough) {
+                super.setContentLengthLong(len);
+            } else {
+                contentLength = len;
+            }
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (passThrough) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            discard();
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            discard();
+            contentLength = null;
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            startPassThrough();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            startPassThrough();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            startPassThrough();
+            super.sendRedirect(location);
+        }
+
+        /**
+         * Sends the buffered body, or 304 if the client already has it.
+         */
+        void finish(HttpServletRequest request) throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            if (body == null) {
+                if (!passThrough && contentLength != null) {
+                    response.setContentLengthLong(contentLength);
+                }
+                return;
+            }
+
+            String etag = "W/\"" + HexFormat.of().formatHex(digest.digest()) + "\"";
+            if (!response.containsHeader(HttpHeaders.CACHE_CONTROL)) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            }
+            // Sets the ETag header, and 304 when If-None-Match matches it
+            if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+                return;
+            }
+            response.setContentLength(body.size());
+            body.writeTo(response.getOutputStream());
+        }
+
+        private boolean buffering() {
+            if (body == null && !passThrough) {
+                if (getStatus() == HttpServletResponse.SC_OK && isJson() && !containsHeader(HttpHeaders.ETAG)) {
+                    body = new FastByteArrayOutputStream();
+                } else {
+                    startPassThrough();
+                }
+            }
+            return body != null;
+        }
+
+        private boolean isJson() {
+            String contentType = getContentType();
+            return contentType != null
+                    && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        }
+
+        private void startPassThrough() {
+            // An error or redirect replaces whatever was buffered
+            body = null;
+            passThrough = true;
+            if (contentLength != null) {
+                super.setContentLengthLong(contentLength);
+            }
+        }
+
+        private void discard() {
+            body = null;
+            passThrough = false;
+            digest.reset();
+        }
+
+        private final class HashingOutputStream extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                if (buffering()) {
+                    digest.update((byte) b);
+                    body.write(b);
+                } else {
+                    getResponse().getOutputStream().write(b);
+                }
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (buffering()) {
+                    digest.update(b, off, len);
+                    body.write(b, off, len);
+                } else {
+                    getResponse().getOutputStream().write(b, off, len);
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (passThrough) {
+                    getResponse().getOutputStream().flush();
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                throw new UnsupportedOperationException("Non-blocking writes are not supported");
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.rakta.controller;
 
 import com.rakta.dto.AuthDto;
+import com.rakta.service.AuthTokenService;
 import com.rakta.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -17,9 +18,11 @@ import java.util.Map;
 public class AuthController {
 
     private final UserService userService;
+    private final AuthTokenService authTokenService;
 
-    public AuthController(UserService userService) {
+    public AuthController(UserService userService, AuthTokenService authTokenService) {
         this.userService = userService;
+        this.authTokenService = authTokenService;
     }
 
     /**
@@ -39,6 +42,25 @@ public class AuthController {
         return new ResponseEntity<>(userService.login(loginRequest), HttpStatus.OK);
     }
 
+    /**
+     * Exchange a refresh token for a new access token and refresh token.
+     * Each refresh token works once.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthDto.AuthResponse> refresh(@Valid @RequestBody AuthDto.RefreshRequest request) {
+        return ResponseEntity.ok(authTokenService.refresh(request.getRefreshToken()));
+    }
+
+    /**
+     * End the session: revokes the refresh token and the access tokens
+     * issued with it.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody AuthDto.RefreshRequest request) {
+        authTokenService.revoke(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
     /**
      * Request a password reset email.
      */
@@ -1,9 +1,11 @@
 package com.rakta.controller;
 
+import com.rakta.dto.FollowPageDto;
+import com.rakta.dto.FollowSuggestionDto;
+import com.rakta.dto.FollowUserDto;
 import com.rakta.entity.User;
 import com.rakta.repository.UserRepository;
 import com.rakta.service.CommunityService;
-import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -11,7 +13,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/community")
@@ -36,43 +37,68 @@ public class CommunityController {
     }
 
     @GetMapping("/following")
-    public ResponseEntity<List<UserDto>> getFollowing() {
+    public ResponseEntity<FollowPageDto> getFollowing(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
         User user = getAuthenticatedUser();
-        List<UserDto> following = communityService.getFollowing(user.getId()).stream()
-                .map(u -> new UserDto(u.getId(), u.getFullName(), u.getCity()))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(following);
+        return ResponseEntity.ok(communityService.getFollowing(user.getId(), cursor, pageSize(size)));
     }
 
     @GetMapping("/followers")
-    public ResponseEntity<List<UserDto>> getFollowers() {
+    public ResponseEntity<FollowPageDto> getFollowers(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
         User user = getAuthenticatedUser();
-        List<UserDto> followers = communityService.getFollowers(user.getId()).stream()
-                .map(u -> new UserDto(u.getId(), u.getFullName(), u.getCity()))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(followers);
+        return ResponseEntity.ok(communityService.getFollowers(user.getId(), cursor, pageSize(size)));
     }
 
     /**
      * Get followers of a specific user (public endpoint).
+     * Keyset paginated: pass the previous page's nextCursor as cursor.
      */
     @GetMapping("/users/{userId}/followers")
-    public ResponseEntity<List<UserDto>> getUserFollowers(@PathVariable Long userId) {
-        List<UserDto> followers = communityService.getFollowers(userId).stream()
-                .map(u -> new UserDto(u.getId(), u.getFullName(), u.getCity()))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(followers);
+    public ResponseEntity<FollowPageDto> getUserFollowers(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(communityService.getFollowers(userId, cursor, pageSize(size)));
     }
 
     /**
      * Get users a specific user is following (public endpoint).
+     * Keyset paginated: pass the previous page's nextCursor as cursor.
      */
     @GetMapping("/users/{userId}/following")
-    public ResponseEntity<List<UserDto>> getUserFollowing(@PathVariable Long userId) {
-        List<UserDto> following = communityService.getFollowing(userId).stream()
-                .map(u -> new UserDto(u.getId(), u.getFullName(), u.getCity()))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(following);
+    public ResponseEntity<FollowPageDto> getUserFollowing(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(communityService.getFollowing(userId, cursor, pageSize(size)));
+    }
+
+    /**
+     * Donors to follow: users followed by the people the current user
+     * follows, ranked by how many of them follow each one.
+     */
+    @GetMapping("/suggestions")
+    public ResponseEntity<List<FollowSuggestionDto>> getSuggestions(@RequestParam(defaultValue = "10") int limit) {
+        User user = getAuthenticatedUser();
+        return ResponseEntity.ok(communityService.getSuggestions(user.getId(), pageSize(limit)));
+    }
+
+    /**
+     * Users that a specific user follows and who follow them back (public
+     * endpoint).
+     */
+    @GetMapping("/users/{userId}/mutual")
+    public ResponseEntity<List<FollowUserDto>> getUserMutualFollows(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(communityService.getMutualFollows(userId, pageSize(limit)));
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, 50)); // Max 50 per page
     }
 
     private User getAuthenticatedUser() {
@@ -81,12 +107,4 @@ public class CommunityController {
         return userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
-
-    @Data
-    @RequiredArgsConstructor
-    public static class UserDto {
-        private final Long id;
-        private final String fullName;
-        private final String city;
-    }
 }
@@ -5,6 +5,8 @@ import com.rakta.dto.FeedPostDto;
 import com.rakta.dto.PostDetailDto;
 import com.rakta.entity.User;
 import com.rakta.repository.UserRepository;
+import com.rakta.security.UserPrincipal;
+import com.rakta.service.AnonymousFeedCache;
 import com.rakta.service.FeedService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -14,12 +16,17 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -42,22 +49,42 @@ import java.util.List;
 public class FeedController {
 
     private final FeedService feedService;
+    private final AnonymousFeedCache anonymousFeedCache;
     private final UserRepository userRepository;
 
     /**
      * Get paginated public feed.
      * Available to all users (authenticated or not).
+     *
+     * Anonymous requests for the first pages are served from
+     * AnonymousFeedCache. Sends Last-Modified (newest post) and answers
+     * If-Modified-Since with 304 before loading the page. If-None-Match takes
+     * precedence and is checked against the body's ETag by WeakEtagFilter.
      */
     @GetMapping
     @Operation(summary = "Get public feed", description = "Returns paginated list of donation posts. Available without authentication.")
-    public ResponseEntity<Page<FeedPostDto>> getPublicFeed(
+    public ResponseEntity<?> getPublicFeed(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest webRequest) {
 
-        Pageable pageable = PageRequest.of(page, Math.min(size, 50)); // Max 50 per page
+        int pageSize = Math.min(size, 50); // Max 50 per page
         Long currentUserId = getCurrentUserIdOrNull();
+        AnonymousFeedCache.CachedPage cached = currentUserId == null ? anonymousFeedCache.get(page, pageSize) : null;
 
-        return ResponseEntity.ok(feedService.getPublicFeed(pageable, currentUserId));
+        Instant lastModified = cached != null ? cached.lastModified() : feedService.getFeedLastModified();
+        if (lastModified != null && webRequest.checkNotModified(lastModified.toEpochMilli())) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.AUTHORIZATION); // Like status differs per user
+        if (cached != null) {
+            return response.contentType(MediaType.APPLICATION_JSON).body(cached.json());
+        }
+        Pageable pageable = PageRequest.of(page, pageSize);
+        return response.body(feedService.getPublicFeed(pageable, currentUserId));
     }
 
     /**
@@ -150,6 +177,9 @@ public class FeedController {
     private Long getCurrentUserIdOrNull() {
         try {
             Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.getPrincipal() instanceof UserPrincipal principal) {
+                return principal.getId();
+            }
             if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getPrincipal())) {
                 return userRepository.findByEmail(auth.getName())
                         .map(User::getId)
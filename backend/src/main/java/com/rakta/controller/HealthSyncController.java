@@ -6,8 +6,11 @@ import com.rakta.entity.DailyMetric;
 import com.rakta.entity.User;
 import com.rakta.repository.DailyMetricRepository;
 import com.rakta.repository.UserRepository;
+import com.rakta.service.DailyMetricAggregateService;
 import com.rakta.service.HealthIntegrationService;
 import com.rakta.service.ReadinessCalculatorService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -37,6 +40,8 @@ public class HealthSyncController {
     private final DailyMetricRepository dailyMetricRepository;
     private final UserRepository userRepository;
     private final ReadinessCalculatorService readinessCalculatorService;
+    private final DailyMetricAggregateService dailyMetricAggregateService;
+    private final MeterRegistry meterRegistry;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
@@ -188,11 +193,14 @@ public class HealthSyncController {
      */
     private DailyMetric saveOrUpdateMetric(User user, LocalDate date, BigDecimal sleepHours,
             Integer restingHeartRate, String source) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         Optional<DailyMetric> existingOpt = dailyMetricRepository.findByUserIdAndDate(user.getId(), date);
 
         DailyMetric metric;
+        DailyMetricAggregateService.Contribution previous = null;
         if (existingOpt.isPresent()) {
             metric = existingOpt.get();
+            previous = DailyMetricAggregateService.Contribution.of(metric);
             if (sleepHours != null)
                 metric.setSleepHours(sleepHours);
             if (restingHeartRate != null)
@@ -216,13 +224,18 @@ public class HealthSyncController {
 
         DailyMetric saved = dailyMetricRepository.save(metric);
 
-        // Trigger readiness recalculation
+        // Trigger aggregate update and readiness recalculation
         try {
+            dailyMetricAggregateService.recordUpsert(user.getId(), previous, saved);
             readinessCalculatorService.processDailyMetric(saved);
         } catch (Exception e) {
             log.warn("Failed to calculate readiness for date {}: {}", date, e.getMessage());
+            meterRegistry.counter("rakta.webhook.readiness.failures", "source", source).increment();
         }
 
+        // Metric upsert plus readiness recalculation, per provider
+        sample.stop(meterRegistry.timer("rakta.webhook.upsert",
+                "source", source, "result", previous == null ? "created" : "updated"));
         return saved;
     }
 
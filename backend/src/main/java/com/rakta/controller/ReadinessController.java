@@ -1,15 +1,19 @@
 package com.rakta.controller;
 
+import com.rakta.dto.ReadinessHistoryDto;
 import com.rakta.entity.DailyMetric;
 import com.rakta.entity.ReadinessSnapshot;
 import com.rakta.entity.User;
 import com.rakta.repository.DailyMetricRepository;
 import com.rakta.repository.ReadinessSnapshotRepository;
 import com.rakta.repository.UserRepository;
+import com.rakta.service.DailyMetricAggregateService;
 import com.rakta.service.ReadinessCalculatorService;
+import com.rakta.service.ReadinessHistoryService;
 import jakarta.validation.Valid;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -27,6 +31,8 @@ import java.util.Map;
 public class ReadinessController {
 
     private final ReadinessCalculatorService readinessService;
+    private final DailyMetricAggregateService dailyMetricAggregateService;
+    private final ReadinessHistoryService readinessHistoryService;
     private final DailyMetricRepository dailyMetricRepository;
     private final ReadinessSnapshotRepository readinessSnapshotRepository;
     private final UserRepository userRepository;
@@ -42,6 +48,7 @@ public class ReadinessController {
                         .user(user)
                         .date(targetDate)
                         .build());
+        DailyMetricAggregateService.Contribution previous = DailyMetricAggregateService.Contribution.of(metric);
 
         // Update fields (merge new values with existing)
         if (metricDto.getSleepHours() != null)
@@ -63,6 +70,7 @@ public class ReadinessController {
 
         // Save metric (insert or update)
         dailyMetricRepository.save(metric);
+        dailyMetricAggregateService.recordUpsert(user.getId(), previous, metric);
 
         // Calculate and return snapshot
         ReadinessSnapshot snapshot = readinessService.processDailyMetric(metric);
@@ -100,6 +108,23 @@ public class ReadinessController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Readiness history downsampled to day, week or month points.
+     * Defaults to the last year at daily resolution.
+     */
+    @GetMapping("/readiness/history")
+    public ResponseEntity<ReadinessHistoryDto> getReadinessHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String resolution) {
+        User user = getAuthenticatedUser();
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1).plusDays(1);
+
+        return ResponseEntity.ok(readinessHistoryService.getHistory(user.getId(), start, end,
+                ReadinessHistoryService.Resolution.parse(resolution)));
+    }
+
     private User getAuthenticatedUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
@@ -1,24 +1,17 @@
 package com.rakta.controller;
 
-import com.rakta.dto.BadgeDto;
 import com.rakta.dto.UserProfileDto;
 import com.rakta.dto.UserPublicProfileDto;
 import com.rakta.entity.User;
-import com.rakta.entity.UserBadge;
-import com.rakta.repository.DonationPostRepository;
-import com.rakta.repository.DonationRepository;
-import com.rakta.repository.UserBadgeRepository;
-import com.rakta.repository.UserRepository;
-import com.rakta.service.CommunityService;
+import com.rakta.event.ProfileUpdatedEvent;
+import com.rakta.service.PublicProfileService;
 import com.rakta.service.UserService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.NoSuchElementException;
-
 /**
  * Controller for user profile operations.
  */
@@ -27,24 +20,15 @@ import java.util.NoSuchElementException;
 public class UserController {
 
     private final UserService userService;
-    private final UserRepository userRepository;
-    private final CommunityService communityService;
-    private final DonationPostRepository donationPostRepository;
-    private final DonationRepository donationRepository;
-    private final UserBadgeRepository userBadgeRepository;
+    private final PublicProfileService publicProfileService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserController(UserService userService,
-            UserRepository userRepository,
-            CommunityService communityService,
-            DonationPostRepository donationPostRepository,
-            DonationRepository donationRepository,
-            UserBadgeRepository userBadgeRepository) {
+            PublicProfileService publicProfileService,
+            ApplicationEventPublisher eventPublisher) {
         this.userService = userService;
-        this.userRepository = userRepository;
-        this.communityService = communityService;
-        this.donationPostRepository = donationPostRepository;
-        this.donationRepository = donationRepository;
-        this.userBadgeRepository = userBadgeRepository;
+        this.publicProfileService = publicProfileService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -53,57 +37,7 @@ public class UserController {
      */
     @GetMapping("/{userId}/profile")
     public ResponseEntity<UserPublicProfileDto> getPublicProfile(@PathVariable Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NoSuchElementException("User not found"));
-
-        // Get stats
-        long postCount = donationPostRepository.countByUserId(userId);
-        int followerCount = communityService.getFollowerCount(userId);
-        int followingCount = communityService.getFollowingCount(userId);
-        long donationCount = donationRepository.countByUserId(userId);
-
-        // Get badges with JOIN FETCH to avoid N+1
-        List<UserBadge> userBadges = userBadgeRepository.findByUserIdWithBadges(userId);
-        List<BadgeDto> badges = userBadges.stream()
-                .map(ub -> new BadgeDto(
-                        ub.getBadge().getId(),
-                        ub.getBadge().getCode(),
-                        ub.getBadge().getName(),
-                        ub.getBadge().getDescription(),
-                        ub.getBadge().getIconUrl(),
-                        ub.getBadge().getCategory() != null ? ub.getBadge().getCategory().name() : null,
-                        ub.getEarnedAt()))
-                .toList();
-
-        // Check if current user follows this user and if viewing own profile
-        Boolean isFollowedByCurrentUser = null;
-        Boolean isOwnProfile = null;
-        Long currentUserId = getCurrentUserIdOrNull();
-        if (currentUserId != null) {
-            isOwnProfile = currentUserId.equals(userId);
-            if (!isOwnProfile) {
-                isFollowedByCurrentUser = communityService.isFollowing(currentUserId, userId);
-            }
-        }
-
-        UserPublicProfileDto profile = new UserPublicProfileDto(
-                user.getId(),
-                user.getUsername(),
-                user.getFirstName(),
-                user.getLastName(),
-                user.getEmail(),
-                user.getBloodType(),
-                user.getCity(),
-                user.getCreatedAt(),
-                (int) postCount,
-                followerCount,
-                followingCount,
-                (int) donationCount,
-                badges,
-                isFollowedByCurrentUser,
-                isOwnProfile);
-
-        return ResponseEntity.ok(profile);
+        return ResponseEntity.ok(publicProfileService.getProfile(userId, getCurrentUserEmailOrNull()));
     }
 
     /**
@@ -167,6 +101,8 @@ public class UserController {
         }
 
         User updated = userService.saveUser(user);
+        publicProfileService.evict(updated.getId());
+        eventPublisher.publishEvent(ProfileUpdatedEvent.of(updated));
 
         UserProfileDto profile = UserProfileDto.builder()
                 .id(updated.getId())
@@ -186,18 +122,13 @@ public class UserController {
     }
 
     /**
-     * Get current user ID or null if not authenticated.
+     * Get current user's email or null if not authenticated.
+     * Read from the security context, without a database lookup.
      */
-    private Long getCurrentUserIdOrNull() {
-        try {
-            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-            if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getPrincipal())) {
-                return userRepository.findByEmail(auth.getName())
-                        .map(User::getId)
-                        .orElse(null);
-            }
-        } catch (Exception ignored) {
-            // Not authenticated
+    private String getCurrentUserEmailOrNull() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getPrincipal())) {
+            return auth.getName();
         }
         return null;
     }
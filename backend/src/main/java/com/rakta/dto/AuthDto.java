@@ -71,6 +71,15 @@ public class AuthDto {
         private String firstName;
         private String lastName;
         private String email;
+        private String refreshToken; // Single use; exchange at /api/auth/refresh for a new pair
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RefreshRequest {
+        @NotBlank(message = "Refresh token is required")
+        private String refreshToken;
     }
 
     @Data
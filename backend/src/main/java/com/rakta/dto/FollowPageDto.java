@@ -0,0 +1,14 @@
+package com.rakta.dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of a follower or following list, ordered by user id.
+ *
+ * @param nextCursor Pass as {@code cursor} to get the next page; null on the
+ *                   last page
+ */
+public record FollowPageDto(
+        List<FollowUserDto> users,
+        Long nextCursor) {
+}
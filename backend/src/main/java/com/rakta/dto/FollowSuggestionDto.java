@@ -0,0 +1,12 @@
+package com.rakta.dto;
+
+/**
+ * A donor suggested to follow.
+ * Contains ONLY public information - no email, phone or health data.
+ */
+public record FollowSuggestionDto(
+        Long id,
+        String username, // Display name (or null if not set)
+        String firstName, // Always available as fallback
+        int mutualConnections) { // Followed users of the viewer that follow this donor
+}
@@ -0,0 +1,11 @@
+package com.rakta.dto;
+
+/**
+ * Entry of a follower or following list.
+ * Contains ONLY public information - no email, phone or health data.
+ */
+public record FollowUserDto(
+        Long id,
+        String username, // Display name (or null if not set)
+        String firstName) { // Always available as fallback
+}
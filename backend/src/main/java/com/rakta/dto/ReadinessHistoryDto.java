@@ -0,0 +1,48 @@
+package com.rakta.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Downsampled readiness history for a date range.
+ * Each point summarizes all snapshots whose date falls into its period.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadinessHistoryDto {
+
+    private LocalDate from;
+    private LocalDate to;
+    private String resolution; // "day", "week" (ISO, Monday start) or "month"
+    private List<HistoryPoint> points;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HistoryPoint {
+        private LocalDate periodStart;
+        private int samples;
+        private Stats totalScore;
+        private Stats rbcComponent;
+        private Stats ironComponent;
+        private Stats lifestyleComponent;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Stats {
+        private double avg;
+        private double min;
+        private double max;
+    }
+}
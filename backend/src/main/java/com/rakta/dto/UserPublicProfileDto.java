@@ -26,4 +26,13 @@ public record UserPublicProfileDto(
                 // Relationship to current user
                 Boolean isFollowedByCurrentUser,
                 Boolean isOwnProfile) {
+
+        /**
+         * Copy with the viewer-specific relationship fields set.
+         */
+        public UserPublicProfileDto withViewer(Boolean isFollowedByCurrentUser, Boolean isOwnProfile) {
+                return new UserPublicProfileDto(id, username, firstName, lastName, email, bloodType, city, joinedAt,
+                                postCount, followerCount, followingCount, donationCount, badges,
+                                isFollowedByCurrentUser, isOwnProfile);
+        }
 }
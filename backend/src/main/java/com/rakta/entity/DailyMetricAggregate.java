@@ -0,0 +1,106 @@
+package com.rakta.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Per-user rolling aggregates of daily metrics.
+ *
+ * Holds sums and counts for the acute (7d) and chronic (28d) readiness windows
+ * ending at {@code asOfDate}, so readiness can be scored without rescanning
+ * daily_metrics. Maintained incrementally on metric upserts and verified by a
+ * reconciliation job.
+ *
+ * Window membership matches ReadinessScoringKernel: a metric counts towards the
+ * acute window when it is 0-7 days before asOfDate and towards the chronic
+ * window when it is 0-27 days before.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "daily_metric_aggregates")
+public class DailyMetricAggregate {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * Last day covered by both windows (latest metric date seen).
+     */
+    @Column(name = "as_of_date", nullable = false)
+    private LocalDate asOfDate;
+
+    // Acute (7d) window
+    @Column(name = "acute_count", nullable = false)
+    private int acuteCount;
+
+    @Column(name = "acute_sleep_sum", precision = 10, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal acuteSleepSum = BigDecimal.ZERO;
+
+    @Column(name = "acute_sleep_count", nullable = false)
+    private int acuteSleepCount;
+
+    @Column(name = "acute_iron_sum", nullable = false)
+    private long acuteIronSum;
+
+    @Column(name = "acute_iron_count", nullable = false)
+    private int acuteIronCount;
+
+    @Column(name = "acute_load_sum", nullable = false)
+    private long acuteLoadSum;
+
+    // Chronic (28d) window
+    @Column(name = "chronic_count", nullable = false)
+    private int chronicCount;
+
+    @Column(name = "chronic_sleep_sum", precision = 10, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal chronicSleepSum = BigDecimal.ZERO;
+
+    @Column(name = "chronic_sleep_count", nullable = false)
+    private int chronicSleepCount;
+
+    @Column(name = "chronic_iron_sum", nullable = false)
+    private long chronicIronSum;
+
+    @Column(name = "chronic_iron_count", nullable = false)
+    private int chronicIronCount;
+
+    @Column(name = "chronic_load_sum", nullable = false)
+    private long chronicLoadSum;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Whether both aggregates hold the same sums and counts (ignores timestamps).
+     */
+    public boolean sameTotals(DailyMetricAggregate other) {
+        return asOfDate.equals(other.asOfDate)
+                && acuteCount == other.acuteCount
+                && acuteSleepSum.compareTo(other.acuteSleepSum) == 0
+                && acuteSleepCount == other.acuteSleepCount
+                && acuteIronSum == other.acuteIronSum
+                && acuteIronCount == other.acuteIronCount
+                && acuteLoadSum == other.acuteLoadSum
+                && chronicCount == other.chronicCount
+                && chronicSleepSum.compareTo(other.chronicSleepSum) == 0
+                && chronicSleepCount == other.chronicSleepCount
+                && chronicIronSum == other.chronicIronSum
+                && chronicIronCount == other.chronicIronCount
+                && chronicLoadSum == other.chronicLoadSum;
+    }
+}
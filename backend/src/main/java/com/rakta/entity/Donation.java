@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class Donation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "donations_seq")
+    @SequenceGenerator(name = "donations_seq", sequenceName = "donations_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -15,7 +15,8 @@ import lombok.NoArgsConstructor;
 public class DonationLocation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "donation_locations_seq")
+    @SequenceGenerator(name = "donation_locations_seq", sequenceName = "donation_locations_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -31,7 +31,8 @@ import java.time.LocalDateTime;
 public class DonationPost {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "donation_posts_seq")
+    @SequenceGenerator(name = "donation_posts_seq", sequenceName = "donation_posts_seq", allocationSize = 50)
     private Long id;
 
     /**
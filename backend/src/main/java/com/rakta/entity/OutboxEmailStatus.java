@@ -0,0 +1,22 @@
+package com.rakta.entity;
+
+/**
+ * Delivery state of an outbox email.
+ */
+public enum OutboxEmailStatus {
+
+    /**
+     * Waiting for its first or next send attempt.
+     */
+    PENDING,
+
+    /**
+     * Accepted by the SMTP server.
+     */
+    SENT,
+
+    /**
+     * Given up on after the maximum number of attempts.
+     */
+    FAILED
+}
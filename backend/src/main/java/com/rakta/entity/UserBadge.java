@@ -24,7 +24,8 @@ import java.time.LocalDateTime;
 public class UserBadge {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_badges_seq")
+    @SequenceGenerator(name = "user_badges_seq", sequenceName = "user_badges_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
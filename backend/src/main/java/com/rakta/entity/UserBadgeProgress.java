@@ -0,0 +1,50 @@
+package com.rakta.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Per-user counters the badge rules are evaluated against.
+ *
+ * Updated by BadgeAwardService on each domain event, so awarding a badge
+ * never recounts a user's donations or metrics. Built from history the first
+ * time a user has an event.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "user_badge_progress")
+public class UserBadgeProgress {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    /**
+     * Completed donations.
+     */
+    @Column(name = "donation_count", nullable = false)
+    private int donationCount;
+
+    /**
+     * Consecutive days with a daily metric, ending at lastMetricDate.
+     */
+    @Column(name = "streak_days", nullable = false)
+    private int streakDays;
+
+    @Column(name = "last_metric_date")
+    private LocalDate lastMetricDate;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -4,8 +4,11 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
+import org.springframework.data.domain.Persistable;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
@@ -17,7 +20,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "user_follows")
 @IdClass(UserFollow.UserFollowId.class)
-public class UserFollow {
+public class UserFollow implements Persistable<UserFollow.UserFollowId> {
 
     @Id
     @ManyToOne(fetch = FetchType.LAZY)
@@ -33,6 +36,33 @@ public class UserFollow {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    /**
+     * Follows are only ever inserted or deleted, so new instances are
+     * persisted directly instead of merged (a SELECT per row), which also
+     * lets inserts be batched.
+     */
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean persisted;
+
+    @Override
+    public UserFollowId getId() {
+        return new UserFollowId(follower != null ? follower.getId() : null,
+                following != null ? following.getId() : null);
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markPersisted() {
+        this.persisted = true;
+    }
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
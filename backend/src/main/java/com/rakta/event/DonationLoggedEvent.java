@@ -0,0 +1,12 @@
+package com.rakta.event;
+
+import com.rakta.entity.DonationStatus;
+
+/**
+ * Published by DonationService after a donation is saved.
+ */
+public record DonationLoggedEvent(
+        Long userId,
+        Long donationId,
+        DonationStatus status) {
+}
@@ -0,0 +1,10 @@
+package com.rakta.event;
+
+/**
+ * Published by FeedService when a post was created or its like count
+ * changed.
+ *
+ * @param created The post is new, shifting every page after it
+ */
+public record FeedChangedEvent(Long postId, boolean created) {
+}
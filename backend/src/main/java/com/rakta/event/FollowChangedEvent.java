@@ -0,0 +1,11 @@
+package com.rakta.event;
+
+/**
+ * Published by CommunityService when a follow row was actually inserted
+ * (following = true) or deleted (following = false).
+ */
+public record FollowChangedEvent(
+        Long followerId,
+        Long followingId,
+        boolean following) {
+}
@@ -0,0 +1,12 @@
+package com.rakta.event;
+
+import java.time.LocalDate;
+
+/**
+ * Published by DailyMetricAggregateService when a user logs a day that had
+ * no metric yet (updates of an existing day are not published).
+ */
+public record MetricLoggedEvent(
+        Long userId,
+        LocalDate date) {
+}
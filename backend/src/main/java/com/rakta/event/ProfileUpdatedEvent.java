@@ -0,0 +1,23 @@
+package com.rakta.event;
+
+import com.rakta.entity.User;
+
+/**
+ * Published after a user edits their profile.
+ *
+ * @param healthProfileComplete Whether date of birth, gender, height, weight
+ *                              and blood type are all set
+ */
+public record ProfileUpdatedEvent(
+        Long userId,
+        boolean healthProfileComplete) {
+
+    public static ProfileUpdatedEvent of(User user) {
+        boolean complete = user.getDateOfBirth() != null
+                && user.getGender() != null
+                && user.getHeight() != null
+                && user.getWeight() != null
+                && user.getBloodType() != null;
+        return new ProfileUpdatedEvent(user.getId(), complete);
+    }
+}
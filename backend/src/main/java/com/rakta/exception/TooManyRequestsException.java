@@ -0,0 +1,19 @@
+package com.rakta.exception;
+
+/**
+ * Thrown when the server sheds load; mapped to 429 Too Many Requests with a
+ * Retry-After header by {@link GlobalExceptionHandler}.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
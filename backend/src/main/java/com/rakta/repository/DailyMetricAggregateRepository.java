@@ -0,0 +1,30 @@
+package com.rakta.repository;
+
+import com.rakta.entity.DailyMetricAggregate;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DailyMetricAggregateRepository extends JpaRepository<DailyMetricAggregate, Long> {
+
+    /**
+     * Load a user's aggregate row with a write lock for incremental updates.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM DailyMetricAggregate a WHERE a.userId = :userId")
+    Optional<DailyMetricAggregate> findByUserIdForUpdate(@Param("userId") Long userId);
+
+    /**
+     * Keyset page of user ids that have aggregates (for reconciliation).
+     */
+    @Query("SELECT a.userId FROM DailyMetricAggregate a WHERE a.userId > :afterUserId ORDER BY a.userId")
+    List<Long> findUserIdsAfter(@Param("afterUserId") Long afterUserId, Pageable pageable);
+}
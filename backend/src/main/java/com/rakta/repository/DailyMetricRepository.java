@@ -1,7 +1,10 @@
 package com.rakta.repository;
 
 import com.rakta.entity.DailyMetric;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -17,4 +20,32 @@ public interface DailyMetricRepository extends JpaRepository<DailyMetric, UUID>
     List<DailyMetric> findByUserIdAndDateAfterOrderByDateDesc(Long userId, LocalDate date);
 
     List<DailyMetric> findTop14ByUserIdOrderByDateDesc(Long userId);
+
+    // Metrics in an inclusive date range (rolling aggregate window shifts)
+    List<DailyMetric> findByUserIdAndDateBetween(Long userId, LocalDate from, LocalDate to);
+
+    Optional<DailyMetric> findFirstByUserIdOrderByDateDesc(Long userId);
+
+    /**
+     * Most recent metric dates of a user, newest first (index-only on
+     * uk_daily_metrics_user_date).
+     */
+    @Query("SELECT m.date FROM DailyMetric m WHERE m.user.id = :userId ORDER BY m.date DESC")
+    List<LocalDate> findRecentDates(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Metric dates of a user up to and including a day, newest first.
+     */
+    @Query("SELECT m.date FROM DailyMetric m WHERE m.user.id = :userId AND m.date <= :to ORDER BY m.date DESC")
+    List<LocalDate> findRecentDatesUpTo(@Param("userId") Long userId, @Param("to") LocalDate to,
+            Pageable pageable);
+
+    /**
+     * Scalar rows for the in-memory series cache: date followed by the
+     * columns in DailyMetricSeries.Column order, oldest first.
+     */
+    @Query("SELECT m.date, m.sleepHours, m.sleepEfficiency, m.trainingLoadAcute, m.restingHeartRate, m.hrvMs, " +
+            "m.ironIntakeScore, m.energyLevel, m.hydrationLiters, m.menstrualCycleDay " +
+            "FROM DailyMetric m WHERE m.user.id = :userId ORDER BY m.date")
+    List<Object[]> findSeriesRowsByUserId(@Param("userId") Long userId);
 }
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -32,6 +33,12 @@ public interface DonationPostRepository extends JpaRepository<DonationPost, Long
      */
     Page<DonationPost> findAllByOrderByCreatedAtDesc(Pageable pageable);
 
+    /**
+     * Creation time of the newest post (Last-Modified of the feed), null if there are none.
+     */
+    @Query("SELECT MAX(p.createdAt) FROM DonationPost p")
+    LocalDateTime findLatestCreatedAt();
+
     /**
      * Get posts by a specific user.
      */
@@ -1,6 +1,7 @@
 package com.rakta.repository;
 
 import com.rakta.entity.Donation;
+import com.rakta.entity.DonationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -15,6 +16,11 @@ public interface DonationRepository extends JpaRepository<Donation, Long> {
      */
     long countByUserId(Long userId);
 
+    /**
+     * Count donations by user and status (badge progress rebuild).
+     */
+    long countByUserIdAndStatus(Long userId, DonationStatus status);
+
     @org.springframework.data.jpa.repository.Query("SELECT d.location.id, COUNT(d) FROM Donation d WHERE d.donationDate >= :startDate GROUP BY d.location.id")
     List<Object[]> countDonationsSince(java.time.LocalDate startDate);
 }
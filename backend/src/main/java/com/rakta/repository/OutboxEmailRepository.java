@@ -0,0 +1,48 @@
+package com.rakta.repository;
+
+import com.rakta.entity.OutboxEmail;
+import com.rakta.entity.OutboxEmailStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+
+    /**
+     * Pending emails due by the given time, oldest first, locked for the
+     * caller. Rows another dispatcher has locked are skipped (lock timeout
+     * -2 is SKIP LOCKED) instead of waited for.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEmail e WHERE e.status = com.rakta.entity.OutboxEmailStatus.PENDING "
+            + "AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt, e.id")
+    List<OutboxEmail> findDueForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+    long countByStatus(OutboxEmailStatus status);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEmail e WHERE e.status = com.rakta.entity.OutboxEmailStatus.SENT "
+            + "AND e.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+
+    /**
+     * FAILED rows have no completion time; they gave up within about an hour
+     * of being queued, so creation time stands in for it.
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEmail e WHERE e.status = com.rakta.entity.OutboxEmailStatus.FAILED "
+            + "AND e.createdAt < :before")
+    int deleteFailedBefore(@Param("before") LocalDateTime before);
+}
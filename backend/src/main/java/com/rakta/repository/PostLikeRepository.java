@@ -49,4 +49,11 @@ public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
      */
     @Query("SELECT pl.post.id FROM PostLike pl WHERE pl.user.id = :userId AND pl.post.id IN :postIds")
     List<Long> findLikedPostIdsByUserIdAndPostIds(@Param("userId") Long userId, @Param("postIds") List<Long> postIds);
+
+    /**
+     * All post ids a user has liked (index-only on uk_post_likes_user_post).
+     * Used to build the per-user liked-post filter.
+     */
+    @Query("SELECT pl.post.id FROM PostLike pl WHERE pl.user.id = :userId")
+    List<Long> findPostIdsByUserId(@Param("userId") Long userId);
 }
@@ -2,6 +2,8 @@ package com.rakta.repository;
 
 import com.rakta.entity.ReadinessSnapshot;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -16,4 +18,21 @@ public interface ReadinessSnapshotRepository extends JpaRepository<ReadinessSnap
     Optional<ReadinessSnapshot> findFirstByUserIdOrderByDateDesc(Long userId);
 
     java.util.List<ReadinessSnapshot> findTop14ByUserIdOrderByDateDesc(Long userId);
+
+    /**
+     * Per-day score statistics in a date range, oldest first.
+     * Returns [date, count, then count/sum/min/max of the total score and of
+     * the rbc, iron and lifestyle components]. The per-series counts skip
+     * nulls, so components missing on some snapshots average over the rest.
+     */
+    @Query("SELECT s.date, COUNT(s), " +
+            "COUNT(s.totalScore), SUM(s.totalScore), MIN(s.totalScore), MAX(s.totalScore), " +
+            "COUNT(s.rbcComponent), SUM(s.rbcComponent), MIN(s.rbcComponent), MAX(s.rbcComponent), " +
+            "COUNT(s.ironComponent), SUM(s.ironComponent), MIN(s.ironComponent), MAX(s.ironComponent), " +
+            "COUNT(s.lifestyleComponent), SUM(s.lifestyleComponent), MIN(s.lifestyleComponent), " +
+            "MAX(s.lifestyleComponent) " +
+            "FROM ReadinessSnapshot s WHERE s.user.id = :userId AND s.date BETWEEN :from AND :to " +
+            "GROUP BY s.date ORDER BY s.date")
+    java.util.List<Object[]> aggregateDailyScores(@Param("userId") Long userId,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
 }
@@ -0,0 +1,23 @@
+package com.rakta.repository;
+
+import com.rakta.entity.UserBadgeProgress;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface UserBadgeProgressRepository extends JpaRepository<UserBadgeProgress, Long> {
+
+    /**
+     * Load a user's progress with a row lock so events for the same user are
+     * evaluated one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM UserBadgeProgress p WHERE p.userId = :userId")
+    Optional<UserBadgeProgress> findByUserIdForUpdate(@Param("userId") Long userId);
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +29,12 @@ public interface UserBadgeRepository extends JpaRepository<UserBadge, Long> {
      */
     boolean existsByUserIdAndBadgeCode(Long userId, String badgeCode);
 
+    /**
+     * Which of the given badges the user already holds.
+     */
+    @Query("SELECT ub.badge.id FROM UserBadge ub WHERE ub.user.id = :userId AND ub.badge.id IN :badgeIds")
+    List<Long> findHeldBadgeIds(@Param("userId") Long userId, @Param("badgeIds") Collection<Long> badgeIds);
+
     /**
      * Find a specific user-badge relationship
      */
@@ -1,7 +1,9 @@
 package com.rakta.repository;
 
 import com.rakta.entity.UserFollow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -12,18 +14,25 @@ import java.util.List;
 public interface UserFollowRepository extends JpaRepository<UserFollow, UserFollow.UserFollowId> {
 
     /**
-     * Fetch following relationships with User eagerly loaded.
-     * Uses JOIN FETCH to avoid N+1 queries when accessing .getFollowing()
+     * Keyset page of a user's followers: id, username, firstName of each
+     * follower with id > afterId, by id. The user_follows side is answered
+     * from idx_user_follows_following_follower; users are joined by primary
+     * key for the page only.
      */
-    @Query("SELECT uf FROM UserFollow uf JOIN FETCH uf.following WHERE uf.follower.id = :followerId")
-    List<UserFollow> findByFollowerIdWithFollowing(@Param("followerId") Long followerId);
+    @Query("SELECT u.id, u.username, u.firstName FROM UserFollow uf JOIN uf.follower u " +
+            "WHERE uf.following.id = :userId AND uf.follower.id > :afterId ORDER BY uf.follower.id")
+    List<Object[]> findFollowerRowsAfter(@Param("userId") Long userId, @Param("afterId") Long afterId,
+            Pageable pageable);
 
     /**
-     * Fetch follower relationships with User eagerly loaded.
-     * Uses JOIN FETCH to avoid N+1 queries when accessing .getFollower()
+     * Keyset page of the users a user follows, answered from the
+     * (follower_id, following_id) primary key. Same row shape as
+     * {@link #findFollowerRowsAfter}.
      */
-    @Query("SELECT uf FROM UserFollow uf JOIN FETCH uf.follower WHERE uf.following.id = :followingId")
-    List<UserFollow> findByFollowingIdWithFollower(@Param("followingId") Long followingId);
+    @Query("SELECT u.id, u.username, u.firstName FROM UserFollow uf JOIN uf.following u " +
+            "WHERE uf.follower.id = :userId AND uf.following.id > :afterId ORDER BY uf.following.id")
+    List<Object[]> findFollowingRowsAfter(@Param("userId") Long userId, @Param("afterId") Long afterId,
+            Pageable pageable);
 
     // Legacy methods kept for backward compatibility (existence checks don't need
     // User data)
@@ -33,7 +42,34 @@ public interface UserFollowRepository extends JpaRepository<UserFollow, UserFoll
 
     boolean existsByFollowerIdAndFollowingId(Long followerId, Long followingId);
 
-    void deleteByFollowerIdAndFollowingId(Long followerId, Long followingId);
+    /**
+     * Which of the given users the follower follows (primary key lookups).
+     */
+    @Query("SELECT uf.following.id FROM UserFollow uf WHERE uf.follower.id = :followerId AND uf.following.id IN :userIds")
+    List<Long> findFollowingIdsByFollowerIdAndFollowingIds(@Param("followerId") Long followerId,
+            @Param("userIds") List<Long> userIds);
+
+    /**
+     * Users the user follows that follow back, by id.
+     */
+    @Query("SELECT uf.following.id FROM UserFollow uf WHERE uf.follower.id = :userId AND EXISTS ("
+            + "SELECT 1 FROM UserFollow back WHERE back.follower.id = uf.following.id "
+            + "AND back.following.id = :userId) ORDER BY uf.following.id")
+    List<Long> findMutualFollowIds(@Param("userId") Long userId);
+
+    /**
+     * Follow check for a viewer known only by the authenticated email.
+     */
+    boolean existsByFollowerEmailAndFollowingId(String followerEmail, Long followingId);
+
+    /**
+     * Single-statement delete.
+     *
+     * @return number of rows removed (0 if the follow did not exist)
+     */
+    @Modifying
+    @Query("DELETE FROM UserFollow uf WHERE uf.follower.id = :followerId AND uf.following.id = :followingId")
+    int deleteByFollowerIdAndFollowingId(@Param("followerId") Long followerId, @Param("followingId") Long followingId);
 
     /**
      * Count followers for a user (people following this user)
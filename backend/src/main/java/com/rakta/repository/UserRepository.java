@@ -2,12 +2,58 @@ package com.rakta.repository;
 
 import com.rakta.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    /**
+     * Public profile fields and stats in one statement (scalar subqueries).
+     * Row: id, username, firstName, lastName, email, bloodType, city,
+     * createdAt, postCount, followerCount, followingCount, donationCount.
+     * Empty if the user does not exist.
+     */
+    @Query("SELECT u.id, u.username, u.firstName, u.lastName, u.email, u.bloodType, u.city, u.createdAt, " +
+            "(SELECT COUNT(p) FROM DonationPost p WHERE p.user.id = u.id), " +
+            "u.followerCount, u.followingCount, " +
+            "(SELECT COUNT(d) FROM Donation d WHERE d.user.id = u.id) " +
+            "FROM User u WHERE u.id = :userId")
+    List<Object[]> findPublicProfileRows(@Param("userId") Long userId);
+
+    /**
+     * Apply a follow (delta 1) or unfollow (delta -1) to both users' counters
+     * in one statement.
+     */
+    @Modifying
+    @Query(value = "UPDATE users SET " +
+            "follower_count = follower_count + CASE WHEN id = :followingId THEN :delta ELSE 0 END, " +
+            "following_count = following_count + CASE WHEN id = :followerId THEN :delta ELSE 0 END " +
+            "WHERE id IN (:followerId, :followingId)", nativeQuery = true)
+    int adjustFollowCounts(@Param("followerId") Long followerId, @Param("followingId") Long followingId,
+            @Param("delta") int delta);
+
+    /**
+     * Row: id, username, firstName per existing user, in no particular order.
+     */
+    @Query("SELECT u.id, u.username, u.firstName FROM User u WHERE u.id IN :userIds")
+    List<Object[]> findFollowUserRows(@Param("userIds") Collection<Long> userIds);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
+
+    @Query("SELECT u.followerCount FROM User u WHERE u.id = :userId")
+    Optional<Integer> findFollowerCount(@Param("userId") Long userId);
+
+    @Query("SELECT u.followingCount FROM User u WHERE u.id = :userId")
+    Optional<Integer> findFollowingCount(@Param("userId") Long userId);
 }
@@ -0,0 +1,161 @@
+package com.rakta.security;
+
+import com.rakta.entity.RevokedAccessToken;
+import com.rakta.repository.RevokedAccessTokenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ids (jti) of access tokens revoked before they expire, checked on every
+ * authenticated request.
+ *
+ * Ids are bucketed by the minute their token expires, in a ring with one
+ * slot per minute of the access token lifetime. A check reads one slot and
+ * one hash set, with no locking or allocation. A slot is reused once its
+ * minute has passed, which drops ids whose tokens have expired anyway, so
+ * the list never holds more than a token lifetime of revocations.
+ *
+ * Revocations are also written to revoked_access_tokens; each instance
+ * reloads recent rows periodically, so a logout on one instance reaches the
+ * others within the sync interval and survives restarts.
+ */
+@Component
+@Slf4j
+public class AccessTokenDenyList {
+
+    private static final long BUCKET_MILLIS = 60_000;
+
+    private record Bucket(long minute, Set<String> tokenIds) {
+    }
+
+    private final RevokedAccessTokenRepository revokedRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicReferenceArray<Bucket> ring;
+    private final long lifetimeMillis;
+    private volatile LocalDateTime lastSync;
+
+    public AccessTokenDenyList(RevokedAccessTokenRepository revokedRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.expiration}") long accessTokenLifetimeMillis) {
+        this.revokedRepository = revokedRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lifetimeMillis = accessTokenLifetimeMillis;
+        // Expiry minutes of live tokens span the lifetime plus a partial minute at each end
+        this.ring = new AtomicReferenceArray<>((int) ((accessTokenLifetimeMillis + BUCKET_MILLIS - 1) / BUCKET_MILLIS) + 2);
+        meterRegistry.gauge("rakta.auth.deny-list.size", this, AccessTokenDenyList::size);
+    }
+
+    /**
+     * Whether the token with this id and expiry has been revoked.
+     */
+    public boolean isDenied(String tokenId, long expiresAtMillis) {
+        if (tokenId == null) {
+            return false;
+        }
+        long minute = Math.floorDiv(expiresAtMillis, BUCKET_MILLIS);
+        Bucket bucket = ring.get(slot(minute));
+        return bucket != null && bucket.minute() == minute && bucket.tokenIds().contains(tokenId);
+    }
+
+    /**
+     * Deny the token from now until it expires. Persisted in the caller's
+     * transaction, and denied on this instance once that commits, so a
+     * rolled-back revocation leaves the token usable.
+     */
+    public void deny(String tokenId, LocalDateTime expiresAt) {
+        long expiresAtMillis = toMillis(expiresAt);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(tokenId, expiresAtMillis);
+                }
+            });
+        } else {
+            add(tokenId, expiresAtMillis);
+        }
+        revokedRepository.save(RevokedAccessToken.builder()
+                .tokenId(tokenId)
+                .expiresAt(expiresAt)
+                .revokedAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Load ids revoked by other instances (all unexpired ones on the first
+     * run) and delete expired rows.
+     */
+    @Scheduled(fixedDelayString = "${jwt.deny-list.sync-interval-ms:30000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        // Overlap the previous sync to catch rows committed after it read
+        LocalDateTime since = lastSync == null
+                ? now.minusNanos(lifetimeMillis * 1_000_000)
+                : lastSync.minusMinutes(1);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                revokedRepository.findRevokedSince(since, now)
+                        .forEach(revoked -> add(revoked.getTokenId(), toMillis(revoked.getExpiresAt())));
+                revokedRepository.deleteExpired(now);
+            });
+            lastSync = now;
+        } catch (RuntimeException e) {
+            log.error("Access token deny list sync failed", e);
+        }
+    }
+
+    void add(String tokenId, long expiresAtMillis) {
+        long minute = Math.floorDiv(expiresAtMillis, BUCKET_MILLIS);
+        int slot = slot(minute);
+        while (true) {
+            Bucket bucket = ring.get(slot);
+            if (bucket != null && bucket.minute() == minute) {
+                bucket.tokenIds().add(tokenId);
+                return;
+            }
+            if (bucket != null && bucket.minute() > minute) {
+                // Expired before the slot's current minute: nothing to deny
+                return;
+            }
+            Set<String> tokenIds = ConcurrentHashMap.newKeySet();
+            tokenIds.add(tokenId);
+            if (ring.compareAndSet(slot, bucket, new Bucket(minute, tokenIds))) {
+                return;
+            }
+        }
+    }
+
+    int size() {
+        long currentMinute = Math.floorDiv(System.currentTimeMillis(), BUCKET_MILLIS);
+        int size = 0;
+        for (int i = 0; i < ring.length(); i++) {
+            Bucket bucket = ring.get(i);
+            if (bucket != null && bucket.minute() >= currentMinute) {
+                size += bucket.tokenIds().size();
+            }
+        }
+        return size;
+    }
+
+    private int slot(long minute) {
+        return (int) Math.floorMod(minute, (long) ring.length());
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,120 @@
+package com.rakta.security;
+
+import com.rakta.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs a (BCrypt) password encoder on a small dedicated pool, so a burst of
+ * logins or registrations uses at most that many cores and leaves the rest
+ * to other requests. Callers wait for their hash; when more are already
+ * waiting than the queue holds, the call fails fast with
+ * {@link TooManyRequestsException} (429) instead of piling up.
+ *
+ * {@link #upgradeEncoding} reads the cost from a stored BCrypt hash without
+ * hashing, so Spring Security rehashes passwords stored with any other cost,
+ * lower or higher, on login. Other hashes are left to the delegate.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\$2[abxy]?\\$(\\d\\d)\\$");
+
+    private final PasswordEncoder delegate;
+    private final int bcryptStrength;
+    private final ThreadPoolExecutor executor;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param bcryptStrength Cost the delegate hashes with
+     * @param threads        Hashes computed at once
+     * @param queueCapacity  Callers allowed to wait for a thread; more are rejected
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int bcryptStrength, int threads, int queueCapacity,
+            MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.bcryptStrength = bcryptStrength;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.encodeTimer = timer("encode");
+        this.matchesTimer = timer("matches");
+        meterRegistry.gauge("rakta.password.hashing.queue", executor, pool -> pool.getQueue().size());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        Matcher cost = encodedPassword == null ? null : BCRYPT_COST.matcher(encodedPassword);
+        if (cost == null || !cost.lookingAt()) {
+            return delegate.upgradeEncoding(encodedPassword);
+        }
+        return Integer.parseInt(cost.group(1)) != bcryptStrength;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Timer timer, Callable<T> hashing) {
+        long start = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(hashing);
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("rakta.password.hashing.rejected").increment();
+            throw new TooManyRequestsException("Too many sign-in attempts in progress, please retry shortly",
+                    RETRY_AFTER_SECONDS);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String operation) {
+        return Timer.builder("rakta.password.hashing")
+                .description("Time to hash or verify a password, including the wait for a hashing thread")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -1,29 +1,50 @@
 package com.rakta.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.function.Supplier;
 
+/**
+ * Authenticates requests carrying a valid, unrevoked bearer token.
+ *
+ * Health checks and the metrics scrape are skipped. On routes open to
+ * anonymous callers the user is only loaded if the request asks for the
+ * security context (e.g. the feed resolving like status), so public reads
+ * sent with a token cost no user lookup unless they use it.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsService userDetailsService;
+    private final AccessTokenDenyList denyList;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, UserDetailsService userDetailsService,
+            AccessTokenDenyList denyList) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.userDetailsService = userDetailsService;
+        this.denyList = denyList;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return PublicRoutes.NO_AUTHENTICATION.matches(request);
     }
 
     @Override
@@ -32,24 +53,33 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
 
         String token = getTokenFromRequest(request);
+        Claims claims = token != null ? jwtTokenProvider.parseClaims(token) : null;
 
-        if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
-            String username = jwtTokenProvider.getUsername(token);
+        if (claims != null && !denyList.isDenied(claims.getId(), claims.getExpiration().getTime())) {
+            String username = claims.getSubject();
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (PublicRoutes.PERMIT_ALL.matches(request)) {
+                SecurityContextHolderStrategy strategy = SecurityContextHolder.getContextHolderStrategy();
+                strategy.setDeferredContext(new LazyContext(strategy, username, request));
+            } else {
+                SecurityContextHolder.getContext().setAuthentication(authenticate(username, request));
+            }
+        }
 
-            UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                    userDetails,
-                    null,
-                    userDetails.getAuthorities()
-            );
+        filterChain.doFilter(request, response);
+    }
 
-            authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+    private UsernamePasswordAuthenticationToken authenticate(String username, HttpServletRequest request) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
 
-            SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-        }
+        UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities()
+        );
 
-        filterChain.doFilter(request, response);
+        authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        return authenticationToken;
     }
 
     private String getTokenFromRequest(HttpServletRequest request) {
@@ -59,4 +89,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
+
+    /**
+     * Security context authenticated on first access, once per request. A
+     * user deleted since the token was issued stays anonymous.
+     */
+    private final class LazyContext implements Supplier<SecurityContext> {
+
+        private final SecurityContextHolderStrategy strategy;
+        private final String username;
+        private final HttpServletRequest request;
+        private SecurityContext context;
+
+        private LazyContext(SecurityContextHolderStrategy strategy, String username, HttpServletRequest request) {
+            this.strategy = strategy;
+            this.username = username;
+            this.request = request;
+        }
+
+        @Override
+        public SecurityContext get() {
+            if (context == null) {
+                context = strategy.createEmptyContext();
+                try {
+                    context.setAuthentication(authenticate(username, request));
+                } catch (UsernameNotFoundException e) {
+                    // Treated as anonymous
+                }
+            }
+            return context;
+        }
+    }
 }
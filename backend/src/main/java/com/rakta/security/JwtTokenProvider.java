@@ -8,7 +8,9 @@ import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
+import java.util.UUID;
 
 @Component
 public class JwtTokenProvider {
@@ -16,51 +18,59 @@ public class JwtTokenProvider {
     @Value("${jwt.secret}")
     private String jwtSecret;
 
+    /**
+     * Access token lifetime in ms; kept short, clients renew with a refresh token
+     */
     @Value("${jwt.expiration}")
     private long jwtExpirationDate;
 
-    public String generateToken(Authentication authentication) {
-        String username = authentication.getName();
+    /**
+     * A signed access token with its id (jti) and expiry, as needed to revoke it.
+     */
+    public record AccessToken(String value, String id, Instant expiresAt) {
+    }
+
+    public AccessToken issueAccessToken(String username) {
         Date currentDate = new Date();
-        Date expireDate = new Date(currentDate.getTime() + jwtExpirationDate);
+        // The exp claim has second precision; keep the returned expiry equal to it
+        Instant expiresAt = Instant.ofEpochSecond((currentDate.getTime() + jwtExpirationDate) / 1000);
+        String id = UUID.randomUUID().toString();
 
-        return Jwts.builder()
+        String value = Jwts.builder()
+                .setId(id)
                 .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(expireDate)
+                .setIssuedAt(currentDate)
+                .setExpiration(Date.from(expiresAt))
                 .signWith(key(), SignatureAlgorithm.HS256)
                 .compact();
+        return new AccessToken(value, id, expiresAt);
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    public String generateToken(Authentication authentication) {
+        return generateToken(authentication.getName());
+    }
+
+    public String generateToken(String username) {
+        return issueAccessToken(username).value();
     }
 
-    public String getUsername(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
+    private Key key() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verify the token and return its claims, or null if it is malformed,
+     * badly signed or expired.
+     */
+    public Claims parseClaims(String token) {
         try {
-            Jwts.parserBuilder()
+            return Jwts.parserBuilder()
                     .setSigningKey(key())
                     .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (MalformedJwtException ex) {
-            // Invalid JWT token
-        } catch (ExpiredJwtException ex) {
-            // Expired JWT token
-        } catch (UnsupportedJwtException ex) {
-            // Unsupported JWT token
-        } catch (IllegalArgumentException ex) {
-            // JWT claims string is empty
+                    .parseClaimsJws(token)
+                    .getBody();
+        } catch (JwtException | IllegalArgumentException ex) {
+            return null;
         }
-        return false;
     }
 }
@@ -0,0 +1,59 @@
+package com.rakta.security;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.Arrays;
+
+/**
+ * Routes open without authentication, compiled once and shared by
+ * {@link SecurityConfig} and {@link JwtAuthenticationFilter}.
+ */
+final class PublicRoutes {
+
+    private static final PathPatternRequestMatcher.Builder PATHS = PathPatternRequestMatcher.withDefaults();
+
+    /**
+     * Never need a caller identity: health checks and the metrics scrape.
+     * The JWT filter skips them entirely.
+     */
+    static final RequestMatcher NO_AUTHENTICATION = paths(
+            // Health check endpoints (for Docker/Traefik healthchecks)
+            "/healthz",
+            "/actuator/health",
+            // Metrics scrape (separate, unpublished management port in prod)
+            "/actuator/prometheus");
+
+    /**
+     * Open to anonymous callers. A bearer token sent to them is resolved to a
+     * user only when the request asks who is calling.
+     */
+    static final RequestMatcher PERMIT_ALL = new OrRequestMatcher(
+            NO_AUTHENTICATION,
+            paths(
+                    // Auth endpoints
+                    "/api/auth/**",
+                    "/api/locations",
+                    "/api/locations/**",
+                    // Social feed - public read access
+                    "/api/v1/feed",
+                    "/api/v1/feed/user/**",
+                    // Swagger UI endpoints
+                    "/swagger-ui.html",
+                    "/swagger-ui/**",
+                    "/v3/api-docs/**",
+                    "/v3/api-docs.yaml"),
+            // Feed post detail - allow public but also accept auth for like status
+            PATHS.matcher(HttpMethod.GET, "/api/v1/feed/**"));
+
+    private PublicRoutes() {
+    }
+
+    private static RequestMatcher paths(String... patterns) {
+        return new OrRequestMatcher(Arrays.stream(patterns)
+                .<RequestMatcher>map(PATHS::matcher)
+                .toList());
+    }
+}
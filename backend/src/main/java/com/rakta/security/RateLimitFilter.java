@@ -0,0 +1,113 @@
+package com.rakta.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rakta.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limiting of the routes in {@link SecurityConfig}, per
+ * authenticated user or, for anonymous requests, per client IP. Runs after
+ * JWT authentication so users behind one address get their own buckets.
+ *
+ * Buckets live in a size-bounded Caffeine cache keyed by route and client
+ * (its concurrent map spreads them over independently locked bins). A bucket
+ * idle long enough to have refilled is full again, so evicting it after that
+ * changes nothing. Rejections go through the MVC exception resolvers, which
+ * answer 429 with Retry-After like any {@link TooManyRequestsException}.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * A limited route: bursts of up to capacity requests, refilled at
+     * refillPerMinute.
+     */
+    public record Rule(String name, RequestMatcher matcher, int capacity, int refillPerMinute) {
+
+        double nanosPerToken() {
+            return TimeUnit.MINUTES.toNanos(1) / (double) refillPerMinute;
+        }
+
+        Duration refillTime() {
+            return Duration.ofNanos((long) (capacity * nanosPerToken()));
+        }
+    }
+
+    private record BucketKey(String rule, String client) {
+    }
+
+    private final List<Rule> rules;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final MeterRegistry meterRegistry;
+    private final Cache<BucketKey, TokenBucket> buckets;
+
+    public RateLimitFilter(List<Rule> rules, long maxBuckets, HandlerExceptionResolver exceptionResolver,
+            MeterRegistry meterRegistry) {
+        this.rules = List.copyOf(rules);
+        this.exceptionResolver = exceptionResolver;
+        this.meterRegistry = meterRegistry;
+        Duration idleExpiry = rules.stream().map(Rule::refillTime).max(Duration::compareTo).orElse(Duration.ZERO);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(idleExpiry)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rate-limit");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Rule rule = match(request);
+        if (rule != null) {
+            long now = System.nanoTime();
+            TokenBucket bucket = buckets.get(new BucketKey(rule.name(), client(request)),
+                    key -> new TokenBucket(rule.capacity(), rule.nanosPerToken(), now));
+            long waitNanos = bucket.tryTake(now);
+            if (waitNanos > 0) {
+                meterRegistry.counter("rakta.rate-limit.rejected", "route", rule.name()).increment();
+                long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+                exceptionResolver.resolveException(request, response, null,
+                        new TooManyRequestsException("Rate limit exceeded, please retry later", retryAfterSeconds));
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private Rule match(HttpServletRequest request) {
+        for (Rule rule : rules) {
+            if (rule.matcher().matches(request)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    private static String client(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
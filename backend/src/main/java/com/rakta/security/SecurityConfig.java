@@ -1,7 +1,12 @@
 package com.rakta.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -11,7 +16,11 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
 import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.util.List;
 
 @Configuration
 @EnableWebSecurity
@@ -20,18 +29,38 @@ public class SecurityConfig {
     private final JwtAuthenticationEntryPoint authenticationEntryPoint;
     private final JwtAuthenticationFilter authenticationFilter;
     private final CorsConfigurationSource corsConfigurationSource;
+    private final Environment environment;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    @Value("${rate-limit.max-buckets:100000}")
+    private long rateLimitMaxBuckets;
 
     public SecurityConfig(JwtAuthenticationEntryPoint authenticationEntryPoint,
             JwtAuthenticationFilter authenticationFilter,
-            CorsConfigurationSource corsConfigurationSource) {
+            CorsConfigurationSource corsConfigurationSource,
+            Environment environment) {
         this.authenticationEntryPoint = authenticationEntryPoint;
         this.authenticationFilter = authenticationFilter;
         this.corsConfigurationSource = corsConfigurationSource;
+        this.environment = environment;
     }
 
-    @Bean
-    public static PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    /**
+     * BCrypt at the configured cost, hashed on a bounded pool (threads 0 =
+     * half the cores, at least one, so a login burst leaves the other half to
+     * requests). Pick the cost with BcryptCostBenchmarkTest on the deployment
+     * hardware; stored hashes of another cost are rehashed on login.
+     */
+    @Bean(destroyMethod = "close")
+    public static PasswordEncoder passwordEncoder(
+            @Value("${security.password-hashing.bcrypt-strength:10}") int strength,
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:32}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), strength,
+                threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2), queueCapacity, meterRegistry);
     }
 
     @Bean
@@ -40,29 +69,13 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+            MeterRegistry meterRegistry) throws Exception {
         http.cors(cors -> cors.configurationSource(corsConfigurationSource))
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(authorize -> authorize
-                        .requestMatchers(
-                                // Health check endpoints (for Docker/Traefik healthchecks)
-                                "/healthz",
-                                "/actuator/health",
-                                // Auth endpoints
-                                "/api/auth/**",
-                                "/api/locations",
-                                "/api/locations/**",
-                                // Social feed - public read access
-                                "/api/v1/feed",
-                                "/api/v1/feed/user/**",
-                                // Swagger UI endpoints
-                                "/swagger-ui.html",
-                                "/swagger-ui/**",
-                                "/v3/api-docs/**",
-                                "/v3/api-docs.yaml")
-                        .permitAll()
-                        // Feed post detail - allow public but also accept auth for like status
-                        .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/v1/feed/**")
+                        .requestMatchers(PublicRoutes.PERMIT_ALL)
                         .permitAll()
                         .anyRequest().authenticated())
                 .exceptionHandling(exception -> exception
@@ -72,6 +85,36 @@ public class SecurityConfig {
 
         http.addFilterBefore(authenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
+        if (rateLimitEnabled) {
+            // Not a bean: Boot would also register it as a servlet filter, ahead of authentication
+            http.addFilterAfter(new RateLimitFilter(rateLimitRules(), rateLimitMaxBuckets, exceptionResolver,
+                    meterRegistry), JwtAuthenticationFilter.class);
+        }
+
         return http.build();
     }
+
+    /**
+     * Routes that hit the database or hash passwords per request. Anonymous
+     * login is limited per IP, the rest per user.
+     */
+    private List<RateLimitFilter.Rule> rateLimitRules() {
+        PathPatternRequestMatcher.Builder paths = PathPatternRequestMatcher.withDefaults();
+        return List.of(
+                rateLimitRule("login", paths.matcher(HttpMethod.POST, "/api/auth/login"), 10, 10),
+                rateLimitRule("webhooks", paths.matcher(HttpMethod.POST, "/api/webhooks/**"), 60, 60),
+                rateLimitRule("likes", paths.matcher("/api/v1/feed/*/like"), 30, 60),
+                rateLimitRule("export", paths.matcher(HttpMethod.GET, "/api/donations/export"), 5, 2));
+    }
+
+    /**
+     * Rule with defaults overridable as rate-limit.{name}.capacity and
+     * rate-limit.{name}.refill-per-minute.
+     */
+    private RateLimitFilter.Rule rateLimitRule(String name, PathPatternRequestMatcher matcher,
+            int capacity, int refillPerMinute) {
+        return new RateLimitFilter.Rule(name, matcher,
+                environment.getProperty("rate-limit." + name + ".capacity", Integer.class, capacity),
+                environment.getProperty("rate-limit." + name + ".refill-per-minute", Integer.class, refillPerMinute));
+    }
 }
@@ -0,0 +1,46 @@
+package com.rakta.security;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Token bucket refilled continuously at a fixed rate up to its capacity.
+ * Lock-free: a take swaps in a new immutable state with compare-and-set and
+ * retries if another thread got there first.
+ */
+final class TokenBucket {
+
+    private record State(double tokens, long refilledAtNanos) {
+    }
+
+    private final int capacity;
+    private final double nanosPerToken;
+    private final AtomicReference<State> state;
+
+    /**
+     * Starts full.
+     */
+    TokenBucket(int capacity, double nanosPerToken, long nowNanos) {
+        this.capacity = capacity;
+        this.nanosPerToken = nanosPerToken;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /**
+     * Take one token if available.
+     *
+     * @return 0 if a token was taken, else the nanoseconds until one is
+     */
+    long tryTake(long nowNanos) {
+        while (true) {
+            State current = state.get();
+            double tokens = Math.min(capacity,
+                    current.tokens() + Math.max(0, nowNanos - current.refilledAtNanos()) / nanosPerToken);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) * nanosPerToken);
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, Math.max(nowNanos, current.refilledAtNanos())))) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.rakta.security;
+
+import com.rakta.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Authenticated user, identified by email, carrying the account fields the
+ * auth responses need so they don't reload the user.
+ */
+public class UserPrincipal extends org.springframework.security.core.userdetails.User {
+
+    private static final Set<GrantedAuthority> AUTHORITIES = Set.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    private final Long id;
+    private final String firstName;
+    private final String lastName;
+
+    public UserPrincipal(Long id, String email, String password, String firstName, String lastName,
+            boolean enabled, Collection<? extends GrantedAuthority> authorities) {
+        super(email, password, enabled, true, true, true, authorities);
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+    }
+
+    public static UserPrincipal of(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getPassword(), user.getFirstName(),
+                user.getLastName(), user.isEnabled(), AUTHORITIES);
+    }
+
+    /**
+     * Same user with a rehashed password.
+     */
+    public UserPrincipal withPassword(String password) {
+        return new UserPrincipal(id, getUsername(), password, firstName, lastName, isEnabled(), getAuthorities());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+}
@@ -0,0 +1,137 @@
+package com.rakta.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.rakta.dto.FeedPostDto;
+import com.rakta.event.FeedChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * The first pages of the public feed as seen by anonymous visitors, kept as
+ * serialized JSON so a landing-page spike costs no queries and no
+ * serialization. Only the default page size is cached; other sizes are
+ * rare and go to the database.
+ *
+ * Pages are reloaded in the background on one dedicated thread, serving the
+ * previous bytes until the new ones are ready: every page after a post is
+ * created, the pages showing a post after its like count changes on this
+ * instance, and on the first request after refresh-seconds for changes made
+ * on other instances. A page is never served older than max-stale-seconds;
+ * past that the next request loads it again.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AnonymousFeedCache {
+
+    /**
+     * A cached page, the feed's Last-Modified when it was loaded and the ids
+     * of the posts on it.
+     */
+    public record CachedPage(byte[] json, Instant lastModified, Set<Long> postIds) {
+    }
+
+    private final FeedService feedService;
+    private final JsonMapper jsonMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${feed.anonymous-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${feed.anonymous-cache.pages:3}")
+    private int pages;
+
+    @Value("${feed.anonymous-cache.page-size:20}")
+    private int pageSize;
+
+    @Value("${feed.anonymous-cache.refresh-seconds:5}")
+    private long refreshSeconds;
+
+    @Value("${feed.anonymous-cache.max-stale-seconds:30}")
+    private long maxStaleSeconds;
+
+    private Executor refreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "anonymous-feed-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Ticker ticker = Ticker.systemTicker();
+
+    /**
+     * Keyed by page number.
+     */
+    private LoadingCache<Integer, CachedPage> cache;
+
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(pages)
+                .refreshAfterWrite(Duration.ofSeconds(refreshSeconds))
+                .expireAfterWrite(Duration.ofSeconds(maxStaleSeconds))
+                .executor(refreshExecutor)
+                .ticker(ticker)
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "anonymous-feed");
+        log.info("Anonymous feed cache initialized: enabled={}, pages={}x{}, refresh={}s, maxStale={}s",
+                enabled, pages, pageSize, refreshSeconds, maxStaleSeconds);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refreshExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * The page as serialized for an anonymous request, or null if it is not
+     * one of the cached pages.
+     */
+    public CachedPage get(int page, int size) {
+        if (!enabled || page < 0 || page >= pages || size != pageSize) {
+            return null;
+        }
+        return cache.get(page);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFeedChanged(FeedChangedEvent event) {
+        // A refresh already running for a page is reused, so a burst of likes
+        // reloads each page at most once at a time
+        cache.asMap().forEach((page, cached) -> {
+            if (event.created() || cached.postIds().contains(event.postId())) {
+                cache.refresh(page);
+            }
+        });
+    }
+
+    private CachedPage load(Integer page) {
+        // Read first so Last-Modified never claims more than the page shows
+        Instant lastModified = feedService.getFeedLastModified();
+        Page<FeedPostDto> feed = feedService.getPublicFeed(PageRequest.of(page, pageSize), null);
+        return new CachedPage(jsonMapper.writeValueAsBytes(feed), lastModified,
+                feed.stream().map(FeedPostDto::id).collect(Collectors.toUnmodifiableSet()));
+    }
+}
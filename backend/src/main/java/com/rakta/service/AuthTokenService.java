@@ -0,0 +1,194 @@
+package com.rakta.service;
+
+import com.rakta.dto.AuthDto;
+import com.rakta.entity.RefreshToken;
+import com.rakta.entity.User;
+import com.rakta.repository.RefreshTokenRepository;
+import com.rakta.repository.UserRepository;
+import com.rakta.security.AccessTokenDenyList;
+import com.rakta.security.JwtTokenProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Issues short-lived access tokens with single-use refresh tokens.
+ *
+ * Each login starts a refresh token family. A refresh revokes the presented
+ * token and issues the next one in its family. Presenting an already
+ * revoked token means it was copied, so the whole family is revoked and the
+ * access tokens issued with it are denied. Logout does the same, and a
+ * password reset does it for every family of the user.
+ *
+ * The exception is a token rotated less than
+ * {@code jwt.refresh-reuse-grace-seconds} ago while its family is still
+ * live: two browser tabs sharing a session refresh with the same token at
+ * about the same time, so the later one gets another token of the family
+ * instead of ending the session.
+ */
+@Service
+@Slf4j
+public class AuthTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final AccessTokenDenyList denyList;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${jwt.refresh-expiration-days:14}")
+    private long refreshExpirationDays;
+
+    @Value("${jwt.refresh-reuse-grace-seconds:30}")
+    private long refreshReuseGraceSeconds;
+
+    public AuthTokenService(RefreshTokenRepository refreshTokenRepository,
+            UserRepository userRepository,
+            JwtTokenProvider jwtTokenProvider,
+            AccessTokenDenyList denyList,
+            MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.denyList = denyList;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public record AuthTokens(String accessToken, String refreshToken) {
+    }
+
+    /**
+     * Tokens for a new session (login or registration).
+     */
+    @Transactional
+    public AuthTokens issue(Long userId, String email) {
+        return issue(userId, email, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchange a refresh token for a new access and refresh token.
+     * Rejected with 401 if unknown, expired or already used; a reused token
+     * also revokes its family, unless it was rotated within the grace period
+     * and the family is still live.
+     */
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public AuthDto.AuthResponse refresh(String refreshToken) {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken current = refreshTokenRepository.findByTokenHashForUpdate(hash(refreshToken))
+                .orElseThrow(() -> rejected("invalid"));
+        boolean concurrent = current.getRevokedAt() != null
+                && current.getRevokedAt().isAfter(now.minusSeconds(refreshReuseGraceSeconds))
+                && refreshTokenRepository.existsByFamilyIdAndRevokedAtIsNull(current.getFamilyId());
+        if (current.getRevokedAt() != null && !concurrent) {
+            log.warn("Refresh token reused for user {}; revoking its session", current.getUserId());
+            revokeFamily(current.getFamilyId(), now);
+            throw rejected("reused");
+        }
+        if (current.getExpiresAt().isBefore(now)) {
+            throw rejected("expired");
+        }
+        User user = userRepository.findById(current.getUserId())
+                .filter(User::isEnabled)
+                .orElseThrow(() -> rejected("invalid"));
+
+        if (!concurrent) {
+            current.setRevokedAt(now);
+        }
+        AuthTokens tokens = issue(user.getId(), user.getEmail(), current.getFamilyId());
+        meterRegistry.counter("rakta.auth.refresh", "result", concurrent ? "concurrent" : "rotated").increment();
+        return new AuthDto.AuthResponse(tokens.accessToken(), user.getId(), user.getFirstName(),
+                user.getLastName(), user.getEmail(), tokens.refreshToken());
+    }
+
+    /**
+     * End the session of this refresh token (logout). Unknown tokens are
+     * ignored.
+     */
+    @Transactional
+    public void revoke(String refreshToken) {
+        refreshTokenRepository.findByTokenHashForUpdate(hash(refreshToken))
+                .ifPresent(token -> revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    /**
+     * End every session of the user (password reset), in the caller's
+     * transaction.
+     */
+    @Transactional
+    public void revokeAll(Long userId) {
+        revoke(refreshTokenRepository.findByUserId(userId), LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-token-purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private AuthTokens issue(Long userId, String email, String familyId) {
+        JwtTokenProvider.AccessToken accessToken = jwtTokenProvider.issueAccessToken(email);
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .userId(userId)
+                .tokenHash(hash(refreshToken))
+                .familyId(familyId)
+                .accessTokenId(accessToken.id())
+                .accessExpiresAt(LocalDateTime.ofInstant(accessToken.expiresAt(), ZoneId.systemDefault()))
+                .expiresAt(LocalDateTime.now().plusDays(refreshExpirationDays))
+                .build());
+        return new AuthTokens(accessToken.value(), refreshToken);
+    }
+
+    private void revokeFamily(String familyId, LocalDateTime now) {
+        revoke(refreshTokenRepository.findByFamilyId(familyId), now);
+    }
+
+    private void revoke(List<RefreshToken> tokens, LocalDateTime now) {
+        for (RefreshToken token : tokens) {
+            if (token.getRevokedAt() == null) {
+                token.setRevokedAt(now);
+            }
+            if (token.getAccessTokenId() != null && token.getAccessExpiresAt().isAfter(now)) {
+                denyList.deny(token.getAccessTokenId(), token.getAccessExpiresAt());
+            }
+        }
+    }
+
+    private ResponseStatusException rejected(String result) {
+        meterRegistry.counter("rakta.auth.refresh", "result", result).increment();
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or expired refresh token");
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
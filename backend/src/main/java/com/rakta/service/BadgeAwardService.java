@@ -0,0 +1,294 @@
+package com.rakta.service;
+
+import com.rakta.config.AsyncConfig;
+import com.rakta.entity.Badge;
+import com.rakta.entity.DonationStatus;
+import com.rakta.entity.UserBadge;
+import com.rakta.entity.UserBadgeProgress;
+import com.rakta.event.DonationLoggedEvent;
+import com.rakta.event.FollowChangedEvent;
+import com.rakta.event.MetricLoggedEvent;
+import com.rakta.event.ProfileUpdatedEvent;
+import com.rakta.repository.DailyMetricRepository;
+import com.rakta.repository.DonationRepository;
+import com.rakta.repository.UserBadgeProgressRepository;
+import com.rakta.repository.UserBadgeRepository;
+import com.rakta.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * Awards badges from domain events.
+ *
+ * Each event updates the user's {@link UserBadgeProgress} counters and
+ * evaluates only the rules of the counter it changed. A rule fires when the
+ * counter crosses its threshold, so the common case (donation #3, day 12 of a
+ * streak) costs the progress update and no badge queries.
+ *
+ * Events are handled after the publishing transaction commits, each in its
+ * own transaction on the small badge evaluation pool ({@link AsyncConfig}),
+ * so the request thread never holds two connections; a failure is logged and
+ * counted but does not affect the request that published the event. When two events for a user without a
+ * progress row race to create it, the one that loses retries once, counting
+ * the row again from history.
+ */
+@Service
+@Slf4j
+public class BadgeAwardService {
+
+    /**
+     * Longest streak a rebuild looks back for; no rule needs more.
+     */
+    static final int STREAK_LOOKBACK_DAYS = 30;
+
+    enum Counter {
+        DONATIONS, STREAK, FOLLOWERS, PROFILE
+    }
+
+    record BadgeRule(String code, Counter counter, int threshold) {
+    }
+
+    static final List<BadgeRule> RULES = List.of(
+            new BadgeRule("FIRST_DONATION", Counter.DONATIONS, 1),
+            new BadgeRule("DONATION_5", Counter.DONATIONS, 5),
+            new BadgeRule("DONATION_10", Counter.DONATIONS, 10),
+            new BadgeRule("DONATION_25", Counter.DONATIONS, 25),
+            new BadgeRule("DONATION_50", Counter.DONATIONS, 50),
+            new BadgeRule("STREAK_7", Counter.STREAK, 7),
+            new BadgeRule("STREAK_30", Counter.STREAK, 30),
+            new BadgeRule("FIRST_FOLLOWER", Counter.FOLLOWERS, 1),
+            new BadgeRule("PROFILE_COMPLETE", Counter.PROFILE, 1));
+
+    private final UserBadgeProgressRepository progressRepository;
+    private final UserBadgeRepository userBadgeRepository;
+    private final UserRepository userRepository;
+    private final DonationRepository donationRepository;
+    private final DailyMetricRepository dailyMetricRepository;
+    private final BadgeCatalog badgeCatalog;
+    private final PublicProfileService publicProfileService;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    public BadgeAwardService(UserBadgeProgressRepository progressRepository,
+            UserBadgeRepository userBadgeRepository,
+            UserRepository userRepository,
+            DonationRepository donationRepository,
+            DailyMetricRepository dailyMetricRepository,
+            BadgeCatalog badgeCatalog,
+            PublicProfileService publicProfileService,
+            MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager) {
+        this.progressRepository = progressRepository;
+        this.userBadgeRepository = userBadgeRepository;
+        this.userRepository = userRepository;
+        this.donationRepository = donationRepository;
+        this.dailyMetricRepository = dailyMetricRepository;
+        this.badgeCatalog = badgeCatalog;
+        this.publicProfileService = publicProfileService;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Async(AsyncConfig.BADGE_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDonationLogged(DonationLoggedEvent event) {
+        if (event.status() != DonationStatus.COMPLETED) {
+            return;
+        }
+        evaluate("donation", event.userId(), (progress, rebuilt) -> {
+            if (rebuilt) {
+                return List.of(); // The rebuild already counted this donation
+            }
+            int before = progress.getDonationCount();
+            progress.setDonationCount(before + 1);
+            return crossed(Counter.DONATIONS, before, before + 1);
+        });
+    }
+
+    @Async(AsyncConfig.BADGE_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMetricLogged(MetricLoggedEvent event) {
+        evaluate("metric", event.userId(), (progress, rebuilt) -> {
+            LocalDate last = progress.getLastMetricDate();
+            if (rebuilt) {
+                return List.of(); // The rebuild already counted this day
+            }
+            int before = progress.getStreakDays();
+            if (last != null && !event.date().isAfter(last)) {
+                if (!event.date().equals(last.minusDays(before))) {
+                    // Inside the current streak, or separated from it by a gap
+                    return List.of();
+                }
+                // A backfilled day just before the streak joins it to the run that ended the day before
+                int after = before + 1 + runEndingOn(event.userId(), event.date().minusDays(1));
+                progress.setStreakDays(after);
+                return crossed(Counter.STREAK, before, after);
+            }
+            int after = last != null && event.date().equals(last.plusDays(1)) ? before + 1 : 1;
+            progress.setStreakDays(after);
+            progress.setLastMetricDate(event.date());
+            return crossed(Counter.STREAK, before, after);
+        });
+    }
+
+    @Async(AsyncConfig.BADGE_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFollowChanged(FollowChangedEvent event) {
+        if (!event.following()) {
+            return;
+        }
+        evaluate("follow", event.followingId(), (progress, rebuilt) -> crossed(Counter.FOLLOWERS, 0, 1));
+    }
+
+    @Async(AsyncConfig.BADGE_EXECUTOR)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProfileUpdated(ProfileUpdatedEvent event) {
+        if (!event.healthProfileComplete()) {
+            return;
+        }
+        evaluate("profile", event.userId(), (progress, rebuilt) -> crossed(Counter.PROFILE, 0, 1));
+    }
+
+    /**
+     * Update the user's progress and award the rules it crossed, in a new
+     * transaction.
+     *
+     * @param update Applies the event to the progress (told whether it was
+     *               just rebuilt from history) and returns the rules crossed
+     */
+    private void evaluate(String event, Long userId,
+            BiFunction<UserBadgeProgress, Boolean, List<BadgeRule>> update) {
+        try {
+            try {
+                transactionTemplate.executeWithoutResult(status -> evaluate(userId, update, false));
+            } catch (DataIntegrityViolationException e) {
+                // Another event created the progress row first; it exists now
+                log.debug("Badge progress for user {} created concurrently, counting again", userId);
+                transactionTemplate.executeWithoutResult(status -> evaluate(userId, update, true));
+            }
+        } catch (RuntimeException e) {
+            log.error("Badge evaluation failed for user {} on {} event", userId, event, e);
+            meterRegistry.counter("rakta.badges.failures", "event", event).increment();
+        }
+    }
+
+    /**
+     * @param recount Rebuild the progress from history even if a row exists
+     */
+    private void evaluate(Long userId, BiFunction<UserBadgeProgress, Boolean, List<BadgeRule>> update,
+            boolean recount) {
+        Optional<UserBadgeProgress> existing = progressRepository.findByUserIdForUpdate(userId);
+        boolean rebuilt = recount || existing.isEmpty();
+        UserBadgeProgress progress = rebuilt ? rebuild(userId) : existing.get();
+
+        Set<BadgeRule> candidates = new LinkedHashSet<>(update.apply(progress, rebuilt));
+        if (rebuilt) {
+            candidates.addAll(crossed(Counter.DONATIONS, 0, progress.getDonationCount()));
+            candidates.addAll(crossed(Counter.STREAK, 0, progress.getStreakDays()));
+        }
+        progressRepository.save(progress);
+        award(userId, candidates);
+    }
+
+    /**
+     * Progress of a user without a row yet, counted from history once.
+     */
+    private UserBadgeProgress rebuild(Long userId) {
+        List<LocalDate> dates = dailyMetricRepository.findRecentDates(userId,
+                PageRequest.of(0, STREAK_LOOKBACK_DAYS));
+        return UserBadgeProgress.builder()
+                .userId(userId)
+                .donationCount((int) donationRepository.countByUserIdAndStatus(userId, DonationStatus.COMPLETED))
+                .streakDays(leadingRun(dates))
+                .lastMetricDate(dates.isEmpty() ? null : dates.get(0))
+                .build();
+    }
+
+    /**
+     * Consecutive days with a metric ending on the given day, looking back at
+     * most {@link #STREAK_LOOKBACK_DAYS}.
+     */
+    private int runEndingOn(Long userId, LocalDate day) {
+        List<LocalDate> dates = dailyMetricRepository.findRecentDatesUpTo(userId, day,
+                PageRequest.of(0, STREAK_LOOKBACK_DAYS));
+        return !dates.isEmpty() && dates.get(0).equals(day) ? leadingRun(dates) : 0;
+    }
+
+    /**
+     * Length of the run of consecutive days at the start of newest-first dates.
+     */
+    private static int leadingRun(List<LocalDate> dates) {
+        int streak = 0;
+        for (LocalDate date : dates) {
+            if (streak > 0 && !date.equals(dates.get(streak - 1).minusDays(1))) {
+                break;
+            }
+            streak++;
+        }
+        return streak;
+    }
+
+    /**
+     * Insert the badges the user does not hold yet, in one batch.
+     */
+    private void award(Long userId, Set<BadgeRule> rules) {
+        if (rules.isEmpty()) {
+            return;
+        }
+        List<Badge> badges = new ArrayList<>();
+        for (BadgeRule rule : rules) {
+            badgeCatalog.findByCode(rule.code()).ifPresentOrElse(badges::add,
+                    () -> log.warn("Badge {} is not in the catalog", rule.code()));
+        }
+        if (badges.isEmpty()) {
+            return;
+        }
+        Set<Long> held = new HashSet<>(userBadgeRepository.findHeldBadgeIds(userId,
+                badges.stream().map(Badge::getId).toList()));
+
+        List<UserBadge> awards = badges.stream()
+                .filter(badge -> !held.contains(badge.getId()))
+                .map(badge -> UserBadge.builder()
+                        .user(userRepository.getReferenceById(userId))
+                        .badge(badge)
+                        .context("Earned on " + LocalDate.now())
+                        .build())
+                .toList();
+        if (awards.isEmpty()) {
+            return;
+        }
+        userBadgeRepository.saveAll(awards);
+        awards.forEach(award -> meterRegistry.counter("rakta.badges.awarded",
+                "badge", award.getBadge().getCode()).increment());
+        publicProfileService.evict(userId);
+        log.info("Awarded {} to user {}", awards.stream().map(a -> a.getBadge().getCode()).toList(), userId);
+    }
+
+    /**
+     * Rules of the counter whose threshold lies in (before, after].
+     */
+    static List<BadgeRule> crossed(Counter counter, int before, int after) {
+        return RULES.stream()
+                .filter(rule -> rule.counter() == counter && rule.threshold() > before && rule.threshold() <= after)
+                .toList();
+    }
+}
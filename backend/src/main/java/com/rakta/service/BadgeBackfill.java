@@ -0,0 +1,136 @@
+package com.rakta.service;
+
+import com.rakta.service.BadgeAwardService.BadgeRule;
+import com.rakta.service.BadgeAwardService.Counter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Awards the badges users already qualify for from their history, e.g.
+ * after new rules are added. {@link BadgeAwardService} only sees new events.
+ *
+ * Set-based: per badge counter, one INSERT ... SELECT numbers each user's
+ * completed donations, consecutive metric days and followers with window
+ * functions and inserts the badges whose threshold was reached, dated when
+ * it was reached. Badges the user already holds are skipped, so the job is
+ * idempotent and can be stopped and rerun. Runs one user id range at a time
+ * so no statement scans or locks the whole history.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BadgeBackfill {
+
+    private static final int RANGE_SIZE = 10_000;
+
+    /**
+     * Rows numbered 1..n per user, with the time the n-th one happened.
+     * Restricted to users with ? &lt; id &lt;= ?.
+     */
+    private static final Map<Counter, String> NUMBERED_ROWS = Map.of(
+            Counter.DONATIONS, "SELECT user_id, "
+                    + "ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY donation_date, id) AS n, "
+                    + "CAST(donation_date AS TIMESTAMP) AS reached_at "
+                    + "FROM donations WHERE status = 'COMPLETED' AND user_id > ? AND user_id <= ?",
+            // Consecutive days share date - row number; number the days of each run
+            Counter.STREAK, "SELECT user_id, "
+                    + "ROW_NUMBER() OVER (PARTITION BY user_id, run_start ORDER BY date) AS n, "
+                    + "CAST(date AS TIMESTAMP) AS reached_at "
+                    + "FROM (SELECT user_id, date, "
+                    + "date - CAST(ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY date) AS INTEGER) AS run_start "
+                    + "FROM daily_metrics WHERE user_id > ? AND user_id <= ?) days",
+            Counter.FOLLOWERS, "SELECT following_id AS user_id, "
+                    + "ROW_NUMBER() OVER (PARTITION BY following_id ORDER BY created_at, follower_id) AS n, "
+                    + "created_at AS reached_at "
+                    + "FROM user_follows WHERE following_id > ? AND following_id <= ?",
+            // Same fields as ProfileUpdatedEvent; no history, so dated now
+            Counter.PROFILE, "SELECT id AS user_id, 1 AS n, LOCALTIMESTAMP AS reached_at FROM users "
+                    + "WHERE date_of_birth IS NOT NULL AND gender IS NOT NULL AND height IS NOT NULL "
+                    + "AND weight IS NOT NULL AND blood_type IS NOT NULL AND id > ? AND id <= ?");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${badges.backfill.on-startup:false}")
+    private boolean onStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (onStartup) {
+            backfill();
+        }
+    }
+
+    /**
+     * Award all qualifying badges, logging progress after each id range.
+     */
+    public BackfillReport backfill() {
+        Map<String, Object> bounds = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS users, COALESCE(MAX(id), 0) AS max_id FROM users");
+        long users = ((Number) bounds.get("users")).longValue();
+        long maxId = ((Number) bounds.get("max_id")).longValue();
+        Map<Counter, String> statements = statements(isPostgres());
+
+        log.info("Starting badge backfill over {} users...", users);
+        long start = System.currentTimeMillis();
+        Map<Counter, Long> awarded = new EnumMap<>(Counter.class);
+        for (long from = 0; from < maxId; from += RANGE_SIZE) {
+            long to = Math.min(from + RANGE_SIZE, maxId);
+            for (Map.Entry<Counter, String> statement : statements.entrySet()) {
+                awarded.merge(statement.getKey(), (long) jdbcTemplate.update(statement.getValue(), from, to), Long::sum);
+            }
+            log.info("Badge backfill: users up to id {} of {} ({}%), {} badges awarded", to, maxId,
+                    to * 100 / maxId, awarded.values().stream().mapToLong(Long::longValue).sum());
+        }
+
+        BackfillReport report = new BackfillReport(users,
+                awarded.values().stream().mapToLong(Long::longValue).sum());
+        log.info("Badge backfill complete in {} ms: {} awarded {}", System.currentTimeMillis() - start,
+                report.awarded(), awarded);
+        return report;
+    }
+
+    /**
+     * The INSERT per counter that has rules. On PostgreSQL, ON CONFLICT also
+     * covers a badge awarded live between the NOT EXISTS check and the
+     * insert; H2 outside PostgreSQL mode has no such clause.
+     */
+    static Map<Counter, String> statements(boolean postgres) {
+        Map<Counter, String> statements = new EnumMap<>(Counter.class);
+        BadgeAwardService.RULES.stream()
+                .collect(Collectors.groupingBy(BadgeRule::counter))
+                .forEach((counter, rules) -> {
+                    String thresholds = rules.stream()
+                            .map(rule -> "('" + rule.code() + "', " + rule.threshold() + ")")
+                            .collect(Collectors.joining(", "));
+                    statements.put(counter, "INSERT INTO user_badges (user_id, badge_id, earned_at, context, is_viewed) "
+                            + "SELECT q.user_id, b.id, MIN(q.reached_at), 'Awarded retroactively', FALSE "
+                            + "FROM (" + NUMBERED_ROWS.get(counter) + ") q "
+                            + "JOIN (VALUES " + thresholds + ") AS r(code, threshold) ON q.n = r.threshold "
+                            + "JOIN badges b ON b.code = r.code "
+                            + "WHERE NOT EXISTS (SELECT 1 FROM user_badges ub "
+                            + "WHERE ub.user_id = q.user_id AND ub.badge_id = b.id) "
+                            + "GROUP BY q.user_id, b.id"
+                            + (postgres ? " ON CONFLICT (user_id, badge_id) DO NOTHING" : ""));
+                });
+        return statements;
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(product);
+    }
+
+    public record BackfillReport(long users, long awarded) {
+    }
+}
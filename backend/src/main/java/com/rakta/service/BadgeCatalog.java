@@ -0,0 +1,43 @@
+package com.rakta.service;
+
+import com.rakta.entity.Badge;
+import com.rakta.repository.BadgeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The badge catalog, read once through {@link BadgeRepository} and kept in
+ * memory. Badges are reference data seeded by migrations, so the copy only
+ * changes on {@link #refresh()}.
+ */
+@Component
+@RequiredArgsConstructor
+public class BadgeCatalog {
+
+    private final BadgeRepository badgeRepository;
+
+    private volatile Map<String, Badge> badgesByCode;
+
+    public Optional<Badge> findByCode(String code) {
+        return Optional.ofNullable(badges().get(code));
+    }
+
+    public void refresh() {
+        badgesByCode = null;
+    }
+
+    private Map<String, Badge> badges() {
+        Map<String, Badge> badges = badgesByCode;
+        if (badges == null) {
+            badges = badgeRepository.findAll().stream()
+                    .collect(Collectors.toUnmodifiableMap(Badge::getCode, Function.identity()));
+            badgesByCode = badges;
+        }
+        return badges;
+    }
+}
@@ -1,14 +1,22 @@
 package com.rakta.service;
 
+import com.rakta.dto.FollowPageDto;
+import com.rakta.dto.FollowSuggestionDto;
+import com.rakta.dto.FollowUserDto;
 import com.rakta.entity.User;
 import com.rakta.entity.UserFollow;
+import com.rakta.event.FollowChangedEvent;
 import com.rakta.repository.UserFollowRepository;
 import com.rakta.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -17,6 +25,10 @@ public class CommunityService {
 
     private final UserFollowRepository userFollowRepository;
     private final UserRepository userRepository;
+    private final PublicProfileService publicProfileService;
+    private final RelationLookupService relationLookupService;
+    private final FollowGraphIndex followGraphIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void followUser(User follower, Long followingId) {
@@ -33,52 +45,127 @@ public class CommunityService {
                     .following(following)
                     .build();
             userFollowRepository.save(follow);
+            // Same transaction as the insert: a duplicate rolls both back
+            userRepository.adjustFollowCounts(follower.getId(), followingId, 1);
+            relationLookupService.recordFollow(follower.getId(), followingId, true);
+            eventPublisher.publishEvent(new FollowChangedEvent(follower.getId(), followingId, true));
+            publicProfileService.evict(follower.getId(), followingId);
         }
     }
 
     @Transactional
     public void unfollowUser(User follower, Long followingId) {
-        userFollowRepository.deleteByFollowerIdAndFollowingId(follower.getId(), followingId);
+        if (userFollowRepository.deleteByFollowerIdAndFollowingId(follower.getId(), followingId) > 0) {
+            userRepository.adjustFollowCounts(follower.getId(), followingId, -1);
+            relationLookupService.recordFollow(follower.getId(), followingId, false);
+            eventPublisher.publishEvent(new FollowChangedEvent(follower.getId(), followingId, false));
+            publicProfileService.evict(follower.getId(), followingId);
+        }
+    }
+
+    /**
+     * Page of users that this user is following, after the cursor (a user id).
+     */
+    @Transactional(readOnly = true)
+    public FollowPageDto getFollowing(Long userId, Long cursor, int size) {
+        return toPage(userFollowRepository.findFollowingRowsAfter(userId, cursorOrStart(cursor),
+                PageRequest.of(0, size + 1)), size);
     }
 
     /**
-     * Get list of users that this user is following.
-     * Uses JOIN FETCH to load all users in a single query (no N+1).
+     * Page of users that follow this user, after the cursor (a user id).
      */
-    public List<User> getFollowing(Long userId) {
-        return userFollowRepository.findByFollowerIdWithFollowing(userId).stream()
-                .map(UserFollow::getFollowing)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public FollowPageDto getFollowers(Long userId, Long cursor, int size) {
+        return toPage(userFollowRepository.findFollowerRowsAfter(userId, cursorOrStart(cursor),
+                PageRequest.of(0, size + 1)), size);
     }
 
     /**
-     * Get list of users that follow this user.
-     * Uses JOIN FETCH to load all users in a single query (no N+1).
+     * Users this user follows that follow back, by id.
      */
-    public List<User> getFollowers(Long userId) {
-        return userFollowRepository.findByFollowingIdWithFollower(userId).stream()
-                .map(UserFollow::getFollower)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<FollowUserDto> getMutualFollows(Long userId, int limit) {
+        List<Long> ids = followGraphIndex.isReady()
+                ? Arrays.stream(followGraphIndex.mutualFollows(userId)).boxed().toList()
+                : userFollowRepository.findMutualFollowIds(userId);
+        List<Long> page = ids.subList(0, Math.min(limit, ids.size()));
+        Map<Long, Object[]> rows = userRowsById(page);
+        return page.stream()
+                .filter(rows::containsKey)
+                .map(id -> toFollowUser(rows.get(id)))
+                .toList();
+    }
+
+    /**
+     * Donors followed by the users this user follows, most shared first.
+     * Empty until the follow graph index has loaded.
+     */
+    @Transactional(readOnly = true)
+    public List<FollowSuggestionDto> getSuggestions(Long userId, int limit) {
+        if (!followGraphIndex.isReady()) {
+            return List.of();
+        }
+        List<FollowGraphIndex.Suggestion> suggestions = followGraphIndex.suggestions(userId, limit);
+        Map<Long, Object[]> rows = userRowsById(suggestions.stream()
+                .map(FollowGraphIndex.Suggestion::userId)
+                .toList());
+        return suggestions.stream()
+                .filter(suggestion -> rows.containsKey(suggestion.userId()))
+                .map(suggestion -> {
+                    Object[] row = rows.get(suggestion.userId());
+                    return new FollowSuggestionDto((Long) row[0], (String) row[1], (String) row[2],
+                            suggestion.mutualConnections());
+                })
+                .toList();
     }
 
     /**
      * Check if a user is following another user.
      */
     public boolean isFollowing(Long followerId, Long followingId) {
-        return userFollowRepository.existsByFollowerIdAndFollowingId(followerId, followingId);
+        return relationLookupService.isFollowing(followerId, followingId);
     }
 
     /**
      * Get follower count for a user.
      */
     public int getFollowerCount(Long userId) {
-        return userFollowRepository.countByFollowingId(userId);
+        return userRepository.findFollowerCount(userId).orElse(0);
     }
 
     /**
      * Get following count for a user.
      */
     public int getFollowingCount(Long userId) {
-        return userFollowRepository.countByFollowerId(userId);
+        return userRepository.findFollowingCount(userId).orElse(0);
+    }
+
+    private Map<Long, Object[]> userRowsById(List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+        return userRepository.findFollowUserRows(userIds).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> row));
+    }
+
+    private static FollowUserDto toFollowUser(Object[] row) {
+        return new FollowUserDto((Long) row[0], (String) row[1], (String) row[2]);
+    }
+
+    private static long cursorOrStart(Long cursor) {
+        return cursor != null ? cursor : 0L;
+    }
+
+    /**
+     * One extra row is fetched to tell whether another page follows.
+     */
+    private static FollowPageDto toPage(List<Object[]> rows, int size) {
+        List<FollowUserDto> users = rows.stream()
+                .limit(size)
+                .map(CommunityService::toFollowUser)
+                .toList();
+        Long nextCursor = rows.size() > size ? users.get(users.size() - 1).id() : null;
+        return new FollowPageDto(users, nextCursor);
     }
 }
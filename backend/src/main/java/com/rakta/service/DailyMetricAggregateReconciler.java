@@ -0,0 +1,66 @@
+package com.rakta.service;
+
+import com.rakta.repository.DailyMetricAggregateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Nightly job that checks every rolling aggregate against a full recompute
+ * from daily_metrics and repairs any drift (e.g. from bulk inserts that bypass
+ * the incremental path).
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class DailyMetricAggregateReconciler {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final DailyMetricAggregateRepository aggregateRepository;
+    private final DailyMetricAggregateService aggregateService;
+
+    @Scheduled(cron = "${metrics.aggregates.reconcile-cron:0 30 3 * * *}")
+    public void reconcileAll() {
+        log.info("Starting daily metric aggregate reconciliation...");
+        ReconciliationReport report = reconcile();
+        log.info("Aggregate reconciliation complete: {} checked, {} repaired, {} failed",
+                report.checked(), report.repaired(), report.failed());
+    }
+
+    /**
+     * Reconcile all aggregates, one user per transaction.
+     */
+    public ReconciliationReport reconcile() {
+        int checked = 0;
+        int repaired = 0;
+        int failed = 0;
+        long lastUserId = 0L;
+
+        List<Long> userIds;
+        do {
+            userIds = aggregateRepository.findUserIdsAfter(lastUserId, PageRequest.of(0, PAGE_SIZE));
+            for (Long userId : userIds) {
+                try {
+                    if (!aggregateService.reconcile(userId)) {
+                        repaired++;
+                    }
+                } catch (Exception e) {
+                    failed++;
+                    log.error("Failed to reconcile aggregates for user {}", userId, e);
+                }
+                checked++;
+                lastUserId = userId;
+            }
+        } while (userIds.size() == PAGE_SIZE);
+
+        return new ReconciliationReport(checked, repaired, failed);
+    }
+
+    public record ReconciliationReport(int checked, int repaired, int failed) {
+    }
+}
@@ -0,0 +1,276 @@
+package com.rakta.service;
+
+import com.rakta.entity.DailyMetric;
+import com.rakta.entity.DailyMetricAggregate;
+import com.rakta.event.MetricLoggedEvent;
+import com.rakta.repository.DailyMetricAggregateRepository;
+import com.rakta.repository.DailyMetricRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Maintains per-user rolling 7d/28d aggregates of daily metrics.
+ *
+ * Upserts apply a delta (remove the previous values of the day, add the new
+ * ones) instead of rescanning the window. When a metric for a later day
+ * arrives the window slides forward and only the days falling out of it are
+ * read back.
+ *
+ * A user's first metric creates the aggregate row with an insert that does
+ * nothing if the row exists (ON CONFLICT on PostgreSQL), so two concurrent
+ * first writes cannot both insert: the second waits for the first to commit
+ * and then applies its delta to that row like any later write.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DailyMetricAggregateService {
+
+    private static final int ACUTE_DAYS = ReadinessScoringKernel.ACUTE_WINDOW_DAYS;
+    private static final int CHRONIC_DAYS = ReadinessScoringKernel.CHRONIC_WINDOW_DAYS;
+
+    private static final String CLAIM_SQL = "INSERT INTO daily_metric_aggregates (user_id, as_of_date, "
+            + "acute_count, acute_sleep_sum, acute_sleep_count, acute_iron_sum, acute_iron_count, acute_load_sum, "
+            + "chronic_count, chronic_sleep_sum, chronic_sleep_count, chronic_iron_sum, chronic_iron_count, "
+            + "chronic_load_sum) "
+            + "SELECT ?, ?, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 "
+            + "WHERE NOT EXISTS (SELECT 1 FROM daily_metric_aggregates WHERE user_id = ?)";
+
+    private final DailyMetricAggregateRepository aggregateRepository;
+    private final DailyMetricRepository dailyMetricRepository;
+    private final DailyMetricSeriesCache dailyMetricSeriesCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    /**
+     * Values of a metric that feed the aggregates, captured before an update
+     * mutates the managed entity.
+     */
+    public record Contribution(LocalDate date, BigDecimal sleepHours, Integer ironIntakeScore,
+            Integer trainingLoadAcute) {
+
+        /**
+         * Snapshot a metric's current values, or null if it was never persisted.
+         */
+        public static Contribution of(DailyMetric metric) {
+            if (metric == null || metric.getId() == null) {
+                return null;
+            }
+            return new Contribution(metric.getDate(), metric.getSleepHours(), metric.getIronIntakeScore(),
+                    metric.getTrainingLoadAcute());
+        }
+    }
+
+    /**
+     * Apply an upserted metric to its user's aggregates and cached series.
+     *
+     * @param userId   Owner of the metric
+     * @param previous Values before the upsert, or null for a new metric
+     * @param saved    The persisted metric
+     */
+    @Transactional
+    public void recordUpsert(Long userId, Contribution previous, DailyMetric saved) {
+        dailyMetricSeriesCache.recordWrite(userId, saved);
+        if (previous == null) {
+            eventPublisher.publishEvent(new MetricLoggedEvent(userId, saved.getDate()));
+        }
+
+        Optional<DailyMetricAggregate> existing = aggregateRepository.findByUserIdForUpdate(userId);
+        if (existing.isEmpty()) {
+            if (claimRow(userId, saved.getDate())) {
+                aggregateRepository.save(rebuild(userId));
+                return;
+            }
+            // A concurrent first write created the row and has committed
+            existing = aggregateRepository.findByUserIdForUpdate(userId);
+        }
+
+        DailyMetricAggregate aggregate = existing.orElseThrow();
+        Contribution current = new Contribution(saved.getDate(), saved.getSleepHours(), saved.getIronIntakeScore(),
+                saved.getTrainingLoadAcute());
+
+        if (current.date().isAfter(aggregate.getAsOfDate())) {
+            // Previous values of a day beyond the window were never counted
+            slideTo(aggregate, current.date());
+        } else if (previous != null) {
+            apply(aggregate, previous, -1);
+        }
+        apply(aggregate, current, 1);
+
+        aggregateRepository.save(aggregate);
+    }
+
+    /**
+     * Aggregate for readiness scoring on the given date, if one is maintained
+     * for exactly that day.
+     */
+    @Transactional(readOnly = true)
+    public Optional<DailyMetricAggregate> findCurrent(Long userId, LocalDate date) {
+        return aggregateRepository.findById(userId)
+                .filter(aggregate -> date.equals(aggregate.getAsOfDate()));
+    }
+
+    /**
+     * Compare a user's aggregate against a full recompute and repair it on
+     * mismatch.
+     *
+     * @return true if the stored aggregate was already consistent
+     */
+    @Transactional
+    public boolean reconcile(Long userId) {
+        Optional<DailyMetricAggregate> stored = aggregateRepository.findByUserIdForUpdate(userId);
+        if (stored.isEmpty()) {
+            return true;
+        }
+
+        DailyMetricAggregate expected = rebuild(userId);
+        if (stored.get().sameTotals(expected)) {
+            return true;
+        }
+
+        log.warn("Daily metric aggregate drift for user {}: stored={}, recomputed={}", userId, stored.get(), expected);
+        aggregateRepository.save(expected);
+        return false;
+    }
+
+    /**
+     * Insert an empty aggregate row unless one exists.
+     *
+     * @return true if this transaction inserted it
+     */
+    private boolean claimRow(Long userId, LocalDate asOf) {
+        // H2 outside PostgreSQL mode has no ON CONFLICT; NOT EXISTS covers the uncontended case there
+        String sql = isPostgres() ? CLAIM_SQL + " ON CONFLICT (user_id) DO NOTHING" : CLAIM_SQL;
+        return jdbcTemplate.update(sql, userId, asOf, userId) == 1;
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            postgres = "PostgreSQL".equalsIgnoreCase(product);
+        }
+        return postgres;
+    }
+
+    /**
+     * Full recompute from daily_metrics, as of the user's latest metric date.
+     */
+    DailyMetricAggregate rebuild(Long userId) {
+        LocalDate asOf = dailyMetricRepository.findFirstByUserIdOrderByDateDesc(userId)
+                .map(DailyMetric::getDate)
+                .orElse(LocalDate.now());
+
+        DailyMetricAggregate aggregate = DailyMetricAggregate.builder()
+                .userId(userId)
+                .asOfDate(asOf)
+                .build();
+
+        List<DailyMetric> window = dailyMetricRepository.findByUserIdAndDateBetween(userId,
+                asOf.minusDays(CHRONIC_DAYS - 1), asOf);
+        for (DailyMetric metric : window) {
+            apply(aggregate, new Contribution(metric.getDate(), metric.getSleepHours(), metric.getIronIntakeScore(),
+                    metric.getTrainingLoadAcute()), 1);
+        }
+        return aggregate;
+    }
+
+    /**
+     * Move the window end forward, removing days that drop out of either
+     * window.
+     */
+    private void slideTo(DailyMetricAggregate aggregate, LocalDate newAsOf) {
+        LocalDate oldAsOf = aggregate.getAsOfDate();
+
+        if (ChronoUnit.DAYS.between(oldAsOf, newAsOf) >= CHRONIC_DAYS) {
+            DailyMetricAggregate empty = DailyMetricAggregate.builder()
+                    .userId(aggregate.getUserId())
+                    .asOfDate(newAsOf)
+                    .build();
+            copyTotals(empty, aggregate);
+            return;
+        }
+
+        // Oldest day still in the chronic window up to the newest day leaving the acute one
+        List<DailyMetric> leaving = dailyMetricRepository.findByUserIdAndDateBetween(aggregate.getUserId(),
+                oldAsOf.minusDays(CHRONIC_DAYS - 1), newAsOf.minusDays(ACUTE_DAYS + 1));
+
+        for (DailyMetric metric : leaving) {
+            long oldDaysBefore = ChronoUnit.DAYS.between(metric.getDate(), oldAsOf);
+            long newDaysBefore = ChronoUnit.DAYS.between(metric.getDate(), newAsOf);
+            if (oldDaysBefore < 0) {
+                continue; // Never counted
+            }
+            boolean leavesAcute = oldDaysBefore <= ACUTE_DAYS && newDaysBefore > ACUTE_DAYS;
+            boolean leavesChronic = newDaysBefore >= CHRONIC_DAYS;
+            add(aggregate, metric.getSleepHours(), metric.getIronIntakeScore(), metric.getTrainingLoadAcute(),
+                    -1, leavesAcute, leavesChronic);
+        }
+
+        aggregate.setAsOfDate(newAsOf);
+    }
+
+    private void apply(DailyMetricAggregate aggregate, Contribution contribution, int sign) {
+        long daysBefore = ChronoUnit.DAYS.between(contribution.date(), aggregate.getAsOfDate());
+        boolean acute = daysBefore >= 0 && daysBefore <= ACUTE_DAYS;
+        boolean chronic = daysBefore >= 0 && daysBefore < CHRONIC_DAYS;
+        add(aggregate, contribution.sleepHours(), contribution.ironIntakeScore(), contribution.trainingLoadAcute(),
+                sign, acute, chronic);
+    }
+
+    private void add(DailyMetricAggregate a, BigDecimal sleepHours, Integer ironIntakeScore,
+            Integer trainingLoadAcute, int sign, boolean acute, boolean chronic) {
+        int sleepCount = sleepHours != null ? sign : 0;
+        BigDecimal sleep = sleepHours == null ? BigDecimal.ZERO
+                : sign < 0 ? sleepHours.negate() : sleepHours;
+        int ironCount = ironIntakeScore != null ? sign : 0;
+        long iron = ironIntakeScore != null ? (long) sign * ironIntakeScore : 0L;
+        long load = trainingLoadAcute != null ? (long) sign * trainingLoadAcute : 0L;
+
+        if (acute) {
+            a.setAcuteCount(a.getAcuteCount() + sign);
+            a.setAcuteSleepSum(a.getAcuteSleepSum().add(sleep));
+            a.setAcuteSleepCount(a.getAcuteSleepCount() + sleepCount);
+            a.setAcuteIronSum(a.getAcuteIronSum() + iron);
+            a.setAcuteIronCount(a.getAcuteIronCount() + ironCount);
+            a.setAcuteLoadSum(a.getAcuteLoadSum() + load);
+        }
+        if (chronic) {
+            a.setChronicCount(a.getChronicCount() + sign);
+            a.setChronicSleepSum(a.getChronicSleepSum().add(sleep));
+            a.setChronicSleepCount(a.getChronicSleepCount() + sleepCount);
+            a.setChronicIronSum(a.getChronicIronSum() + iron);
+            a.setChronicIronCount(a.getChronicIronCount() + ironCount);
+            a.setChronicLoadSum(a.getChronicLoadSum() + load);
+        }
+    }
+
+    private void copyTotals(DailyMetricAggregate from, DailyMetricAggregate to) {
+        to.setAsOfDate(from.getAsOfDate());
+        to.setAcuteCount(from.getAcuteCount());
+        to.setAcuteSleepSum(from.getAcuteSleepSum());
+        to.setAcuteSleepCount(from.getAcuteSleepCount());
+        to.setAcuteIronSum(from.getAcuteIronSum());
+        to.setAcuteIronCount(from.getAcuteIronCount());
+        to.setAcuteLoadSum(from.getAcuteLoadSum());
+        to.setChronicCount(from.getChronicCount());
+        to.setChronicSleepSum(from.getChronicSleepSum());
+        to.setChronicSleepCount(from.getChronicSleepCount());
+        to.setChronicIronSum(from.getChronicIronSum());
+        to.setChronicIronCount(from.getChronicIronCount());
+        to.setChronicLoadSum(from.getChronicLoadSum());
+    }
+}
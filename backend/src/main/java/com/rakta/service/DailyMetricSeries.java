@@ -0,0 +1,263 @@
+package com.rakta.service;
+
+import com.rakta.entity.DailyMetric;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Compact day-indexed time series of one user's daily metrics.
+ *
+ * Each metric is a {@code short} column indexed by days since the first
+ * stored day, with a bitset marking non-null values and one marking days that
+ * have a row at all. Decimal metrics are stored in their column scale
+ * (sleep hours in hundredths, hydration in tenths), so values read back are
+ * the same doubles {@link BigDecimal#doubleValue()} would return.
+ *
+ * Instances are guarded by their own monitor; writers are expected to be rare
+ * compared to readers.
+ */
+public final class DailyMetricSeries {
+
+    /**
+     * Stored metric columns.
+     */
+    public enum Column {
+        SLEEP_HOURS(2),
+        SLEEP_EFFICIENCY(0),
+        TRAINING_LOAD_ACUTE(0),
+        RESTING_HEART_RATE(0),
+        HRV_MS(0),
+        IRON_INTAKE_SCORE(0),
+        ENERGY_LEVEL(0),
+        HYDRATION_LITERS(1),
+        MENSTRUAL_CYCLE_DAY(0);
+
+        private final int decimals;
+        private final int scale;
+
+        Column(int decimals) {
+            this.decimals = decimals;
+            this.scale = (int) Math.pow(10, decimals);
+        }
+    }
+
+    /**
+     * Longest span between the first and last stored day.
+     */
+    static final int MAX_SPAN_DAYS = 20 * 366;
+
+    private static final Column[] COLUMNS = Column.values();
+    private static final int FIXED_OVERHEAD_BYTES = 256;
+
+    private long firstEpochDay;
+    private int length;
+    private int rows;
+    private short[][] values = new short[COLUMNS.length][0];
+    private BitSet[] nonNull = newBitSets();
+    private BitSet present = new BitSet();
+
+    /**
+     * Store (or replace) the values of one day.
+     *
+     * @return false if a value or the date span does not fit the compact
+     *         representation; the series is left unchanged
+     */
+    public synchronized boolean put(DailyMetric metric) {
+        return put(metric.getDate(), new Object[] {
+                metric.getSleepHours(),
+                metric.getSleepEfficiency(),
+                metric.getTrainingLoadAcute(),
+                metric.getRestingHeartRate(),
+                metric.getHrvMs(),
+                metric.getIronIntakeScore(),
+                metric.getEnergyLevel(),
+                metric.getHydrationLiters(),
+                metric.getMenstrualCycleDay() });
+    }
+
+    /**
+     * Store one day from a projection row in {@link Column} order.
+     */
+    public synchronized boolean put(LocalDate date, Object[] columnValues) {
+        short[] encoded = new short[COLUMNS.length];
+        boolean[] isSet = new boolean[COLUMNS.length];
+        for (int c = 0; c < COLUMNS.length; c++) {
+            Object value = columnValues[c];
+            if (value == null) {
+                continue;
+            }
+            long scaled = value instanceof BigDecimal decimal
+                    ? decimal.movePointRight(COLUMNS[c].decimals).setScale(0, RoundingMode.HALF_UP).longValue()
+                    : ((Number) value).longValue() * COLUMNS[c].scale;
+            if (scaled < Short.MIN_VALUE || scaled > Short.MAX_VALUE) {
+                return false;
+            }
+            encoded[c] = (short) scaled;
+            isSet[c] = true;
+        }
+
+        if (!ensureCovers(date.toEpochDay())) {
+            return false;
+        }
+        int index = (int) (date.toEpochDay() - firstEpochDay);
+        if (!present.get(index)) {
+            present.set(index);
+            rows++;
+        }
+        for (int c = 0; c < COLUMNS.length; c++) {
+            values[c][index] = encoded[c];
+            nonNull[c].set(index, isSet[c]);
+        }
+        return true;
+    }
+
+    public synchronized boolean contains(LocalDate date) {
+        int index = indexOf(date);
+        return index >= 0 && present.get(index);
+    }
+
+    /**
+     * Value of a column on a date, or NaN if there is no row or the value is
+     * null.
+     */
+    public synchronized double get(Column column, LocalDate date) {
+        int index = indexOf(date);
+        if (index < 0 || !nonNull[column.ordinal()].get(index)) {
+            return Double.NaN;
+        }
+        short raw = values[column.ordinal()][index];
+        return column.scale == 1 ? raw : raw / (double) column.scale;
+    }
+
+    /**
+     * Boxed value of an integer column, or null.
+     */
+    public synchronized Integer getInt(Column column, LocalDate date) {
+        int index = indexOf(date);
+        if (index < 0 || !nonNull[column.ordinal()].get(index)) {
+            return null;
+        }
+        return (int) values[column.ordinal()][index];
+    }
+
+    /**
+     * Dates of the newest {@code limit} days with a row, newest first.
+     */
+    public synchronized LocalDate[] latestDates(int limit) {
+        LocalDate[] dates = new LocalDate[Math.min(limit, rows)];
+        int found = 0;
+        for (int i = present.previousSetBit(length - 1); i >= 0 && found < dates.length; i = present
+                .previousSetBit(i - 1)) {
+            dates[found++] = LocalDate.ofEpochDay(firstEpochDay + i);
+        }
+        return dates;
+    }
+
+    /**
+     * Fill a readiness window for a scoring date with the same rows, in the
+     * same order (newest first), as the repository scan of every metric
+     * strictly newer than {@link ReadinessScoringKernel#CHRONIC_WINDOW_DAYS}
+     * days before the date.
+     */
+    public synchronized ReadinessScoringKernel.Window window(LocalDate date, ReadinessScoringKernel.Window window) {
+        window.clear();
+        long scoringDay = date.toEpochDay();
+        int oldest = (int) Math.max(0, scoringDay - ReadinessScoringKernel.CHRONIC_WINDOW_DAYS + 1 - firstEpochDay);
+        int sleep = Column.SLEEP_HOURS.ordinal();
+        int iron = Column.IRON_INTAKE_SCORE.ordinal();
+        int load = Column.TRAINING_LOAD_ACUTE.ordinal();
+
+        for (int i = present.previousSetBit(length - 1); i >= oldest; i = present.previousSetBit(i - 1)) {
+            window.add(
+                    (int) (scoringDay - firstEpochDay - i),
+                    nonNull[sleep].get(i) ? values[sleep][i] / (double) Column.SLEEP_HOURS.scale : Double.NaN,
+                    nonNull[iron].get(i) ? values[iron][i] : ReadinessScoringKernel.Window.MISSING,
+                    nonNull[load].get(i) ? values[load][i] : ReadinessScoringKernel.Window.MISSING);
+        }
+        return window;
+    }
+
+    public synchronized int rows() {
+        return rows;
+    }
+
+    /**
+     * Approximate retained heap size, used as the cache weight.
+     */
+    public synchronized int estimatedBytes() {
+        long columnBytes = (long) COLUMNS.length * (values[0].length * Short.BYTES + 16);
+        long bitsetBytes = (long) (COLUMNS.length + 1) * (length / Byte.SIZE + 16);
+        return (int) Math.min(Integer.MAX_VALUE, FIXED_OVERHEAD_BYTES + columnBytes + bitsetBytes);
+    }
+
+    private int indexOf(LocalDate date) {
+        long offset = date.toEpochDay() - firstEpochDay;
+        return length == 0 || offset < 0 || offset >= length ? -1 : (int) offset;
+    }
+
+    /**
+     * Grow the columns so the given day is addressable, shifting existing data
+     * when the day precedes the first stored day.
+     */
+    private boolean ensureCovers(long epochDay) {
+        if (length == 0) {
+            firstEpochDay = epochDay;
+            resize(0, 1);
+            return true;
+        }
+        long lastEpochDay = firstEpochDay + length - 1;
+        long newFirst = Math.min(firstEpochDay, epochDay);
+        long newLast = Math.max(lastEpochDay, epochDay);
+        if (newLast - newFirst >= MAX_SPAN_DAYS) {
+            return false;
+        }
+        if (newFirst == firstEpochDay && newLast == lastEpochDay) {
+            return true;
+        }
+
+        int shift = (int) (firstEpochDay - newFirst);
+        int newLength = (int) (newLast - newFirst + 1);
+        if (shift == 0 && newLength <= values[0].length) {
+            length = newLength;
+            return true;
+        }
+        firstEpochDay = newFirst;
+        resize(shift, newLength);
+        return true;
+    }
+
+    private void resize(int shift, int newLength) {
+        // Leave headroom at the end for days appended later
+        int capacity = shift == 0 ? Math.max(newLength, Math.min(MAX_SPAN_DAYS, length + (length >> 1) + 8))
+                : newLength;
+        for (int c = 0; c < COLUMNS.length; c++) {
+            short[] grown = new short[capacity];
+            System.arraycopy(values[c], 0, grown, shift, length);
+            values[c] = grown;
+            nonNull[c] = shifted(nonNull[c], shift);
+        }
+        present = shifted(present, shift);
+        length = newLength;
+    }
+
+    private static BitSet shifted(BitSet bits, int shift) {
+        if (shift == 0) {
+            return bits;
+        }
+        BitSet result = new BitSet();
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            result.set(i + shift);
+        }
+        return result;
+    }
+
+    private static BitSet[] newBitSets() {
+        BitSet[] bits = new BitSet[COLUMNS.length];
+        Arrays.setAll(bits, i -> new BitSet());
+        return bits;
+    }
+}
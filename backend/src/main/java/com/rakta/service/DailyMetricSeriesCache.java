@@ -0,0 +1,164 @@
+package com.rakta.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.rakta.entity.DailyMetric;
+import com.rakta.repository.DailyMetricRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-user in-memory cache of {@link DailyMetricSeries}.
+ *
+ * A user's full metric history is loaded on first read with a scalar
+ * projection (no entity hydration) and evicted by a total byte budget.
+ * Readers get null when the cache is disabled or a user's data does not fit
+ * the compact representation, and fall back to the repository.
+ *
+ * Local writes are applied to the resident series in place, and applied
+ * again once their transaction commits in case a concurrent load cached the
+ * series without the row; a rollback drops the series. Writes on other
+ * instances are only seen once the series expires (ttl-seconds after it was
+ * loaded).
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DailyMetricSeriesCache {
+
+    private final DailyMetricRepository dailyMetricRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${metrics.series-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${metrics.series-cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${metrics.series-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private Ticker ticker = Ticker.systemTicker();
+
+    private Cache<Long, DailyMetricSeries> cache;
+
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long userId, DailyMetricSeries series) -> series.estimatedBytes())
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "daily-metric-series");
+        Gauge.builder("rakta.series.cache.bytes", cache,
+                        c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L))
+                .description("Estimated bytes held by the daily metric series cache")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        log.info("Daily metric series cache initialized: enabled={}, maxBytes={}, ttl={}s",
+                enabled, maxBytes, ttlSeconds);
+    }
+
+    /**
+     * A user's series, loading it on first access.
+     *
+     * @return the series, or null if the cache is disabled or the user cannot
+     *         be cached
+     */
+    public DailyMetricSeries get(Long userId) {
+        if (!enabled || userId == null) {
+            return null;
+        }
+        return cache.get(userId, this::load);
+    }
+
+    /**
+     * Readiness window for a scoring date served from the series, or null when
+     * the caller should scan the repository instead.
+     */
+    public ReadinessScoringKernel.Window window(Long userId, LocalDate date) {
+        DailyMetricSeries series = get(userId);
+        return series != null ? series.window(date, new ReadinessScoringKernel.Window()) : null;
+    }
+
+    /**
+     * Apply a saved metric to the user's series if it is resident. Applied
+     * immediately so reads later in the same transaction see it, and again
+     * after commit: a load running concurrently may have cached the series
+     * without the uncommitted row (re-applying a day is idempotent). The
+     * series is dropped if the transaction rolls back.
+     */
+    public void recordWrite(Long userId, DailyMetric metric) {
+        if (!enabled || userId == null) {
+            return;
+        }
+        apply(userId, metric);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        apply(userId, metric);
+                    } else {
+                        evict(userId);
+                    }
+                }
+            });
+        }
+    }
+
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Total weight of resident series in bytes.
+     */
+    public long residentBytes() {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    /**
+     * Waits for a load of the same user in flight, so it is applied to the
+     * loaded series rather than missed.
+     */
+    private void apply(Long userId, DailyMetric metric) {
+        cache.asMap().computeIfPresent(userId, (id, series) -> series.put(metric) ? series : null);
+    }
+
+    private DailyMetricSeries load(Long userId) {
+        List<Object[]> rows = dailyMetricRepository.findSeriesRowsByUserId(userId);
+        DailyMetricSeries series = new DailyMetricSeries();
+        for (Object[] row : rows) {
+            if (!series.put((LocalDate) row[0], Arrays.copyOfRange(row, 1, row.length))) {
+                log.debug("Metrics of user {} do not fit the series cache", userId);
+                return null;
+            }
+        }
+        return series;
+    }
+}
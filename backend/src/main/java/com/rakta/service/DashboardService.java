@@ -3,6 +3,7 @@ package com.rakta.service;
 import com.rakta.dto.DashboardStatsDTO;
 import com.rakta.entity.*;
 import com.rakta.repository.*;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -26,13 +27,18 @@ public class DashboardService {
     private final DonationRepository donationRepository;
     private final UserRepository userRepository;
     private final UserBadgeRepository userBadgeRepository;
-    private final UserFollowRepository userFollowRepository;
     private final DailyMetricRepository dailyMetricRepository;
     private final ReadinessSnapshotRepository readinessSnapshotRepository;
+    private final DailyMetricSeriesCache dailyMetricSeriesCache;
+    private final MeterRegistry meterRegistry;
 
     private static final int VOLUME_PER_LIFE = 450; // ml needed to save one life
 
     public DashboardStatsDTO getDashboardStats(String email) {
+        return meterRegistry.timer("rakta.dashboard.stats").record(() -> buildDashboardStats(email));
+    }
+
+    private DashboardStatsDTO buildDashboardStats(String email) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -57,22 +63,17 @@ public class DashboardService {
                 .monthlyDonations(buildMonthlyDonations(donations))
                 .currentStreak(calculateCurrentStreak(donations))
                 .longestStreak(calculateLongestStreak(donations))
-                .followersCount(countFollowers(userId))
-                .followingCount(countFollowing(userId))
+                .followersCount(user.getFollowerCount())
+                .followingCount(user.getFollowingCount())
                 .totalBadges(countBadges(userId))
                 .recentBadges(getRecentBadges(userId))
                 .build();
     }
 
     private List<DashboardStatsDTO.DailyTrendPoint> buildDailyTrends(Long userId) {
-        List<DailyMetric> metrics = dailyMetricRepository.findTop14ByUserIdOrderByDateDesc(userId);
+        Map<LocalDate, TrendMetric> metricMap = latestTrendMetrics(userId);
         List<ReadinessSnapshot> snapshots = readinessSnapshotRepository.findTop14ByUserIdOrderByDateDesc(userId);
 
-        Map<LocalDate, DailyMetric> metricMap = metrics.stream()
-                .collect(Collectors.toMap(
-                        DailyMetric::getDate,
-                        java.util.function.Function.identity(),
-                        (existing, replacement) -> existing));
         Map<LocalDate, ReadinessSnapshot> snapshotMap = snapshots.stream()
                 .collect(Collectors.toMap(
                         ReadinessSnapshot::getDate,
@@ -87,18 +88,45 @@ public class DashboardService {
                 .sorted()
                 .limit(14)
                 .map(date -> {
-                    DailyMetric m = metricMap.get(date);
+                    TrendMetric m = metricMap.get(date);
                     ReadinessSnapshot s = snapshotMap.get(date);
                     return DashboardStatsDTO.DailyTrendPoint.builder()
                             .date(date)
-                            .sleepHours(m != null && m.getSleepHours() != null ? m.getSleepHours().doubleValue() : null)
+                            .sleepHours(m != null ? m.sleepHours() : null)
                             .readinessScore(s != null ? s.getTotalScore() : null)
-                            .restingHeartRate(m != null ? m.getRestingHeartRate() : null)
+                            .restingHeartRate(m != null ? m.restingHeartRate() : null)
                             .build();
                 })
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Sleep and resting heart rate of the 14 latest metric days, served from
+     * the series cache when available.
+     */
+    private Map<LocalDate, TrendMetric> latestTrendMetrics(Long userId) {
+        Map<LocalDate, TrendMetric> metricMap = new HashMap<>();
+        DailyMetricSeries series = dailyMetricSeriesCache.get(userId);
+        if (series != null) {
+            for (LocalDate date : series.latestDates(14)) {
+                double sleep = series.get(DailyMetricSeries.Column.SLEEP_HOURS, date);
+                metricMap.put(date, new TrendMetric(Double.isNaN(sleep) ? null : sleep,
+                        series.getInt(DailyMetricSeries.Column.RESTING_HEART_RATE, date)));
+            }
+            return metricMap;
+        }
+
+        for (DailyMetric m : dailyMetricRepository.findTop14ByUserIdOrderByDateDesc(userId)) {
+            metricMap.putIfAbsent(m.getDate(), new TrendMetric(
+                    m.getSleepHours() != null ? m.getSleepHours().doubleValue() : null,
+                    m.getRestingHeartRate()));
+        }
+        return metricMap;
+    }
+
+    private record TrendMetric(Double sleepHours, Integer restingHeartRate) {
+    }
+
     private int calculateTotalVolume(List<Donation> donations) {
         return donations.stream()
                 .filter(d -> d.getVolumeDonated() != null)
@@ -280,14 +308,6 @@ public class DashboardService {
         return longest;
     }
 
-    private int countFollowers(Long userId) {
-        return userFollowRepository.countByFollowingId(userId);
-    }
-
-    private int countFollowing(Long userId) {
-        return userFollowRepository.countByFollowerId(userId);
-    }
-
     private int countBadges(Long userId) {
         return (int) userBadgeRepository.countByUserId(userId);
     }
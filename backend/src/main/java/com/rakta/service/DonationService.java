@@ -5,9 +5,11 @@ import com.rakta.entity.Donation;
 import com.rakta.entity.DonationLocation;
 import com.rakta.entity.DonationStatus;
 import com.rakta.entity.User;
+import com.rakta.event.DonationLoggedEvent;
 import com.rakta.repository.DonationLocationRepository;
 import com.rakta.repository.DonationRepository;
 import com.rakta.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -23,13 +25,19 @@ public class DonationService {
     private final DonationRepository donationRepository;
     private final UserRepository userRepository;
     private final DonationLocationRepository locationRepository;
+    private final PublicProfileService publicProfileService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public DonationService(DonationRepository donationRepository,
             UserRepository userRepository,
-            DonationLocationRepository locationRepository) {
+            DonationLocationRepository locationRepository,
+            PublicProfileService publicProfileService,
+            ApplicationEventPublisher eventPublisher) {
         this.donationRepository = donationRepository;
         this.userRepository = userRepository;
         this.locationRepository = locationRepository;
+        this.publicProfileService = publicProfileService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -110,7 +118,10 @@ public class DonationService {
                 .status(donationRequest.getStatus() != null ? donationRequest.getStatus() : DonationStatus.COMPLETED)
                 .build();
 
-        return donationRepository.save(donation);
+        Donation saved = donationRepository.save(donation);
+        publicProfileService.evict(user.getId()); // Donation count
+        eventPublisher.publishEvent(new DonationLoggedEvent(user.getId(), saved.getId(), saved.getStatus()));
+        return saved;
     }
 
     public EligibilityResponse checkEligibility(String email) {
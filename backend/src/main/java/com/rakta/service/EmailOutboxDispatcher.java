@@ -0,0 +1,256 @@
+package com.rakta.service;
+
+import com.rakta.entity.OutboxEmail;
+import com.rakta.entity.OutboxEmailStatus;
+import com.rakta.repository.OutboxEmailRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sends the emails queued in the outbox by {@link EmailService}.
+ *
+ * Each poll claims a batch of due emails in a short transaction (row locks,
+ * skipping rows another instance holds) and pushes their next attempt past
+ * a lease, then sends the batch over one SMTP connection with no database
+ * connection held. Results are written back in a second transaction:
+ * failed emails are retried with exponential backoff until max-attempts.
+ * An instance that dies mid-send leaves its batch to be picked up again once
+ * the lease expires, so an email can be sent twice but is never lost.
+ *
+ * A sent email's body (which may hold a password reset link) is cleared
+ * when it is marked SENT. A nightly purge deletes SENT rows after
+ * sent-retention-days and FAILED rows after failed-retention-days.
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final String REDACTED_BODY = "";
+
+    private final OutboxEmailRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicLong pending = new AtomicLong();
+
+    @Value("${spring.mail.username:}")
+    private String fromEmail;
+
+    @Value("${email.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.initial-backoff-seconds:30}")
+    private long initialBackoffSeconds;
+
+    @Value("${email.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    @Value("${email.outbox.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${email.outbox.sent-retention-days:3}")
+    private long sentRetentionDays;
+
+    @Value("${email.outbox.failed-retention-days:14}")
+    private long failedRetentionDays;
+
+    private Timer batchTimer;
+    private Timer deliveryDelay;
+
+    public EmailOutboxDispatcher(OutboxEmailRepository outboxRepository,
+            JavaMailSender mailSender,
+            MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void init() {
+        this.batchTimer = Timer.builder("rakta.email.outbox.batch")
+                .description("SMTP time per dispatched batch")
+                .register(meterRegistry);
+        this.deliveryDelay = Timer.builder("rakta.email.outbox.delivery-delay")
+                .description("Time from queueing an email to the SMTP server accepting it")
+                .register(meterRegistry);
+        meterRegistry.gauge("rakta.email.outbox.pending", pending);
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:2000}")
+    public void dispatchDue() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            while (dispatchBatch() == batchSize) {
+                // A full batch may mean more are due
+            }
+            pending.set(outboxRepository.countByStatus(OutboxEmailStatus.PENDING));
+        } catch (RuntimeException e) {
+            log.error("Email outbox dispatch failed", e);
+        }
+    }
+
+    @Scheduled(cron = "${email.outbox.purge-cron:0 15 4 * * *}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int sent = outboxRepository.deleteSentBefore(now.minusDays(sentRetentionDays));
+                int failed = outboxRepository.deleteFailedBefore(now.minusDays(failedRetentionDays));
+                if (sent + failed > 0) {
+                    log.info("Purged {} sent and {} failed outbox emails", sent, failed);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Email outbox purge failed", e);
+        }
+    }
+
+    /**
+     * Claim, send and record one batch of due emails.
+     *
+     * @return Number of emails claimed
+     */
+    public int dispatchBatch() {
+        List<OutboxEmail> batch = transactionTemplate.execute(status -> claim(LocalDateTime.now()));
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Exception> failures = send(batch);
+
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> outboxRepository
+                .findAllById(batch.stream().map(OutboxEmail::getId).toList())
+                .forEach(email -> record(email, failures.get(email.getId()), now)));
+        return batch.size();
+    }
+
+    private List<OutboxEmail> claim(LocalDateTime now) {
+        List<OutboxEmail> due = outboxRepository.findDueForUpdate(now, PageRequest.of(0, batchSize));
+        due.forEach(email -> email.setNextAttemptAt(now.plusSeconds(leaseSeconds)));
+        return due;
+    }
+
+    /**
+     * Send the batch in one call, which JavaMailSender serves over a single
+     * connection. Returns the failed emails by id; all of them if the
+     * connection itself failed.
+     */
+    private Map<Long, Exception> send(List<OutboxEmail> batch) {
+        Map<SimpleMailMessage, Long> ids = new IdentityHashMap<>();
+        List<SimpleMailMessage> messages = new ArrayList<>(batch.size());
+        for (OutboxEmail email : batch) {
+            SimpleMailMessage message = toMessage(email);
+            ids.put(message, email.getId());
+            messages.add(message);
+        }
+
+        long start = System.nanoTime();
+        try {
+            mailSender.send(messages.toArray(SimpleMailMessage[]::new));
+            return Collections.emptyMap();
+        } catch (MailSendException e) {
+            Map<Long, Exception> failures = new HashMap<>();
+            if (e.getFailedMessages().isEmpty()) {
+                batch.forEach(email -> failures.put(email.getId(), e));
+            } else {
+                e.getFailedMessages().forEach((message, cause) -> failures.put(ids.get(message), cause));
+            }
+            return failures;
+        } catch (RuntimeException e) {
+            // Authentication or connection failure: nothing was sent
+            Map<Long, Exception> failures = new HashMap<>();
+            batch.forEach(email -> failures.put(email.getId(), e));
+            return failures;
+        } finally {
+            batchTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private void record(OutboxEmail email, Exception failure, LocalDateTime now) {
+        email.setAttempts(email.getAttempts() + 1);
+        if (failure == null) {
+            email.setStatus(OutboxEmailStatus.SENT);
+            email.setSentAt(now);
+            email.setLastError(null);
+            email.setBody(REDACTED_BODY);
+            meterRegistry.counter("rakta.email.outbox.sent").increment();
+            if (email.getCreatedAt() != null) {
+                deliveryDelay.record(Duration.between(email.getCreatedAt(), now));
+            }
+            return;
+        }
+
+        email.setLastError(truncate(failure.getMessage()));
+        if (email.getAttempts() >= maxAttempts) {
+            email.setStatus(OutboxEmailStatus.FAILED);
+            meterRegistry.counter("rakta.email.outbox.failures", "outcome", "gave-up").increment();
+            log.error("Giving up on email {} to {} after {} attempts: {}", email.getId(), email.getRecipient(),
+                    email.getAttempts(), failure.getMessage());
+        } else {
+            email.setNextAttemptAt(now.plus(backoff(email.getAttempts())));
+            meterRegistry.counter("rakta.email.outbox.failures", "outcome", "retry").increment();
+            log.warn("Email {} failed (attempt {}), retrying at {}: {}", email.getId(), email.getAttempts(),
+                    email.getNextAttemptAt(), failure.getMessage());
+        }
+    }
+
+    /**
+     * Delay before the attempt after the given one: initial-backoff doubled
+     * per attempt, capped at max-backoff.
+     */
+    Duration backoff(int attempts) {
+        long seconds = initialBackoffSeconds << Math.min(attempts - 1, 20);
+        return Duration.ofSeconds(Math.min(seconds, maxBackoffSeconds));
+    }
+
+    private SimpleMailMessage toMessage(OutboxEmail email) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        if (fromEmail != null && !fromEmail.isBlank()) {
+            message.setFrom(fromEmail);
+        }
+        message.setTo(email.getRecipient());
+        message.setSubject(email.getSubject());
+        message.setText(email.getBody());
+        return message;
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
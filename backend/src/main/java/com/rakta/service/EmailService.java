@@ -1,20 +1,24 @@
 package com.rakta.service;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import com.rakta.entity.OutboxEmail;
+import com.rakta.repository.OutboxEmailRepository;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
+/**
+ * Queues outbound emails in the email_outbox table, joining the caller's
+ * transaction: an email exists exactly when the change that triggered it
+ * commits. {@link EmailOutboxDispatcher} sends them in the background, so
+ * no request waits on (or holds a database connection during) SMTP.
+ */
 @Service
 public class EmailService {
 
-    private final JavaMailSender mailSender;
-    private final String fromEmail;
+    private final OutboxEmailRepository outboxRepository;
 
-    public EmailService(JavaMailSender mailSender,
-            @Value("${spring.mail.username}") String fromEmail) {
-        this.mailSender = mailSender;
-        this.fromEmail = fromEmail;
+    public EmailService(OutboxEmailRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
     }
 
     /**
@@ -25,11 +29,7 @@ public class EmailService {
      *                  https://app.com/reset-password?token=xyz)
      */
     public void sendPasswordResetEmail(String toEmail, String resetLink) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(toEmail);
-        message.setSubject("Rakta: Reset Your Password");
-        message.setText(
+        enqueue(toEmail, "Rakta: Reset Your Password",
                 "Hello,\n\n" +
                         "A password reset was requested for your Rakta account.\n\n" +
                         "Click the link below to reset your password:\n\n" +
@@ -38,26 +38,27 @@ public class EmailService {
                         "If you did not request this reset, please ignore this email. Your account is safe.\n\n" +
                         "Best regards,\n" +
                         "The Rakta Team");
-
-        mailSender.send(message);
     }
 
     /**
      * Send a welcome email to new users.
      */
     public void sendWelcomeEmail(String toEmail, String firstName) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(toEmail);
-        message.setSubject("Welcome to Rakta!");
-        message.setText(
+        enqueue(toEmail, "Welcome to Rakta!",
                 "Hello " + firstName + ",\n\n" +
                         "Welcome to Rakta! Your account has been created successfully.\n\n" +
                         "You're now part of a community dedicated to making blood donation a positive lifestyle.\n\n" +
                         "Start by tracking your first donation or exploring donation centers near you.\n\n" +
                         "Best regards,\n" +
                         "The Rakta Team");
+    }
 
-        mailSender.send(message);
+    private void enqueue(String toEmail, String subject, String text) {
+        outboxRepository.save(OutboxEmail.builder()
+                .recipient(toEmail)
+                .subject(subject)
+                .body(text)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
     }
 }
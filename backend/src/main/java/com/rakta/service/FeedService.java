@@ -8,17 +8,24 @@ import com.rakta.entity.DonationLocation;
 import com.rakta.entity.DonationPost;
 import com.rakta.entity.PostLike;
 import com.rakta.entity.User;
+import com.rakta.event.FeedChangedEvent;
 import com.rakta.repository.DonationLocationRepository;
 import com.rakta.repository.DonationPostRepository;
 import com.rakta.repository.DonationRepository;
 import com.rakta.repository.PostLikeRepository;
 import com.rakta.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
@@ -37,6 +44,10 @@ public class FeedService {
     private final UserRepository userRepository;
     private final DonationLocationRepository locationRepository;
     private final DonationRepository donationRepository;
+    private final PublicProfileService publicProfileService;
+    private final RelationLookupService relationLookupService;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get paginated public feed.
@@ -47,21 +58,37 @@ public class FeedService {
      */
     @Transactional(readOnly = true)
     public Page<FeedPostDto> getPublicFeed(Pageable pageable, Long currentUserId) {
-        Page<DonationPost> posts = postRepository.findAllByOrderByCreatedAtDesc(pageable);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Page<DonationPost> posts = postRepository.findAllByOrderByCreatedAtDesc(pageable);
+
+            // Get liked status for all posts in one query (optimization)
+            Set<Long> likedPostIds = Set.of();
+            if (currentUserId != null) {
+                List<Long> postIds = posts.getContent().stream()
+                        .map(DonationPost::getId)
+                        .collect(Collectors.toList());
+                likedPostIds = relationLookupService.likedPostIds(currentUserId, postIds);
+            }
 
-        // Get liked status for all posts in one query (optimization)
-        Set<Long> likedPostIds = Set.of();
-        if (currentUserId != null) {
-            List<Long> postIds = posts.getContent().stream()
-                    .map(DonationPost::getId)
-                    .collect(Collectors.toList());
-            likedPostIds = Set.copyOf(
-                    likeRepository.findLikedPostIdsByUserIdAndPostIds(currentUserId, postIds));
+            final Set<Long> finalLikedPostIds = likedPostIds;
+            return posts.map(post -> toFeedPostDto(post,
+                    currentUserId != null ? finalLikedPostIds.contains(post.getId()) : null));
+        } finally {
+            sample.stop(meterRegistry.timer("rakta.feed.read",
+                    "authenticated", String.valueOf(currentUserId != null)));
         }
+    }
 
-        final Set<Long> finalLikedPostIds = likedPostIds;
-        return posts.map(post -> toFeedPostDto(post,
-                currentUserId != null ? finalLikedPostIds.contains(post.getId()) : null));
+    /**
+     * Last modification of the public feed: the creation time of the newest
+     * post, or null while there are none. Changes in like counts are not
+     * reflected; conditional requests catch those through the ETag.
+     */
+    @Transactional(readOnly = true)
+    public Instant getFeedLastModified() {
+        LocalDateTime latest = postRepository.findLatestCreatedAt();
+        return latest != null ? latest.atZone(ZoneId.systemDefault()).toInstant() : null;
     }
 
     /**
@@ -78,7 +105,7 @@ public class FeedService {
 
         Boolean likedByCurrentUser = null;
         if (currentUserId != null) {
-            likedByCurrentUser = likeRepository.existsByUserIdAndPostId(currentUserId, postId);
+            likedByCurrentUser = relationLookupService.hasLiked(currentUserId, postId);
         }
 
         return toPostDetailDto(post, likedByCurrentUser);
@@ -96,8 +123,7 @@ public class FeedService {
             List<Long> postIds = posts.stream()
                     .map(DonationPost::getId)
                     .collect(Collectors.toList());
-            likedPostIds = Set.copyOf(
-                    likeRepository.findLikedPostIdsByUserIdAndPostIds(currentUserId, postIds));
+            likedPostIds = relationLookupService.likedPostIds(currentUserId, postIds);
         }
 
         final Set<Long> finalLikedPostIds = likedPostIds;
@@ -144,6 +170,8 @@ public class FeedService {
                 .build();
 
         DonationPost savedPost = postRepository.save(post);
+        publicProfileService.evict(user.getId());
+        eventPublisher.publishEvent(new FeedChangedEvent(savedPost.getId(), true));
         return toFeedPostDto(savedPost, false);
     }
 
@@ -152,26 +180,36 @@ public class FeedService {
      */
     @Transactional
     public void likePost(String email, Long postId) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new NoSuchElementException("User not found"));
-
-        DonationPost post = postRepository.findById(postId)
-                .orElseThrow(() -> new NoSuchElementException("Post not found"));
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "error";
+        try {
+            User user = userRepository.findByEmail(email)
+                    .orElseThrow(() -> new NoSuchElementException("User not found"));
+
+            DonationPost post = postRepository.findById(postId)
+                    .orElseThrow(() -> new NoSuchElementException("Post not found"));
+
+            // Check if already liked (idempotent)
+            if (likeRepository.existsByUserIdAndPostId(user.getId(), postId)) {
+                result = "duplicate";
+                return; // Already liked, do nothing
+            }
 
-        // Check if already liked (idempotent)
-        if (likeRepository.existsByUserIdAndPostId(user.getId(), postId)) {
-            return; // Already liked, do nothing
+            PostLike like = PostLike.builder()
+                    .user(user)
+                    .post(post)
+                    .build();
+            likeRepository.save(like);
+            relationLookupService.recordLike(user.getId(), postId, true);
+
+            // Update cached like count
+            post.setLikeCount(post.getLikeCount() + 1);
+            postRepository.save(post);
+            eventPublisher.publishEvent(new FeedChangedEvent(postId, false));
+            result = "created";
+        } finally {
+            sample.stop(meterRegistry.timer("rakta.feed.like", "result", result));
         }
-
-        PostLike like = PostLike.builder()
-                .user(user)
-                .post(post)
-                .build();
-        likeRepository.save(like);
-
-        // Update cached like count
-        post.setLikeCount(post.getLikeCount() + 1);
-        postRepository.save(post);
     }
 
     /**
@@ -192,11 +230,13 @@ public class FeedService {
         }
 
         likeRepository.deleteByUserIdAndPostId(user.getId(), postId);
+        relationLookupService.recordLike(user.getId(), postId, false);
 
         // Update cached like count
         DonationPost post = postRepository.findById(postId).orElseThrow();
         post.setLikeCount(Math.max(0, post.getLikeCount() - 1));
         postRepository.save(post);
+        eventPublisher.publishEvent(new FeedChangedEvent(postId, false));
     }
 
     /**
@@ -0,0 +1,71 @@
+package com.rakta.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Nightly job that recomputes users.follower_count and following_count from
+ * user_follows and repairs any drift (e.g. from rows written outside
+ * CommunityService or a failed deploy).
+ *
+ * Each id range is one set-based UPDATE that only touches rows whose stored
+ * counters differ, so a clean table costs one indexed scan per range and no
+ * writes.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class FollowCounterReconciler {
+
+    private static final int RANGE_SIZE = 10_000;
+
+    /**
+     * Repair the counters of users with fromId &lt; id &lt;= toId. Returns the
+     * number of users whose counters were wrong.
+     */
+    public static final String REPAIR_SQL = "UPDATE users u SET "
+            + "follower_count = (SELECT COUNT(*) FROM user_follows f WHERE f.following_id = u.id), "
+            + "following_count = (SELECT COUNT(*) FROM user_follows f WHERE f.follower_id = u.id) "
+            + "WHERE u.id > ? AND u.id <= ? AND ("
+            + "u.follower_count <> (SELECT COUNT(*) FROM user_follows f WHERE f.following_id = u.id) "
+            + "OR u.following_count <> (SELECT COUNT(*) FROM user_follows f WHERE f.follower_id = u.id))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Scheduled(cron = "${community.follow-counters.reconcile-cron:0 45 3 * * *}")
+    public void reconcileAll() {
+        log.info("Starting follow counter reconciliation...");
+        ReconciliationReport report = reconcile();
+        log.info("Follow counter reconciliation complete: {} checked, {} repaired",
+                report.checked(), report.repaired());
+    }
+
+    /**
+     * Reconcile all users, one id range per statement so no transaction holds
+     * row locks on the whole table.
+     */
+    public ReconciliationReport reconcile() {
+        Map<String, Object> bounds = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS users, COALESCE(MAX(id), 0) AS max_id FROM users");
+        long checked = ((Number) bounds.get("users")).longValue();
+        long maxId = ((Number) bounds.get("max_id")).longValue();
+
+        long repaired = 0;
+        for (long from = 0; from < maxId; from += RANGE_SIZE) {
+            int rows = jdbcTemplate.update(REPAIR_SQL, from, Math.min(from + RANGE_SIZE, maxId));
+            if (rows > 0) {
+                log.warn("Repaired follow counters of {} users in ids ({}, {}]", rows, from, from + RANGE_SIZE);
+            }
+            repaired += rows;
+        }
+        return new ReconciliationReport(checked, repaired);
+    }
+
+    public record ReconciliationReport(long checked, long repaired) {
+    }
+}
@@ -0,0 +1,365 @@
+package com.rakta.service;
+
+import com.rakta.event.FollowChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process copy of user_follows as sorted long arrays per user, one map
+ * for the users each user follows and one for their followers.
+ *
+ * Loaded once the application is ready and kept current from
+ * {@link FollowChangedEvent}s after commit. Changes that commit while the
+ * table is being read are queued and replayed onto the loaded graph. Until
+ * it is loaded, {@link #isReady()} is false and callers use the database.
+ *
+ * The graph is rebuilt from the table every reload-interval-ms, so edges
+ * written on other instances or outside CommunityService show up without a
+ * restart. Counts and is-following checks are not served from here (the
+ * stored counters and the database are authoritative); the graph only ranks
+ * suggestions and finds mutual follows.
+ *
+ * Arrays are replaced, never mutated, so readers need no locks; a follow
+ * copies the two affected arrays (O(degree)) under the graph's lock.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class FollowGraphIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${community.follow-graph.enabled:true}")
+    private boolean enabled;
+
+    private final Object loadLock = new Object();
+    private List<FollowChangedEvent> pendingChanges;
+    private volatile Graph graph;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            log.info("Follow graph index disabled");
+            return;
+        }
+        reload();
+        meterRegistry.gauge("rakta.follow-graph.edges", this, index -> index.graph.edgeCount());
+        meterRegistry.gauge("rakta.follow-graph.bytes", this, index -> index.graph.estimatedBytes());
+    }
+
+    /**
+     * Rebuild the graph from user_follows and swap it in. The previous graph
+     * keeps serving (and taking changes) while the table is read.
+     */
+    @Scheduled(initialDelayString = "${community.follow-graph.reload-interval-ms:3600000}",
+            fixedDelayString = "${community.follow-graph.reload-interval-ms:3600000}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (loadLock) {
+            pendingChanges = new ArrayList<>();
+        }
+        long start = System.currentTimeMillis();
+        Graph loaded;
+        try {
+            EdgeBuffer edges = new EdgeBuffer();
+            jdbcTemplate.query("SELECT follower_id, following_id FROM user_follows",
+                    (RowCallbackHandler) rs -> edges.add(rs.getLong(1), rs.getLong(2)));
+            loaded = Graph.build(edges.followers, edges.followings, edges.size);
+        } catch (RuntimeException e) {
+            synchronized (loadLock) {
+                pendingChanges = null;
+            }
+            throw e;
+        }
+
+        synchronized (loadLock) {
+            pendingChanges.forEach(loaded::apply);
+            pendingChanges = null;
+            graph = loaded;
+        }
+        log.info("Follow graph loaded: {} users, {} edges, ~{} KB in {} ms", loaded.userCount(),
+                loaded.edgeCount(), loaded.estimatedBytes() / 1024, System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFollowChanged(FollowChangedEvent event) {
+        Graph current;
+        synchronized (loadLock) {
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+            current = graph;
+        }
+        if (current != null) {
+            current.apply(event);
+        }
+    }
+
+    public boolean isReady() {
+        return graph != null;
+    }
+
+    /**
+     * The current graph, for tests.
+     */
+    Graph graph() {
+        return graph;
+    }
+
+    /**
+     * Users that follow the user and are followed back, by id.
+     */
+    public long[] mutualFollows(Long userId) {
+        return Graph.intersect(graph.following(userId), graph.followers(userId));
+    }
+
+    /**
+     * Friends-of-friends the user does not follow yet, ranked by how many of
+     * the user's followees follow them, then by follower count.
+     */
+    public List<Suggestion> suggestions(Long userId, int limit) {
+        Graph current = graph;
+        long[] following = current.following(userId);
+        Map<Long, int[]> scores = new HashMap<>();
+        for (long followee : following) {
+            for (long candidate : current.following(followee)) {
+                if (candidate != userId && Arrays.binarySearch(following, candidate) < 0) {
+                    scores.computeIfAbsent(candidate, id -> new int[1])[0]++;
+                }
+            }
+        }
+        return scores.entrySet().stream()
+                .map(e -> new Suggestion(e.getKey(), e.getValue()[0], current.followers(e.getKey()).length))
+                .sorted(Comparator.comparingInt(Suggestion::mutualConnections).reversed()
+                        .thenComparing(Comparator.comparingInt(Suggestion::followerCount).reversed())
+                        .thenComparingLong(Suggestion::userId))
+                .limit(limit)
+                .toList();
+    }
+
+    public long edgeCount() {
+        return graph.edgeCount();
+    }
+
+    public long estimatedBytes() {
+        return graph.estimatedBytes();
+    }
+
+    /**
+     * @param mutualConnections Followees of the user that follow this user
+     */
+    public record Suggestion(long userId, int mutualConnections, int followerCount) {
+    }
+
+    /**
+     * The adjacency maps. Package-private so the memory footprint of
+     * synthetic graphs can be measured without a database.
+     */
+    static final class Graph {
+
+        // ConcurrentHashMap node (32) + boxed key (16) + array header (16)
+        private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+        private final ConcurrentHashMap<Long, long[]> following;
+        private final ConcurrentHashMap<Long, long[]> followers;
+        private final AtomicLong edges;
+
+        private Graph(ConcurrentHashMap<Long, long[]> following, ConcurrentHashMap<Long, long[]> followers,
+                long edges) {
+            this.following = following;
+            this.followers = followers;
+            this.edges = new AtomicLong(edges);
+        }
+
+        /**
+         * Build from parallel edge arrays; the first size entries are used.
+         * Duplicate edges are dropped.
+         */
+        static Graph build(long[] followerIds, long[] followingIds, int size) {
+            ConcurrentHashMap<Long, long[]> following = group(followerIds, followingIds, size);
+            ConcurrentHashMap<Long, long[]> followers = group(followingIds, followerIds, size);
+            long edges = following.values().stream().mapToLong(list -> list.length).sum();
+            return new Graph(following, followers, edges);
+        }
+
+        long[] following(Long userId) {
+            return following.getOrDefault(userId, EMPTY);
+        }
+
+        long[] followers(Long userId) {
+            return followers.getOrDefault(userId, EMPTY);
+        }
+
+        /**
+         * Both maps change under the graph's lock, so concurrent events for
+         * the same pair cannot leave one direction behind the other.
+         */
+        synchronized void apply(FollowChangedEvent event) {
+            long[] list = following.get(event.followerId());
+            long[] updated = event.following()
+                    ? insert(list, event.followingId())
+                    : remove(list, event.followingId());
+            if (updated == list) {
+                return;
+            }
+            put(following, event.followerId(), updated);
+            long[] reverse = followers.get(event.followingId());
+            put(followers, event.followingId(), event.following()
+                    ? insert(reverse, event.followerId())
+                    : remove(reverse, event.followerId()));
+            edges.addAndGet(event.following() ? 1 : -1);
+        }
+
+        long edgeCount() {
+            return edges.get();
+        }
+
+        int userCount() {
+            return Math.max(following.size(), followers.size());
+        }
+
+        /**
+         * Approximate retained heap size of both maps.
+         */
+        long estimatedBytes() {
+            return bytes(following) + bytes(followers);
+        }
+
+        static long[] intersect(long[] a, long[] b) {
+            long[] result = new long[Math.min(a.length, b.length)];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    result[n++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, n);
+        }
+
+        private static ConcurrentHashMap<Long, long[]> group(long[] keys, long[] values, int size) {
+            Map<Long, int[]> degrees = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                degrees.computeIfAbsent(keys[i], id -> new int[1])[0]++;
+            }
+            ConcurrentHashMap<Long, long[]> lists = new ConcurrentHashMap<>(degrees.size() * 4 / 3 + 1);
+            degrees.forEach((id, degree) -> lists.put(id, new long[degree[0]]));
+            for (int i = 0; i < size; i++) {
+                int[] fill = degrees.get(keys[i]);
+                lists.get(keys[i])[--fill[0]] = values[i];
+            }
+            lists.replaceAll((id, list) -> dedupe(list));
+            return lists;
+        }
+
+        private static long[] dedupe(long[] list) {
+            Arrays.sort(list);
+            int n = 0;
+            for (int i = 0; i < list.length; i++) {
+                if (i == 0 || list[i] != list[i - 1]) {
+                    list[n++] = list[i];
+                }
+            }
+            return n == list.length ? list : Arrays.copyOf(list, n);
+        }
+
+        private static void put(ConcurrentHashMap<Long, long[]> lists, Long userId, long[] list) {
+            if (list == null) {
+                lists.remove(userId);
+            } else {
+                lists.put(userId, list);
+            }
+        }
+
+        private static long[] insert(long[] list, long id) {
+            if (list == null) {
+                return new long[] { id };
+            }
+            int at = Arrays.binarySearch(list, id);
+            if (at >= 0) {
+                return list;
+            }
+            at = -at - 1;
+            long[] updated = new long[list.length + 1];
+            System.arraycopy(list, 0, updated, 0, at);
+            updated[at] = id;
+            System.arraycopy(list, at, updated, at + 1, list.length - at);
+            return updated;
+        }
+
+        private static long[] remove(long[] list, long id) {
+            if (list == null) {
+                return null;
+            }
+            int at = Arrays.binarySearch(list, id);
+            if (at < 0) {
+                return list;
+            }
+            if (list.length == 1) {
+                return null;
+            }
+            long[] updated = new long[list.length - 1];
+            System.arraycopy(list, 0, updated, 0, at);
+            System.arraycopy(list, at + 1, updated, at, list.length - at - 1);
+            return updated;
+        }
+
+        private static long bytes(ConcurrentHashMap<Long, long[]> lists) {
+            long total = 16L + Integer.highestOneBit(Math.max(1, lists.size() * 4 / 3)) * 2L * 4; // table
+            for (long[] list : lists.values()) {
+                total += ENTRY_OVERHEAD_BYTES + (long) list.length * Long.BYTES;
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Growable pair of primitive arrays for the initial load.
+     */
+    private static final class EdgeBuffer {
+        private long[] followers = new long[1024];
+        private long[] followings = new long[1024];
+        private int size;
+
+        void add(long followerId, long followingId) {
+            if (size == followers.length) {
+                followers = Arrays.copyOf(followers, size * 2);
+                followings = Arrays.copyOf(followings, size * 2);
+            }
+            followers[size] = followerId;
+            followings[size] = followingId;
+            size++;
+        }
+    }
+}
@@ -10,6 +10,7 @@ import com.rakta.repository.SupplementLogRepository;
 import com.rakta.repository.UserIntegrationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -27,6 +28,10 @@ public class HealthIntegrationService {
     private final SupplementLogRepository supplementLogRepository;
     private final DailyMetricRepository dailyMetricRepository;
     private final ReadinessCalculatorService readinessCalculatorService;
+    private final DailyMetricAggregateService dailyMetricAggregateService;
+
+    @Value("${integrations.provider-sync.enabled:false}")
+    private boolean providerSyncEnabled;
 
     @Transactional
     public UserIntegration connectProvider(User user, UserIntegration.Provider provider, String accessToken,
@@ -69,8 +74,10 @@ public class HealthIntegrationService {
         Optional<DailyMetric> existingOpt = dailyMetricRepository.findByUserIdAndDate(user.getId(), request.getDate());
 
         DailyMetric metric;
+        DailyMetricAggregateService.Contribution previous = null;
         if (existingOpt.isPresent()) {
             metric = existingOpt.get();
+            previous = DailyMetricAggregateService.Contribution.of(metric);
             // Update objective fields from device
             if (request.getSleepHours() != null)
                 metric.setSleepHours(request.getSleepHours());
@@ -111,6 +118,7 @@ public class HealthIntegrationService {
         }
 
         DailyMetric saved = dailyMetricRepository.save(metric);
+        dailyMetricAggregateService.recordUpsert(user.getId(), previous, saved);
 
         // Recalculate readiness
         readinessCalculatorService.processDailyMetric(saved);
@@ -118,8 +126,11 @@ public class HealthIntegrationService {
         return saved;
     }
 
-    @Scheduled(cron = "0 0 * * * *") // Hourly
+    @Scheduled(cron = "${integrations.provider-sync.cron:0 0 * * * *}")
     public void syncAllProviders() {
+        if (!providerSyncEnabled) {
+            return; // Providers push through webhooks; polling them is not implemented yet
+        }
         log.info("Starting scheduled sync for all providers...");
         List<UserIntegration> integrations = userIntegrationRepository.findAll();
         for (UserIntegration integration : integrations) {
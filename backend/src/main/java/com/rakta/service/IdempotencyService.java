@@ -2,6 +2,9 @@ package com.rakta.service;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -21,11 +24,14 @@ import java.util.Optional;
  */
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class IdempotencyService {
 
     private static final Duration IDEMPOTENCY_TTL = Duration.ofMinutes(5);
     private static final long MAX_CACHE_SIZE = 10_000L;
 
+    private final MeterRegistry meterRegistry;
+
     /**
      * Cache structure:
      * Key: idempotencyKey (UUID string)
@@ -40,6 +46,8 @@ public class IdempotencyService {
                 .expireAfterWrite(IDEMPOTENCY_TTL)
                 .recordStats()
                 .build();
+        // Hits, misses, evictions and size as cache.* meters tagged cache=idempotency
+        CaffeineCacheMetrics.monitor(meterRegistry, responseCache, "idempotency");
         log.info("Idempotency cache initialized with TTL={}, maxSize={}", IDEMPOTENCY_TTL, MAX_CACHE_SIZE);
     }
 
@@ -59,16 +67,19 @@ public class IdempotencyService {
         CachedResponse existing = responseCache.getIfPresent(idempotencyKey);
         if (existing != null) {
             if (existing.isComplete()) {
+                countRequest("hit");
                 log.info("Idempotency hit: returning cached response for key={}", idempotencyKey);
                 return Optional.of(existing.getResponse());
             } else {
                 // Request is still processing
+                countRequest("conflict");
                 log.warn("Idempotency conflict: request in progress for key={}", idempotencyKey);
                 throw new IdempotencyConflictException("Request is already being processed");
             }
         }
 
         // Mark as processing
+        countRequest("new");
         responseCache.put(idempotencyKey, CachedResponse.processing());
         log.debug("Idempotency key marked as processing: {}", idempotencyKey);
         return Optional.empty();
@@ -94,6 +105,10 @@ public class IdempotencyService {
         }
     }
 
+    private void countRequest(String result) {
+        meterRegistry.counter("rakta.idempotency.requests", "result", result).increment();
+    }
+
     /**
      * Internal representation of cached response state.
      */
@@ -0,0 +1,81 @@
+package com.rakta.service;
+
+import java.util.Collection;
+
+/**
+ * Bloom filter over the post ids one user has liked. {@link #mightContain}
+ * never returns false for an added id, so a negative answer skips the
+ * database; a positive one still has to be checked.
+ *
+ * Ids cannot be removed, so unlikes leave false positives behind until the
+ * filter is rebuilt. Adding more ids than the filter was sized for raises
+ * the false-positive rate; {@link #isSaturated} tells the owner to rebuild.
+ */
+final class LikedPostFilter {
+
+    private final long[] bits;
+    private final int bitCount;
+    private final int hashCount;
+    private final int capacity;
+    private int size;
+
+    private LikedPostFilter(int capacity, double falsePositiveRate) {
+        this.capacity = capacity;
+        double ln2 = Math.log(2);
+        this.bitCount = Math.max(64, (int) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2)));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * ln2));
+        this.bits = new long[(bitCount + 63) / 64];
+    }
+
+    /**
+     * Filter holding the given ids, with room for as many again before it
+     * saturates.
+     */
+    static LikedPostFilter of(Collection<Long> postIds, double falsePositiveRate) {
+        LikedPostFilter filter = new LikedPostFilter(Math.max(64, postIds.size() * 2), falsePositiveRate);
+        postIds.forEach(filter::add);
+        return filter;
+    }
+
+    synchronized void add(long postId) {
+        long hash = mix(postId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            bits[bit >>> 6] |= 1L << bit;
+        }
+        size++;
+    }
+
+    synchronized boolean mightContain(long postId) {
+        long hash = mix(postId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    synchronized boolean isSaturated() {
+        return size > capacity;
+    }
+
+    long sizeInBytes() {
+        return bits.length * 8L;
+    }
+
+    /**
+     * SplitMix64 finalizer; sequential ids spread over all bits.
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
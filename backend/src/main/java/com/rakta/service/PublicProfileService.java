@@ -0,0 +1,148 @@
+package com.rakta.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rakta.dto.BadgeDto;
+import com.rakta.dto.UserPublicProfileDto;
+import com.rakta.repository.UserBadgeRepository;
+import com.rakta.repository.UserFollowRepository;
+import com.rakta.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Public user profiles with stats and badges.
+ *
+ * A profile is loaded with two statements (fields plus the stored follow
+ * counters and post/donation counts, then badges) and cached per user for a
+ * short TTL. Only
+ * the viewer's follow status is looked up per request. Writes that change a
+ * profile (follows, posts, donations, badges, profile edits) call
+ * {@link #evict}.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PublicProfileService {
+
+    private final UserRepository userRepository;
+    private final UserBadgeRepository userBadgeRepository;
+    private final UserFollowRepository userFollowRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${profile.cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${profile.cache.max-size:10000}")
+    private long maxSize;
+
+    private Cache<Long, UserPublicProfileDto> cache;
+
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "public-profile");
+        log.info("Public profile cache initialized with TTL={}s, maxSize={}", ttlSeconds, maxSize);
+    }
+
+    /**
+     * Profile of a user as seen by the viewer.
+     *
+     * @param viewerEmail Authenticated viewer, or null for anonymous requests
+     * @throws NoSuchElementException if the user does not exist
+     */
+    @Transactional(readOnly = true)
+    public UserPublicProfileDto getProfile(Long userId, String viewerEmail) {
+        UserPublicProfileDto profile = cache.get(userId, this::load);
+        if (viewerEmail == null) {
+            return profile;
+        }
+        boolean isOwnProfile = viewerEmail.equals(profile.email());
+        Boolean isFollowed = isOwnProfile
+                ? null
+                : userFollowRepository.existsByFollowerEmailAndFollowingId(viewerEmail, userId);
+        return profile.withViewer(isFollowed, isOwnProfile);
+    }
+
+    /**
+     * Drop cached profiles after a write that changes them. Evicted now and
+     * again after commit, so a read racing the transaction cannot cache the
+     * old state for a full TTL.
+     */
+    public void evict(Long... userIds) {
+        for (Long userId : userIds) {
+            if (userId != null) {
+                cache.invalidate(userId);
+            }
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    for (Long userId : userIds) {
+                        if (userId != null) {
+                            cache.invalidate(userId);
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    private UserPublicProfileDto load(Long userId) {
+        List<Object[]> rows = userRepository.findPublicProfileRows(userId);
+        if (rows.isEmpty()) {
+            throw new NoSuchElementException("User not found");
+        }
+        Object[] row = rows.get(0);
+
+        List<BadgeDto> badges = userBadgeRepository.findByUserIdWithBadges(userId).stream()
+                .map(ub -> new BadgeDto(
+                        ub.getBadge().getId(),
+                        ub.getBadge().getCode(),
+                        ub.getBadge().getName(),
+                        ub.getBadge().getDescription(),
+                        ub.getBadge().getIconUrl(),
+                        ub.getBadge().getCategory() != null ? ub.getBadge().getCategory().name() : null,
+                        ub.getEarnedAt()))
+                .toList();
+
+        return new UserPublicProfileDto(
+                (Long) row[0],
+                (String) row[1],
+                (String) row[2],
+                (String) row[3],
+                (String) row[4],
+                (String) row[5],
+                (String) row[6],
+                (LocalDateTime) row[7],
+                count(row[8]),
+                count(row[9]),
+                count(row[10]),
+                count(row[11]),
+                badges,
+                null,
+                null);
+    }
+
+    private static int count(Object value) {
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+}
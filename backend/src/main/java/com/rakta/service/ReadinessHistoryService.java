@@ -0,0 +1,156 @@
+package com.rakta.service;
+
+import com.rakta.dto.ReadinessHistoryDto;
+import com.rakta.repository.ReadinessSnapshotRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Readiness history over arbitrary date ranges, downsampled on the server.
+ *
+ * The database groups snapshots per day (at most one row per day in the
+ * range); days are then folded into ISO weeks or calendar months here, which
+ * keeps week boundaries identical on H2 and PostgreSQL.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReadinessHistoryService {
+
+    /**
+     * Longest range a single request may cover.
+     */
+    static final int MAX_RANGE_DAYS = 5 * 366;
+
+    private final ReadinessSnapshotRepository readinessSnapshotRepository;
+
+    public enum Resolution {
+        DAY, WEEK, MONTH;
+
+        public static Resolution parse(String value) {
+            if (value == null || value.isBlank()) {
+                return DAY;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("resolution must be one of day, week, month");
+            }
+        }
+
+        LocalDate periodStart(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ReadinessHistoryDto getHistory(Long userId, LocalDate from, LocalDate to, Resolution resolution) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        List<Object[]> days = readinessSnapshotRepository.aggregateDailyScores(userId, from, to);
+
+        List<ReadinessHistoryDto.HistoryPoint> points = new ArrayList<>();
+        Bucket bucket = null;
+        for (Object[] row : days) {
+            LocalDate periodStart = resolution.periodStart((LocalDate) row[0]);
+            if (bucket == null || !bucket.periodStart.equals(periodStart)) {
+                if (bucket != null) {
+                    points.add(bucket.toPoint());
+                }
+                bucket = new Bucket(periodStart);
+            }
+            bucket.add(row);
+        }
+        if (bucket != null) {
+            points.add(bucket.toPoint());
+        }
+
+        return ReadinessHistoryDto.builder()
+                .from(from)
+                .to(to)
+                .resolution(resolution.name().toLowerCase(Locale.ROOT))
+                .points(points)
+                .build();
+    }
+
+    /**
+     * Running count/sum/min/max of a period. Holds the total score followed
+     * by the rbc, iron and lifestyle components; each series averages over
+     * its own non-null values, not over every snapshot.
+     */
+    private static final class Bucket {
+        private static final int SERIES = 4;
+
+        private final LocalDate periodStart;
+        private long samples;
+        private final long[] count = new long[SERIES];
+        private final double[] sum = new double[SERIES];
+        private final double[] min = new double[SERIES];
+        private final double[] max = new double[SERIES];
+
+        Bucket(LocalDate periodStart) {
+            this.periodStart = periodStart;
+            Arrays.fill(min, Double.POSITIVE_INFINITY);
+            Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        }
+
+        void add(Object[] row) {
+            samples += ((Number) row[1]).longValue();
+            for (int s = 0; s < SERIES; s++) {
+                int col = 2 + s * 4;
+                long values = ((Number) row[col]).longValue();
+                if (values == 0) {
+                    continue;
+                }
+                count[s] += values;
+                sum[s] += ((Number) row[col + 1]).doubleValue();
+                min[s] = Math.min(min[s], ((Number) row[col + 2]).doubleValue());
+                max[s] = Math.max(max[s], ((Number) row[col + 3]).doubleValue());
+            }
+        }
+
+        ReadinessHistoryDto.HistoryPoint toPoint() {
+            return ReadinessHistoryDto.HistoryPoint.builder()
+                    .periodStart(periodStart)
+                    .samples((int) samples)
+                    .totalScore(stats(0))
+                    .rbcComponent(stats(1))
+                    .ironComponent(stats(2))
+                    .lifestyleComponent(stats(3))
+                    .build();
+        }
+
+        private ReadinessHistoryDto.Stats stats(int s) {
+            if (count[s] == 0) {
+                return null;
+            }
+            return ReadinessHistoryDto.Stats.builder()
+                    .avg(round2(sum[s] / count[s]))
+                    .min(min[s])
+                    .max(max[s])
+                    .build();
+        }
+
+        private static double round2(double value) {
+            return Math.round(value * 100.0) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.rakta.service;
+
+import com.rakta.entity.DailyMetric;
+import com.rakta.entity.DailyMetricAggregate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Side-effect-free readiness scoring kernel.
+ *
+ * Holds the readiness formula used by {@link ReadinessCalculatorService}
+ * without repository access or side effects, so batch recomputation,
+ * what-if calculations and benchmarks can call it directly.
+ *
+ * All sub-scores are computed in a single pass over a primitive
+ * {@link Window}. Averages reproduce the previous stream-based formula
+ * bit for bit: integer metrics are summed exactly and sleep hours use the
+ * same compensated summation as {@code DoubleStream.average()}.
+ */
+public final class ReadinessScoringKernel {
+
+    /**
+     * Marker for "no donation history" (treated as fully recovered).
+     */
+    public static final int NO_DONATION = -1;
+
+    /**
+     * Metrics strictly newer than this many days are loaded into the window.
+     */
+    public static final int CHRONIC_WINDOW_DAYS = 28;
+
+    /**
+     * Metrics at most this many days old count towards the acute (7d) averages.
+     */
+    public static final int ACUTE_WINDOW_DAYS = 7;
+
+    private static final double DEFAULT_IRON_SCORE = 3.0;
+    private static final int NULL_IRON_SCORE = 3;
+
+    private final int tauRbcDays;
+    private final int tauIronDaysMale;
+    private final int tauIronDaysFemale;
+    private final double baselineSleep;
+
+    public ReadinessScoringKernel(int tauRbcDays, int tauIronDaysMale, int tauIronDaysFemale, double baselineSleep) {
+        this.tauRbcDays = tauRbcDays;
+        this.tauIronDaysMale = tauIronDaysMale;
+        this.tauIronDaysFemale = tauIronDaysFemale;
+        this.baselineSleep = baselineSleep;
+    }
+
+    /**
+     * Score a metric window.
+     *
+     * @param window            Metrics of the chronic window, in any order
+     *                          relevant to the caller (sleep is summed in
+     *                          window order)
+     * @param daysSinceDonation Days since the last donation (clamped at 0), or
+     *                          {@link #NO_DONATION}
+     * @param female            Whether the female iron recovery constant applies
+     * @return Component and total scores
+     */
+    public Score score(Window window, int daysSinceDonation, boolean female) {
+        int acuteCount = 0;
+        long ironSum = 0;
+        long acuteLoadSum = 0;
+        long chronicLoadSum = 0;
+
+        // Compensated sum state for sleep (mirrors DoubleStream.average)
+        int sleepCount = 0;
+        double sleepSum = 0.0;
+        double sleepCompensation = 0.0;
+        double sleepSimpleSum = 0.0;
+
+        for (int i = 0; i < window.size; i++) {
+            int load = window.trainingLoad[i] != Window.MISSING ? window.trainingLoad[i] : 0;
+            chronicLoadSum += load;
+
+            if (window.daysBefore[i] > ACUTE_WINDOW_DAYS) {
+                continue;
+            }
+
+            acuteCount++;
+            acuteLoadSum += load;
+            ironSum += window.ironIntakeScore[i] != Window.MISSING ? window.ironIntakeScore[i] : NULL_IRON_SCORE;
+
+            double sleep = window.sleepHours[i];
+            if (!Double.isNaN(sleep)) {
+                sleepCount++;
+                double compensated = sleep - sleepCompensation;
+                double nextSum = sleepSum + compensated;
+                sleepCompensation = (nextSum - sleepSum) - compensated;
+                sleepSum = nextSum;
+                sleepSimpleSum += sleep;
+            }
+        }
+
+        double avgIronScore = acuteCount > 0 ? (double) ironSum / acuteCount : DEFAULT_IRON_SCORE;
+        double avgLoad7d = acuteCount > 0 ? (double) acuteLoadSum / acuteCount : 0.0;
+        double avgLoad28d = window.size > 0 ? (double) chronicLoadSum / window.size : 1.0;
+
+        double avgSleep7d = baselineSleep;
+        if (sleepCount > 0) {
+            double finalSum = sleepSum - sleepCompensation;
+            if (Double.isNaN(finalSum) && Double.isInfinite(sleepSimpleSum)) {
+                finalSum = sleepSimpleSum;
+            }
+            avgSleep7d = finalSum / sleepCount;
+        }
+
+        return scoreFromAverages(avgIronScore, avgSleep7d, avgLoad7d, avgLoad28d, daysSinceDonation, female);
+    }
+
+    /**
+     * Score from a rolling aggregate maintained for the scoring date, without
+     * touching individual metric rows. Sleep is averaged from its exact
+     * decimal sum.
+     */
+    public Score score(DailyMetricAggregate aggregate, int daysSinceDonation, boolean female) {
+        int acuteCount = aggregate.getAcuteCount();
+        int chronicCount = aggregate.getChronicCount();
+
+        long ironSum = aggregate.getAcuteIronSum()
+                + (long) NULL_IRON_SCORE * (acuteCount - aggregate.getAcuteIronCount());
+        double avgIronScore = acuteCount > 0 ? (double) ironSum / acuteCount : DEFAULT_IRON_SCORE;
+        double avgLoad7d = acuteCount > 0 ? (double) aggregate.getAcuteLoadSum() / acuteCount : 0.0;
+        double avgLoad28d = chronicCount > 0 ? (double) aggregate.getChronicLoadSum() / chronicCount : 1.0;
+        double avgSleep7d = aggregate.getAcuteSleepCount() > 0
+                ? aggregate.getAcuteSleepSum().doubleValue() / aggregate.getAcuteSleepCount()
+                : baselineSleep;
+
+        return scoreFromAverages(avgIronScore, avgSleep7d, avgLoad7d, avgLoad28d, daysSinceDonation, female);
+    }
+
+    /**
+     * Score pre-aggregated window averages. Callers that already hold 7d/28d
+     * averages (e.g. rolling aggregates) can skip the window pass entirely.
+     */
+    public Score scoreFromAverages(double avgIronScore, double avgSleep7d, double avgLoad7d, double avgLoad28d,
+            int daysSinceDonation, boolean female) {
+        boolean hasDonation = daysSinceDonation != NO_DONATION;
+
+        // A. RBC Recovery: min(1, 1 - exp(-t / tau_rbc))
+        double rbcRecovery = 1.0;
+        if (hasDonation) {
+            rbcRecovery = Math.min(1.0, 1.0 - Math.exp(-1.0 * daysSinceDonation / tauRbcDays));
+        }
+        double rbcScore = rbcRecovery * 100.0;
+
+        // B. Iron Recovery via time decay, scaled by iron intake (3 is neutral)
+        int tauIron = female ? tauIronDaysFemale : tauIronDaysMale;
+        double baseIronRecovery = 1.0;
+        if (hasDonation) {
+            baseIronRecovery = Math.min(1.0, 1.0 - Math.exp(-1.0 * daysSinceDonation / tauIron));
+        }
+        double ironMultiplier = 0.8 + (avgIronScore - 1) * 0.1;
+        double ironScore = Math.min(100.0, (baseIronRecovery * 100.0) * ironMultiplier);
+
+        // C. Lifestyle Penalty: sleep deficit and Acute Chronic Ratio (ACR)
+        if (avgLoad28d == 0)
+            avgLoad28d = 1.0;
+        double acr = avgLoad7d / avgLoad28d;
+
+        double lifestyleScore = 100.0;
+        if (avgSleep7d < baselineSleep) {
+            lifestyleScore -= (baselineSleep - avgSleep7d) * 10.0;
+        }
+        if (acr > 1.5) {
+            lifestyleScore *= 0.8;
+        }
+        lifestyleScore = Math.max(0.0, Math.min(100.0, lifestyleScore));
+
+        // Weighted Aggregation: (0.35 * RBC) + (0.25 * Iron) + (0.40 * Lifestyle)
+        double finalScore = (0.35 * rbcScore) + (0.25 * ironScore) + (0.40 * lifestyleScore);
+        int totalScore = (int) Math.round(Math.max(0.0, Math.min(100.0, finalScore)));
+
+        return new Score(rbcScore, ironScore, lifestyleScore, totalScore);
+    }
+
+    /**
+     * Days since a donation as expected by {@link #score}, or
+     * {@link #NO_DONATION} when there is none.
+     */
+    public static int daysSinceDonation(LocalDate lastDonationDate, LocalDate date) {
+        if (lastDonationDate == null) {
+            return NO_DONATION;
+        }
+        long days = ChronoUnit.DAYS.between(lastDonationDate, date);
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, days));
+    }
+
+    /**
+     * Result of a readiness calculation. Components are on a 0-100 scale.
+     */
+    public record Score(double rbcComponent, double ironComponent, double lifestyleComponent, int totalScore) {
+    }
+
+    /**
+     * Compact, reusable struct-of-arrays view of a metric window.
+     * Missing integer values are stored as {@link #MISSING}, missing sleep as
+     * NaN.
+     */
+    public static final class Window {
+
+        public static final int MISSING = Integer.MIN_VALUE;
+
+        private int size;
+        private int[] daysBefore;
+        private double[] sleepHours;
+        private int[] ironIntakeScore;
+        private int[] trainingLoad;
+
+        public Window() {
+            this(CHRONIC_WINDOW_DAYS + 4);
+        }
+
+        public Window(int initialCapacity) {
+            int capacity = Math.max(1, initialCapacity);
+            this.daysBefore = new int[capacity];
+            this.sleepHours = new double[capacity];
+            this.ironIntakeScore = new int[capacity];
+            this.trainingLoad = new int[capacity];
+        }
+
+        /**
+         * Build a window from metrics relative to the scoring date.
+         */
+        public static Window of(List<DailyMetric> metrics, LocalDate date) {
+            Window window = new Window(metrics.size());
+            for (DailyMetric m : metrics) {
+                window.add(
+                        (int) ChronoUnit.DAYS.between(m.getDate(), date),
+                        m.getSleepHours() != null ? m.getSleepHours().doubleValue() : Double.NaN,
+                        m.getIronIntakeScore() != null ? m.getIronIntakeScore() : MISSING,
+                        m.getTrainingLoadAcute() != null ? m.getTrainingLoadAcute() : MISSING);
+            }
+            return window;
+        }
+
+        /**
+         * Append one day.
+         *
+         * @param daysBefore      Days between the metric and the scoring date
+         *                        (negative for later dates)
+         * @param sleepHours      Sleep hours, or NaN if not recorded
+         * @param ironIntakeScore Iron intake score (1-5), or {@link #MISSING}
+         * @param trainingLoad    Acute training load, or {@link #MISSING}
+         */
+        public Window add(int daysBefore, double sleepHours, int ironIntakeScore, int trainingLoad) {
+            if (size == this.daysBefore.length) {
+                int capacity = size * 2;
+                this.daysBefore = Arrays.copyOf(this.daysBefore, capacity);
+                this.sleepHours = Arrays.copyOf(this.sleepHours, capacity);
+                this.ironIntakeScore = Arrays.copyOf(this.ironIntakeScore, capacity);
+                this.trainingLoad = Arrays.copyOf(this.trainingLoad, capacity);
+            }
+            this.daysBefore[size] = daysBefore;
+            this.sleepHours[size] = sleepHours;
+            this.ironIntakeScore[size] = ironIntakeScore;
+            this.trainingLoad[size] = trainingLoad;
+            size++;
+            return this;
+        }
+
+        public void clear() {
+            size = 0;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+}
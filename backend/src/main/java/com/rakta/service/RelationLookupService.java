@@ -0,0 +1,219 @@
+package com.rakta.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rakta.repository.PostLikeRepository;
+import com.rakta.repository.UserFollowRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+
+/**
+ * "Has liked" and "is following" checks for the current request.
+ *
+ * Each call answers a whole batch with at most one IN query per relation,
+ * and answers are remembered until the request ends, so repeated checks
+ * (feed page, then post detail, then a profile) hit the database once.
+ * Outside a web request nothing is remembered.
+ *
+ * Optionally (relations.like-filter.enabled) a Bloom filter of each user's
+ * liked post ids is kept for a few minutes; ids it rules out are answered
+ * "not liked" without a query. Likes written through {@link #recordLike}
+ * are added to it once their transaction commits, after any load of the
+ * filter in flight, so a filter loaded before the commit cannot miss them.
+ * Likes written by another instance, or outside {@link #recordLike}, are
+ * only seen once the filter expires: with several instances, enable it only
+ * when that delay is acceptable.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RelationLookupService {
+
+    private static final String MEMO_ATTRIBUTE = RelationLookupService.class.getName() + ".memo";
+
+    private final PostLikeRepository likeRepository;
+    private final UserFollowRepository userFollowRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${relations.like-filter.enabled:false}")
+    private boolean likeFilterEnabled;
+
+    @Value("${relations.like-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${relations.like-filter.ttl-seconds:300}")
+    private long likeFilterTtlSeconds;
+
+    @Value("${relations.like-filter.max-users:20000}")
+    private long likeFilterMaxUsers;
+
+    private Cache<Long, LikedPostFilter> likeFilters;
+
+    @PostConstruct
+    public void init() {
+        this.likeFilters = Caffeine.newBuilder()
+                .maximumSize(likeFilterMaxUsers)
+                .expireAfterWrite(Duration.ofSeconds(likeFilterTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, likeFilters, "liked-post-filter");
+        meterRegistry.gauge("rakta.relations.like-filter.bytes", likeFilters, cache -> cache.asMap().values()
+                .stream().mapToLong(LikedPostFilter::sizeInBytes).sum());
+        log.info("Relation lookups initialized, liked-post filter {}", likeFilterEnabled ? "enabled" : "disabled");
+    }
+
+    /**
+     * The subset of postIds the user has liked.
+     */
+    public Set<Long> likedPostIds(Long userId, Collection<Long> postIds) {
+        LongPredicate ruledOut = likeFilterEnabled ? likeFilter(userId) : id -> false;
+        return resolve("like", memo().likes(userId), postIds, ruledOut,
+                missing -> likeRepository.findLikedPostIdsByUserIdAndPostIds(userId, missing));
+    }
+
+    public boolean hasLiked(Long userId, Long postId) {
+        return likedPostIds(userId, List.of(postId)).contains(postId);
+    }
+
+    /**
+     * The subset of userIds the follower follows.
+     */
+    public Set<Long> followedUserIds(Long followerId, Collection<Long> userIds) {
+        return resolve("follow", memo().follows(followerId), userIds, id -> false,
+                missing -> userFollowRepository.findFollowingIdsByFollowerIdAndFollowingIds(followerId, missing));
+    }
+
+    public boolean isFollowing(Long followerId, Long followingId) {
+        return followedUserIds(followerId, List.of(followingId)).contains(followingId);
+    }
+
+    /**
+     * Keep remembered answers in step with a like or unlike made in this
+     * request.
+     */
+    public void recordLike(Long userId, Long postId, boolean liked) {
+        memo().likes(userId).put(postId, liked);
+        if (!liked) {
+            return; // The filter may keep the id; it only costs a query
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addToLikeFilter(userId, postId);
+                }
+            });
+        } else {
+            addToLikeFilter(userId, postId);
+        }
+    }
+
+    public void recordFollow(Long followerId, Long followingId, boolean following) {
+        memo().follows(followerId).put(followingId, following);
+    }
+
+    private Set<Long> resolve(String relation, Map<Long, Boolean> known, Collection<Long> ids,
+            LongPredicate ruledOut, Function<List<Long>, Collection<Long>> query) {
+        List<Long> missing = new ArrayList<>();
+        int filtered = 0;
+        for (Long id : ids) {
+            if (known.containsKey(id)) {
+                continue;
+            }
+            if (ruledOut.test(id)) {
+                known.put(id, false);
+                filtered++;
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Set<Long> found = new HashSet<>(query.apply(missing));
+            missing.forEach(id -> known.put(id, found.contains(id)));
+        }
+        count(relation, "memo", ids.size() - filtered - missing.size());
+        count(relation, "filter", filtered);
+        count(relation, "db", missing.size());
+
+        Set<Long> result = new HashSet<>();
+        for (Long id : ids) {
+            if (Boolean.TRUE.equals(known.get(id))) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Waits for a load of the user's filter in flight, so the like is added
+     * to the loaded filter rather than missed.
+     */
+    private void addToLikeFilter(Long userId, Long postId) {
+        likeFilters.asMap().computeIfPresent(userId, (id, filter) -> {
+            filter.add(postId);
+            return filter.isSaturated() ? null : filter;
+        });
+    }
+
+    private LongPredicate likeFilter(Long userId) {
+        LikedPostFilter filter = likeFilters.get(userId,
+                id -> LikedPostFilter.of(likeRepository.findPostIdsByUserId(id), falsePositiveRate));
+        return postId -> !filter.mightContain(postId);
+    }
+
+    private void count(String relation, String source, int amount) {
+        if (amount > 0) {
+            meterRegistry.counter("rakta.relations.lookups", "relation", relation, "source", source)
+                    .increment(amount);
+        }
+    }
+
+    private Memo memo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return new Memo();
+        }
+        Memo memo = (Memo) attributes.getAttribute(MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new Memo();
+            attributes.setAttribute(MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+
+    /**
+     * Known answers of one request, per subject user.
+     */
+    private static final class Memo {
+        private final Map<Long, Map<Long, Boolean>> likes = new HashMap<>();
+        private final Map<Long, Map<Long, Boolean>> follows = new HashMap<>();
+
+        Map<Long, Boolean> likes(Long userId) {
+            return likes.computeIfAbsent(userId, id -> new HashMap<>());
+        }
+
+        Map<Long, Boolean> follows(Long followerId) {
+            return follows.computeIfAbsent(followerId, id -> new HashMap<>());
+        }
+    }
+}
@@ -5,7 +5,7 @@ import com.rakta.entity.User;
 import com.rakta.entity.VerificationToken;
 import com.rakta.repository.UserRepository;
 import com.rakta.repository.VerificationTokenRepository;
-import com.rakta.security.JwtTokenProvider;
+import com.rakta.security.UserPrincipal;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -24,7 +24,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
-    private final JwtTokenProvider jwtTokenProvider;
+    private final AuthTokenService authTokenService;
     private final EmailService emailService;
     private final VerificationTokenRepository tokenRepository;
 
@@ -34,20 +34,21 @@ public class UserService {
     public UserService(UserRepository userRepository,
             PasswordEncoder passwordEncoder,
             AuthenticationManager authenticationManager,
-            JwtTokenProvider jwtTokenProvider,
+            AuthTokenService authTokenService,
             EmailService emailService,
             VerificationTokenRepository tokenRepository) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
-        this.jwtTokenProvider = jwtTokenProvider;
+        this.authTokenService = authTokenService;
         this.emailService = emailService;
         this.tokenRepository = tokenRepository;
     }
 
     /**
      * Register a new user with all required fields.
-     * Users are enabled immediately (no email verification required).
+     * Users are enabled immediately (no email verification required), so the
+     * token is issued for the saved user without authenticating again.
      */
     @Transactional
     public AuthDto.AuthResponse register(AuthDto.RegisterRequest request) {
@@ -75,25 +76,23 @@ public class UserService {
 
         user = userRepository.save(user);
 
-        // Generate JWT token immediately since user is already enabled
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()));
-
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String token = jwtTokenProvider.generateToken(authentication);
+        UserPrincipal principal = UserPrincipal.of(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+        AuthTokenService.AuthTokens tokens = authTokenService.issue(user.getId(), user.getEmail());
 
         return new AuthDto.AuthResponse(
-                token,
+                tokens.accessToken(),
                 user.getId(),
                 user.getFirstName(),
                 user.getLastName(),
-                user.getEmail());
+                user.getEmail(),
+                tokens.refreshToken());
     }
 
     /**
-     * Login an existing user.
+     * Login an existing user. The response comes from the principal loaded
+     * for authentication; disabled accounts are rejected by the provider.
      */
     public AuthDto.AuthResponse login(AuthDto.LoginRequest loginRequest) {
         Authentication authentication = authenticationManager.authenticate(
@@ -103,21 +102,16 @@ public class UserService {
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        User user = userRepository.findByEmail(loginRequest.getEmail())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        if (!user.isEnabled()) {
-            throw new RuntimeException("Account is disabled. Please contact support.");
-        }
-
-        String token = jwtTokenProvider.generateToken(authentication);
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        AuthTokenService.AuthTokens tokens = authTokenService.issue(principal.getId(), principal.getUsername());
 
         return new AuthDto.AuthResponse(
-                token,
-                user.getId(),
-                user.getFirstName(),
-                user.getLastName(),
-                user.getEmail());
+                tokens.accessToken(),
+                principal.getId(),
+                principal.getFirstName(),
+                principal.getLastName(),
+                principal.getUsername(),
+                tokens.refreshToken());
     }
 
     /**
@@ -142,7 +136,9 @@ public class UserService {
     }
 
     /**
-     * Reset password using valid token.
+     * Reset password using valid token. Every session of the user ends with
+     * it: their refresh tokens are revoked and the access tokens issued with
+     * them denied.
      */
     @Transactional
     public void resetPassword(String token, String newPassword) {
@@ -157,6 +153,7 @@ public class UserService {
         User user = verificationToken.getUser();
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        authTokenService.revokeAll(user.getId());
 
         // Invalidate the token after use
         tokenRepository.delete(verificationToken);
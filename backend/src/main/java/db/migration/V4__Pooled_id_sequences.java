@@ -0,0 +1,71 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * V4: Move the hot entity tables from identity columns to sequences.
+ *
+ * Hibernate cannot batch inserts into identity columns; with a sequence it
+ * allocates ids in blocks (pooled-lo, allocationSize 50 on the entities) and
+ * batches the inserts. Each sequence starts after the existing ids and
+ * becomes the column default, so plain SQL inserts keep working.
+ *
+ * Written in Java because PostgreSQL (setval) and H2 (RESTART WITH an
+ * expression) have no common syntax for starting a sequence at a queried
+ * value. Also safe on schemas Hibernate already created with the sequences.
+ */
+public class V4__Pooled_id_sequences extends BaseJavaMigration {
+
+    /**
+     * Must match allocationSize of the entity sequence generators.
+     */
+    static final int INCREMENT = 50;
+
+    private static final List<String> TABLES = List.of(
+            "users", "donation_locations", "donations", "donation_posts", "post_likes", "user_badges");
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                String sequence = table + "_seq";
+                long next = maxId(statement, table) + 1;
+
+                if (isIdentity(connection, table)) {
+                    statement.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY");
+                }
+                statement.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence
+                        + " START WITH " + next + " INCREMENT BY " + INCREMENT);
+                statement.execute("ALTER SEQUENCE " + sequence + " INCREMENT BY " + INCREMENT + " RESTART WITH " + next);
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id SET DEFAULT nextval('" + sequence + "')");
+            }
+        }
+    }
+
+    private long maxId(Statement statement, String table) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private boolean isIdentity(Connection connection, String table) throws SQLException {
+        String sql = "SELECT is_identity FROM information_schema.columns "
+                + "WHERE table_schema = CURRENT_SCHEMA AND LOWER(table_name) = ? AND LOWER(column_name) = 'id'";
+        try (PreparedStatement query = connection.prepareStatement(sql)) {
+            query.setString(1, table);
+            try (ResultSet rs = query.executeQuery()) {
+                return rs.next() && "YES".equalsIgnoreCase(rs.getString(1));
+            }
+        }
+    }
+}
@@ -0,0 +1,5 @@
+-- V10: Look up a user's refresh tokens
+-- A password reset revokes every session of the user, so it finds their
+-- refresh tokens (and the access token ids issued with them) by user_id.
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user ON refresh_tokens (user_id);
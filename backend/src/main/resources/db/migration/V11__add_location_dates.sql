@@ -1,2 +0,0 @@
-ALTER TABLE donation_locations ADD COLUMN start_date DATE;
-ALTER TABLE donation_locations ADD COLUMN end_date DATE;
@@ -0,0 +1,189 @@
+-- V1: Baseline schema
+-- Consolidates the former V1-V12 chain, which was never applied anywhere
+-- (Flyway was disabled) and no longer matched the JPA entities: several tables
+-- (daily_metrics, supplement_logs, readiness_snapshots, post_likes,
+-- user_follows, ...) only existed through Hibernate auto-update.
+--
+-- Existing databases created by Hibernate are baselined past this script and
+-- V2 (see spring.flyway.baseline-version) and only receive later migrations.
+-- This script must therefore only hold what those databases already have:
+-- tables added since go in V3+ migrations with IF NOT EXISTS.
+--
+-- Written to run unchanged on PostgreSQL and on H2 (MODE=PostgreSQL).
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    username VARCHAR(255),
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    phone VARCHAR(255),
+    city VARCHAR(255),
+    date_of_birth DATE,
+    gender VARCHAR(255),
+    height DOUBLE PRECISION,
+    weight DOUBLE PRECISION,
+    blood_type VARCHAR(255),
+    terms_accepted BOOLEAN NOT NULL,
+    enabled BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT uk_users_username UNIQUE (username)
+);
+
+CREATE TABLE donation_locations (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    address VARCHAR(255) NOT NULL,
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    contact_info VARCHAR(255),
+    opening_hours VARCHAR(255),
+    start_date DATE,
+    end_date DATE,
+    CONSTRAINT uk_donation_locations_name UNIQUE (name)
+);
+
+CREATE TABLE donations (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    donation_date DATE NOT NULL,
+    donation_type VARCHAR(255) NOT NULL,
+    location_id BIGINT REFERENCES donation_locations(id),
+    notes VARCHAR(255),
+    volume_donated INTEGER,
+    hemoglobin_level DOUBLE PRECISION,
+    systolic_bp INTEGER,
+    diastolic_bp INTEGER,
+    pulse_rate INTEGER,
+    donor_weight DOUBLE PRECISION,
+    status VARCHAR(255),
+    created_at TIMESTAMP(6),
+    CONSTRAINT chk_donations_type CHECK (donation_type IN ('WHOLE_BLOOD', 'PLATELETS', 'PLASMA', 'DOUBLE_RED_CELL')),
+    CONSTRAINT chk_donations_status CHECK (status IN ('COMPLETED', 'PROCESSING', 'DEFERRED'))
+);
+
+CREATE TABLE health_logs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    date DATE NOT NULL,
+    sleep_hours INTEGER,
+    feeling VARCHAR(255),
+    created_at TIMESTAMP(6),
+    CONSTRAINT uk_health_logs_user_date UNIQUE (user_id, date)
+);
+
+CREATE TABLE daily_metrics (
+    id UUID PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    date DATE NOT NULL,
+    sleep_hours NUMERIC(4, 2),
+    sleep_efficiency INTEGER,
+    training_load_acute INTEGER,
+    resting_heart_rate INTEGER,
+    hrv_ms INTEGER,
+    iron_intake_score INTEGER,
+    energy_level INTEGER,
+    hydration_liters NUMERIC(3, 1),
+    menstrual_cycle_day INTEGER,
+    source VARCHAR(255),
+    created_at TIMESTAMP(6),
+    CONSTRAINT uk_daily_metrics_user_date UNIQUE (user_id, date)
+);
+
+CREATE TABLE readiness_snapshots (
+    id UUID PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    date DATE NOT NULL,
+    total_score INTEGER NOT NULL,
+    rbc_component NUMERIC(38, 2),
+    iron_component NUMERIC(38, 2),
+    lifestyle_component NUMERIC(38, 2),
+    created_at TIMESTAMP(6)
+);
+
+CREATE TABLE supplement_logs (
+    id UUID PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    type VARCHAR(255) NOT NULL,
+    logged_at TIMESTAMP(6),
+    CONSTRAINT chk_supplement_logs_type CHECK (type IN ('IRON', 'VITAMIN_C', 'MULTIVITAMIN', 'OTHER'))
+);
+
+CREATE TABLE user_integrations (
+    id UUID PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    provider VARCHAR(255) NOT NULL,
+    access_token VARCHAR(2048),
+    refresh_token VARCHAR(2048),
+    expires_at TIMESTAMP(6),
+    last_sync_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    CONSTRAINT chk_user_integrations_provider CHECK (provider IN ('APPLE', 'GOOGLE', 'GARMIN', 'OURA'))
+);
+
+CREATE TABLE verification_tokens (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token VARCHAR(255) NOT NULL,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    expiry_date TIMESTAMP(6) NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_verification_tokens_token UNIQUE (token),
+    CONSTRAINT chk_verification_tokens_type CHECK (type IN ('PASSWORD_RESET'))
+);
+
+-- Social
+CREATE TABLE user_follows (
+    follower_id BIGINT NOT NULL REFERENCES users(id),
+    following_id BIGINT NOT NULL REFERENCES users(id),
+    created_at TIMESTAMP(6),
+    PRIMARY KEY (follower_id, following_id),
+    -- Defense in depth: the service layer already prevents self-follows
+    CONSTRAINT chk_no_self_follow CHECK (follower_id <> following_id)
+);
+
+CREATE TABLE donation_posts (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    location_id BIGINT NOT NULL REFERENCES donation_locations(id),
+    donation_id BIGINT REFERENCES donations(id),
+    donation_date DATE NOT NULL,
+    review_text TEXT,
+    like_count INTEGER,
+    created_at TIMESTAMP(6)
+);
+
+CREATE TABLE post_likes (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    post_id BIGINT NOT NULL REFERENCES donation_posts(id),
+    liked_at TIMESTAMP(6),
+    CONSTRAINT uk_post_likes_user_post UNIQUE (user_id, post_id)
+);
+
+-- Gamification
+CREATE TABLE badges (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    code VARCHAR(50) NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    description TEXT,
+    icon_url VARCHAR(255),
+    category VARCHAR(50), -- 'DONATION', 'STREAK', 'COMMUNITY', 'HEALTH', 'SPECIAL'
+    display_order INTEGER,
+    created_at TIMESTAMP(6),
+    CONSTRAINT uk_badges_code UNIQUE (code),
+    CONSTRAINT chk_badges_category CHECK (category IN ('DONATION', 'STREAK', 'COMMUNITY', 'HEALTH', 'SPECIAL'))
+);
+
+CREATE TABLE user_badges (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    badge_id BIGINT NOT NULL REFERENCES badges(id) ON DELETE CASCADE,
+    earned_at TIMESTAMP(6),
+    context VARCHAR(255),
+    is_viewed BOOLEAN,
+    CONSTRAINT uk_user_badges_user_badge UNIQUE (user_id, badge_id)
+);
@@ -1,10 +0,0 @@
-CREATE TABLE donation_locations (
-    id BIGSERIAL PRIMARY KEY,
-    name VARCHAR(255) NOT NULL,
-    type VARCHAR(50) NOT NULL,
-    address VARCHAR(255) NOT NULL,
-    latitude DOUBLE PRECISION,
-    longitude DOUBLE PRECISION,
-    contact_info VARCHAR(255),
-    opening_hours VARCHAR(255)
-);
@@ -0,0 +1,4 @@
+-- V2: Formerly the badge catalog seed
+-- Databases baselined at V2 never ran it, so the catalog moved to V9, which
+-- inserts only missing badges. Kept, empty, so baseline-version 2 still means
+-- "the schema Hibernate created" on every database.
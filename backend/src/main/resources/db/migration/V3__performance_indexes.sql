@@ -0,0 +1,50 @@
+-- V3: Indexes for repository hot queries
+-- Applied to fresh databases and to Hibernate-created databases baselined at V2.
+-- Unique constraints already index (user_id, date) on daily_metrics and
+-- health_logs, (user_id, post_id) on post_likes, (user_id, badge_id) on
+-- user_badges and (follower_id, following_id) on user_follows; those cover
+-- findByUserIdAndDateAfterOrderByDateDesc, findLikedPostIdsByUserIdAndPostIds
+-- and follower-side lookups.
+
+-- Readiness: latest snapshot / top-14 trend / history range aggregate.
+-- Includes the score columns so the history query is answered from the index.
+CREATE INDEX IF NOT EXISTS idx_readiness_snapshots_user_date
+    ON readiness_snapshots (user_id, date DESC, total_score, rbc_component, iron_component, lifestyle_component);
+
+-- Supplements: findByUserIdAndLoggedAtAfterOrderByLoggedAtDesc
+CREATE INDEX IF NOT EXISTS idx_supplement_logs_user_logged_at
+    ON supplement_logs (user_id, logged_at DESC);
+
+-- Follows: countByFollowingId and follower lists (index-only count)
+CREATE INDEX IF NOT EXISTS idx_user_follows_following_follower
+    ON user_follows (following_id, follower_id);
+
+-- Likes: countByPostId / findByPostId and the post_id foreign key
+CREATE INDEX IF NOT EXISTS idx_post_likes_post
+    ON post_likes (post_id);
+
+-- Donations: "last donation by user" (ORDER BY donation_date DESC LIMIT 1)
+CREATE INDEX IF NOT EXISTS idx_donations_user_date
+    ON donations (user_id, donation_date DESC);
+
+-- Donations: per-location counts since a date (countDonationsSince)
+CREATE INDEX IF NOT EXISTS idx_donations_date_location
+    ON donations (donation_date, location_id);
+
+-- Feed: newest posts overall and per author
+CREATE INDEX IF NOT EXISTS idx_donation_posts_created_at
+    ON donation_posts (created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_donation_posts_user_created_at
+    ON donation_posts (user_id, created_at DESC);
+
+-- Badges: findTop3ByUserIdOrderByEarnedAtDesc and the badge_id foreign key
+CREATE INDEX IF NOT EXISTS idx_user_badges_user_earned_at
+    ON user_badges (user_id, earned_at DESC);
+CREATE INDEX IF NOT EXISTS idx_user_badges_badge
+    ON user_badges (badge_id);
+
+-- Integrations and tokens: per-user lookups
+CREATE INDEX IF NOT EXISTS idx_user_integrations_user_provider
+    ON user_integrations (user_id, provider);
+CREATE INDEX IF NOT EXISTS idx_verification_tokens_user
+    ON verification_tokens (user_id);
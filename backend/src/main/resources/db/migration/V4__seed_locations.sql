@@ -1,4 +0,0 @@
-INSERT INTO donation_locations (name, type, address, latitude, longitude, contact_info, opening_hours) VALUES
-('City General Hospital', 'HOSPITAL', '123 Main St, Metropolis', 40.7128, -74.0060, '555-0101', 'Mon-Fri 8am-5pm'),
-('Community Center Drive', 'MOBILE_VAN', '456 Park Ave, Metropolis', 40.7138, -74.0070, '555-0102', 'Sat 9am-2pm'),
-('University Blood Bank', 'SCHOOL_DRIVE', '789 College Rd, Metropolis', 40.7148, -74.0080, '555-0103', 'Tue-Thu 10am-4pm');
@@ -1,9 +0,0 @@
-CREATE TABLE health_logs (
-    id BIGSERIAL PRIMARY KEY,
-    user_id BIGINT NOT NULL REFERENCES users(id),
-    date DATE NOT NULL,
-    sleep_hours INTEGER,
-    feeling VARCHAR(50),
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    UNIQUE(user_id, date)
-);
@@ -0,0 +1,11 @@
+-- V5: Denormalized follower/following counters on users
+-- Maintained by CommunityService with atomic increments and repaired by
+-- FollowCounterReconciler. IF NOT EXISTS because Hibernate auto-update adds
+-- the columns to the local H2 database before Flyway runs.
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS follower_count INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS following_count INTEGER DEFAULT 0 NOT NULL;
+
+UPDATE users SET
+    follower_count = (SELECT COUNT(*) FROM user_follows f WHERE f.following_id = users.id),
+    following_count = (SELECT COUNT(*) FROM user_follows f WHERE f.follower_id = users.id);
@@ -0,0 +1,13 @@
+-- V6: Per-user badge progress counters
+-- Maintained incrementally by BadgeAwardService from domain events. A missing
+-- row is rebuilt from history on the user's next event, so no backfill here.
+-- IF NOT EXISTS because Hibernate auto-update creates the table in the local
+-- H2 database before Flyway runs.
+
+CREATE TABLE IF NOT EXISTS user_badge_progress (
+    user_id BIGINT PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+    donation_count INTEGER NOT NULL,
+    streak_days INTEGER NOT NULL,
+    last_metric_date DATE,
+    updated_at TIMESTAMP(6)
+);
@@ -0,0 +1,23 @@
+-- V7: Outbound email outbox
+-- Rows are written in the transaction that triggers the email and sent by
+-- EmailOutboxDispatcher, so no request waits on SMTP. The index serves the
+-- dispatcher's poll for due PENDING rows.
+-- IF NOT EXISTS because Hibernate auto-update creates the table in the local
+-- H2 database before Flyway runs.
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body VARCHAR(4000) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP(6),
+    sent_at TIMESTAMP(6),
+    CONSTRAINT chk_email_outbox_status CHECK (status IN ('PENDING', 'SENT', 'FAILED'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_email_outbox_status_next_attempt
+    ON email_outbox (status, next_attempt_at);
@@ -0,0 +1,34 @@
+-- V8: Rotating refresh tokens and revoked access token ids
+-- refresh_tokens holds a SHA-256 hash of each refresh token; every refresh
+-- revokes the presented token and issues the next one in the same family.
+-- A revoked token presented again revokes its whole family. Each row keeps
+-- the id of the access token issued with it so revoking the family also
+-- denies those access tokens.
+-- revoked_access_tokens persists the in-memory deny list (AccessTokenDenyList)
+-- until the tokens expire.
+-- IF NOT EXISTS because Hibernate auto-update creates the tables in the local
+-- H2 database before Flyway runs.
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    token_hash VARCHAR(64) NOT NULL,
+    family_id VARCHAR(36) NOT NULL,
+    access_token_id VARCHAR(36),
+    access_expires_at TIMESTAMP(6),
+    expires_at TIMESTAMP(6) NOT NULL,
+    created_at TIMESTAMP(6),
+    revoked_at TIMESTAMP(6)
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_refresh_tokens_token_hash ON refresh_tokens (token_hash);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family ON refresh_tokens (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+
+CREATE TABLE IF NOT EXISTS revoked_access_tokens (
+    token_id VARCHAR(36) PRIMARY KEY,
+    expires_at TIMESTAMP(6) NOT NULL,
+    revoked_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_access_tokens_revoked_at ON revoked_access_tokens (revoked_at);
@@ -0,0 +1,39 @@
+-- V9: What V1/V2 added beyond the schema Hibernate created
+-- Databases baselined at V2 never ran V1 or V2, so anything those scripts
+-- held that the pre-Flyway entities did not have lives here instead, written
+-- to be safe on databases that got some of it by other means.
+
+-- Rolling 7/28-day sums per user (DailyMetricAggregateService)
+CREATE TABLE IF NOT EXISTS daily_metric_aggregates (
+    user_id BIGINT PRIMARY KEY,
+    as_of_date DATE NOT NULL,
+    acute_count INTEGER NOT NULL,
+    acute_sleep_sum NUMERIC(10, 2) NOT NULL,
+    acute_sleep_count INTEGER NOT NULL,
+    acute_iron_sum BIGINT NOT NULL,
+    acute_iron_count INTEGER NOT NULL,
+    acute_load_sum BIGINT NOT NULL,
+    chronic_count INTEGER NOT NULL,
+    chronic_sleep_sum NUMERIC(10, 2) NOT NULL,
+    chronic_sleep_count INTEGER NOT NULL,
+    chronic_iron_sum BIGINT NOT NULL,
+    chronic_iron_count INTEGER NOT NULL,
+    chronic_load_sum BIGINT NOT NULL,
+    updated_at TIMESTAMP(6)
+);
+
+-- Badge catalog, reference data required in every environment
+INSERT INTO badges (code, name, description, category, display_order, created_at)
+SELECT v.code, v.name, v.description, v.category, v.display_order, CURRENT_TIMESTAMP
+FROM (VALUES
+    ('FIRST_DONATION', 'First Drop', 'Completed your first blood donation', 'DONATION', 1),
+    ('DONATION_5', 'Regular Donor', 'Completed 5 donations', 'DONATION', 2),
+    ('DONATION_10', 'Dedicated Donor', 'Completed 10 donations', 'DONATION', 3),
+    ('DONATION_25', 'Silver Lifesaver', 'Completed 25 donations', 'DONATION', 4),
+    ('DONATION_50', 'Gold Lifesaver', 'Completed 50 donations', 'DONATION', 5),
+    ('STREAK_7', 'Week Warrior', 'Logged health data for 7 consecutive days', 'STREAK', 1),
+    ('STREAK_30', 'Monthly Master', 'Logged health data for 30 consecutive days', 'STREAK', 2),
+    ('PROFILE_COMPLETE', 'Ready to Give', 'Completed your health profile', 'HEALTH', 1),
+    ('FIRST_FOLLOWER', 'Community Member', 'Gained your first follower', 'COMMUNITY', 1)
+) AS v (code, name, description, category, display_order)
+WHERE NOT EXISTS (SELECT 1 FROM badges b WHERE b.code = v.code);
@@ -0,0 +1,56 @@
+package com.rakta;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Upgrades a database created by Hibernate before Flyway was enabled, as the
+ * production profile does: baseline at V2, migrate, then validate the schema
+ * against the entities (a failure stops the context from starting).
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LegacySchemaMigrationTest {
+
+    private static final String URL = "jdbc:h2:mem:legacy;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+            + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void legacyDatabase(DynamicPropertyRegistry registry) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "password")) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/hibernate-baseline-schema.sql"));
+        }
+        registry.add("spring.datasource.url", () -> URL);
+        registry.add("spring.flyway.baseline-on-migrate", () -> "true");
+        registry.add("spring.flyway.baseline-version", () -> "2");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    @Test
+    void baselinedDatabase_MigratesAndValidates() {
+        List<String> applied = jdbcTemplate.queryForList("SELECT version FROM flyway_schema_history "
+                + "WHERE success AND version IS NOT NULL ORDER BY installed_rank", String.class);
+        assertEquals(List.of("2", "3", "4", "5", "6", "7", "8", "9", "10"), applied);
+
+        // Created by V1 on fresh databases until it moved to V9
+        assertNotNull(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM daily_metric_aggregates", Integer.class));
+        assertEquals(9, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM badges", Integer.class));
+    }
+}
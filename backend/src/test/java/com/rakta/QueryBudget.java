@@ -0,0 +1,37 @@
+package com.rakta;
+
+import com.rakta.config.QueryStats;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fails a test when an action issues more SQL statements than its budget.
+ *
+ * Counts everything Hibernate prepares on the calling thread, so it works
+ * around service calls and MockMvc requests alike:
+ *
+ * <pre>
+ * QueryBudget.assertMaxStatements(4, () -> mockMvc.perform(get("/api/v1/feed")));
+ * </pre>
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static <T> T assertMaxStatements(int budget, ThrowingSupplier<T> action) throws Throwable {
+        QueryStats.start();
+        T result;
+        QueryStats stats;
+        try {
+            result = action.get();
+        } finally {
+            stats = QueryStats.stop();
+        }
+        assertTrue(stats.getStatements() <= budget,
+                () -> "Query budget exceeded: " + stats.getStatements() + " statements (budget " + budget + "), "
+                        + stats + ", slowest: " + stats.getSlowestSql());
+        return result;
+    }
+}
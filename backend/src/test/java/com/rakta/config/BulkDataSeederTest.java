@@ -0,0 +1,109 @@
+package com.rakta.config;
+
+import com.rakta.service.ReadinessCalculatorService;
+import com.rakta.service.ReadinessScoringKernel;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the bulk seeder against migrated in-memory databases and checks that
+ * the generated data is complete, valid and independent of the thread count.
+ */
+class BulkDataSeederTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+
+    @Test
+    void seed_IsDeterministicAcrossThreadCounts() throws SQLException {
+        String singleThreaded = seedAndDigest("seed1", 1);
+        String multiThreaded = seedAndDigest("seed4", 4);
+
+        assertEquals(singleThreaded, multiThreaded);
+    }
+
+    private String seedAndDigest(String database, int threads) throws SQLException {
+        String url = "jdbc:h2:mem:" + database + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        // H2 binds CHECK constraints to the migrating session; keep it open
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            Flyway.configure().dataSource(new SingleConnectionDataSource(connection, true)).load().migrate();
+            JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+            jdbc.update("INSERT INTO donation_locations (name, type, address) VALUES ('A', 'HQ', 'Street 1')");
+            jdbc.update("INSERT INTO donation_locations (name, type, address) VALUES ('B', 'STATION', 'Street 2')");
+            List<Long> locationIds = jdbc.queryForList("SELECT id FROM donation_locations ORDER BY id", Long.class);
+
+            BulkDataSeeder.Result result = seeder(jdbc, threads).seed(locationIds, TODAY);
+
+            assertEquals(250, result.users());
+            assertEquals(250 * 31, result.metrics());
+            assertEquals(250 * 4, result.snapshots());
+            assertEquals(20 + 20 + 10, result.posts()); // 20% of each segment (100, 100 and 50 users)
+            assertEquals(result.users(), count(jdbc, "users"));
+            assertEquals(result.metrics(), count(jdbc, "daily_metrics"));
+            assertEquals(result.likes(), count(jdbc, "post_likes"));
+            assertEquals(result.follows(), count(jdbc, "user_follows"));
+            assertEquals(result.likes(), jdbc.queryForObject("SELECT SUM(like_count) FROM donation_posts", Long.class));
+            assertEquals(0, count(jdbc, "user_follows WHERE follower_id = following_id"));
+            assertEquals(result.follows(), jdbc.queryForObject("SELECT SUM(follower_count) FROM users", Long.class));
+            assertEquals(result.follows(), jdbc.queryForObject("SELECT SUM(following_count) FROM users", Long.class));
+
+            // Identities continue after the seeded ids
+            jdbc.update("INSERT INTO users (first_name, last_name, email, password, terms_accepted, enabled) "
+                    + "VALUES ('F', 'L', 'new@example.com', 'x', TRUE, TRUE)");
+            assertEquals(251L, jdbc.queryForObject("SELECT id FROM users WHERE email = 'new@example.com'", Long.class));
+
+            return digest(jdbc, "SELECT id, email, gender, date_of_birth, height FROM users ORDER BY id")
+                    + digest(jdbc, "SELECT id, user_id, date, sleep_hours, hrv_ms, iron_intake_score "
+                            + "FROM daily_metrics ORDER BY user_id, date")
+                    + digest(jdbc, "SELECT id, user_id, date, total_score, lifestyle_component "
+                            + "FROM readiness_snapshots ORDER BY user_id, date")
+                    + digest(jdbc, "SELECT id, user_id, location_id, donation_date, review_text, like_count, "
+                            + "created_at FROM donation_posts ORDER BY id")
+                    + digest(jdbc, "SELECT user_id, post_id FROM post_likes ORDER BY post_id, user_id")
+                    + digest(jdbc, "SELECT follower_id, following_id FROM user_follows "
+                            + "ORDER BY follower_id, following_id");
+        }
+    }
+
+    private BulkDataSeeder seeder(JdbcTemplate jdbc, int threads) {
+        ReadinessCalculatorService calculator = mock(ReadinessCalculatorService.class);
+        when(calculator.getScoringKernel()).thenReturn(new ReadinessScoringKernel(45, 60, 90, 8.0));
+
+        BulkDataSeeder seeder = new BulkDataSeeder(jdbc, new BCryptPasswordEncoder(4), calculator);
+        ReflectionTestUtils.setField(seeder, "userCount", 250);
+        ReflectionTestUtils.setField(seeder, "daysOfMetrics", 30);
+        ReflectionTestUtils.setField(seeder, "segmentSize", 100);
+        ReflectionTestUtils.setField(seeder, "threads", threads);
+        ReflectionTestUtils.setField(seeder, "batchSize", 64);
+        return seeder;
+    }
+
+    private long count(JdbcTemplate jdbc, String table) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private String digest(JdbcTemplate jdbc, String sql) {
+        List<String> rows = jdbc.query(sql, (rs, rowNum) -> {
+            StringBuilder row = new StringBuilder();
+            for (int c = 1; c <= rs.getMetaData().getColumnCount(); c++) {
+                row.append(rs.getString(c)).append('|');
+            }
+            return row.toString();
+        });
+        return rows.size() + ":" + rows.hashCode() + ";";
+    }
+}
@@ -0,0 +1,25 @@
+package com.rakta.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaManagementGuardTest {
+
+    @Test
+    void check_FlywayWithValidate_Passes() {
+        assertDoesNotThrow(() -> SchemaManagementGuard.check(new MockEnvironment()));
+        assertDoesNotThrow(() -> SchemaManagementGuard.check(new MockEnvironment()
+                .withProperty("spring.flyway.enabled", "true")
+                .withProperty("spring.jpa.hibernate.ddl-auto", "validate")));
+    }
+
+    @Test
+    void check_FlywayDisabledOrDdlUpdate_RefusesToStart() {
+        assertThrows(IllegalStateException.class, () -> SchemaManagementGuard.check(new MockEnvironment()
+                .withProperty("spring.flyway.enabled", "false")));
+        assertThrows(IllegalStateException.class, () -> SchemaManagementGuard.check(new MockEnvironment()
+                .withProperty("spring.jpa.hibernate.ddl-auto", "update")));
+    }
+}
@@ -0,0 +1,61 @@
+package com.rakta.controller;
+
+import com.rakta.QueryBudget;
+import com.rakta.security.JwtTokenProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Anonymous landing-page reads come from the cached JSON without a query;
+ * signed-in readers still get their like status.
+ */
+@SpringBootTest(properties = "feed.anonymous-cache.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AnonymousFeedTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    void anonymousFirstPage_ServedWithoutStatements() throws Throwable {
+        mockMvc.perform(get("/api/v1/feed")).andExpect(status().isOk());
+
+        QueryBudget.assertMaxStatements(0, () -> mockMvc.perform(get("/api/v1/feed"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.content.length()").value(20))
+                .andExpect(jsonPath("$.content[0].likedByCurrentUser").value(nullValue())));
+    }
+
+    @Test
+    void authenticatedPage_NotShared() throws Exception {
+        mockMvc.perform(get("/api/v1/feed")).andExpect(status().isOk());
+        String bearer = "Bearer " + jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken("user1@rakta.app", null));
+
+        mockMvc.perform(get("/api/v1/feed").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].likedByCurrentUser").value(notNullValue()));
+    }
+}
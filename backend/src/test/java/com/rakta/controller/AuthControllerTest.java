@@ -0,0 +1,189 @@
+package com.rakta.controller;
+
+import com.rakta.entity.OutboxEmail;
+import com.rakta.repository.OutboxEmailRepository;
+import com.rakta.repository.UserRepository;
+import com.rakta.repository.VerificationTokenRepository;
+import com.rakta.service.AuthTokenService;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Registration and login issue tokens from the principal, refresh tokens
+ * rotate (tolerating a second tab right after rotation) and logout revokes
+ * the session; password reset requests queue
+ * their email in the outbox instead of talking to SMTP, and a reset ends
+ * every session.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OutboxEmailRepository outboxRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VerificationTokenRepository tokenRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AuthTokenService authTokenService;
+
+    @Test
+    void registerThenLogin_IssueTokensForSameUser() throws Exception {
+        String registered = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"New\",\"lastName\":\"Donor\",\"email\":\"new.donor@rakta.app\","
+                        + "\"password\":\"password123\",\"dateOfBirth\":\"1995-01-01\",\"termsAccepted\":true}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        long userId = JsonPath.parse(registered).read("$.userId", Long.class);
+
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"new.donor@rakta.app\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andExpect(jsonPath("$.userId").value(userId))
+                .andExpect(jsonPath("$.firstName").value("New"))
+                .andExpect(jsonPath("$.email").value("new.donor@rakta.app"));
+    }
+
+    @Test
+    void refresh_RotatesToken_ReuseRevokesSession() throws Exception {
+        DocumentContext session = login("user4@rakta.app");
+        String first = session.read("$.refreshToken");
+        // Past the grace period for another tab
+        ReflectionTestUtils.setField(authTokenService, "refreshReuseGraceSeconds", 0L);
+        try {
+            DocumentContext rotated = refresh(first).andExpect(status().isOk())
+                    .andExpect(jsonPath("$.email").value("user4@rakta.app"))
+                    .andReturn().getResponse().getContentAsString().transform(JsonPath::parse);
+            String second = rotated.read("$.refreshToken");
+            String accessToken = rotated.read("$.token");
+            mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + accessToken))
+                    .andExpect(status().isOk());
+
+            // The first token was used; presenting it again ends the session
+            refresh(first).andExpect(status().isUnauthorized());
+            refresh(second).andExpect(status().isUnauthorized());
+            mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + accessToken))
+                    .andExpect(status().isUnauthorized());
+        } finally {
+            ReflectionTestUtils.setField(authTokenService, "refreshReuseGraceSeconds", 30L);
+        }
+    }
+
+    @Test
+    void refresh_ReusedRightAfterRotation_KeepsSession() throws Exception {
+        DocumentContext session = login("user7@rakta.app");
+        String first = session.read("$.refreshToken");
+        String second = refresh(first).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().transform(JsonPath::parse).read("$.refreshToken");
+
+        // Another tab refreshed with the same token a moment later
+        String sibling = refresh(first).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().transform(JsonPath::parse).read("$.refreshToken");
+
+        refresh(second).andExpect(status().isOk());
+        refresh(sibling).andExpect(status().isOk());
+    }
+
+    @Test
+    void logout_RevokesAccessAndRefreshToken() throws Exception {
+        DocumentContext session = login("user5@rakta.app");
+        String accessToken = session.read("$.token");
+        String refreshToken = session.read("$.refreshToken");
+
+        mockMvc.perform(post("/api/auth/logout")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isUnauthorized());
+        refresh(refreshToken).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void forgotPassword_QueuesResetEmail() throws Exception {
+        mockMvc.perform(post("/api/auth/forgot-password")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"user2@rakta.app\"}"))
+                .andExpect(status().isOk());
+
+        // The dispatcher's claim query sees it as due
+        List<OutboxEmail> due = transactionTemplate.execute(status -> outboxRepository.findDueForUpdate(
+                LocalDateTime.now().plusSeconds(1), PageRequest.of(0, 50)));
+        assertTrue(due.stream().anyMatch(email -> email.getRecipient().equals("user2@rakta.app")
+                && email.getBody().contains("/reset-password?token=")));
+    }
+
+    @Test
+    void resetPassword_RevokesEverySession() throws Exception {
+        DocumentContext phone = login("user6@rakta.app");
+        DocumentContext laptop = login("user6@rakta.app");
+        mockMvc.perform(post("/api/auth/forgot-password")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"user6@rakta.app\"}"))
+                .andExpect(status().isOk());
+        String resetToken = transactionTemplate.execute(status -> tokenRepository.findByUser(
+                userRepository.findByEmail("user6@rakta.app").orElseThrow()).orElseThrow().getToken());
+
+        mockMvc.perform(post("/api/auth/reset-password")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"token\":\"" + resetToken + "\",\"newPassword\":\"password123\"}"))
+                .andExpect(status().isOk());
+
+        for (DocumentContext session : List.of(phone, laptop)) {
+            refresh(session.read("$.refreshToken")).andExpect(status().isUnauthorized());
+            mockMvc.perform(get("/api/users/me").header("Authorization", "Bearer " + session.read("$.token")))
+                    .andExpect(status().isUnauthorized());
+        }
+        login("user6@rakta.app");
+    }
+
+    private DocumentContext login(String email) throws Exception {
+        return JsonPath.parse(mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + email + "\",\"password\":\"password123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + refreshToken + "\"}"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.rakta.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Polling clients get 304 for unchanged JSON through the weak ETag, and for
+ * the feed also through Last-Modified.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void feed_SendsValidators_AndAnswers304() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/v1/feed?size=5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+        assertNotNull(lastModified);
+
+        mockMvc.perform(get("/api/v1/feed?size=5").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/api/v1/feed?size=5").header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // If-None-Match takes precedence over an If-Modified-Since that would match
+        mockMvc.perform(get("/api/v1/feed?size=5")
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"stale\"")
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void json_UnchangedBody_SameEtagAnd304() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/locations"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals(first.getResponse().getContentAsByteArray().length, first.getResponse().getContentLength());
+
+        mockMvc.perform(get("/api/locations").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void errorResponse_NoEtag() throws Exception {
+        mockMvc.perform(get("/api/v1/feed/999999999"))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+}
@@ -0,0 +1,107 @@
+package com.rakta.controller;
+
+import com.rakta.QueryBudget;
+import com.rakta.config.QueryStatsFilter;
+import com.rakta.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query budgets of the hot read endpoints against the seeded database.
+ * Counts include the user lookup of JWT authentication. Lower a budget when
+ * an endpoint gets cheaper; raising one needs a reason.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class EndpointQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private String bearer;
+    private JsonNode firstPost;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        bearer = "Bearer " + jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken("user1@rakta.app", null));
+        MvcResult feed = mockMvc.perform(get("/api/v1/feed?size=1")).andReturn();
+        firstPost = objectMapper.readTree(feed.getResponse().getContentAsString()).get("content").get(0);
+    }
+
+    @Test
+    void feedPage() throws Throwable {
+        // Includes the newest-post lookup for Last-Modified, which lets polls end in 304 early
+        assertBudget(29, "/api/v1/feed?page=0&size=20");
+    }
+
+    @Test
+    void feedDetail() throws Throwable {
+        assertBudget(5, "/api/v1/feed/" + firstPost.get("id").asLong());
+    }
+
+    @Test
+    void publicProfile() throws Throwable {
+        assertBudget(4, "/api/users/" + firstPost.get("userId").asLong() + "/profile");
+    }
+
+    @Test
+    void followLists() throws Throwable {
+        long userId = firstPost.get("userId").asLong();
+        assertBudget(2, "/api/v1/community/users/" + userId + "/followers?size=50");
+        assertBudget(2, "/api/v1/community/users/" + userId + "/following?size=50");
+    }
+
+    @Test
+    void dashboard() throws Throwable {
+        assertBudget(7, "/api/dashboard/stats");
+    }
+
+    @Test
+    void readiness() throws Throwable {
+        assertBudget(3, "/api/v1/readiness/current");
+        assertBudget(3, "/api/v1/readiness/history?resolution=week");
+    }
+
+    @Test
+    void export() throws Throwable {
+        assertBudget(3, "/api/donations/export");
+    }
+
+    @Test
+    void responseCarriesQueryStatsHeader() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/dashboard/stats").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String header = result.getResponse().getHeader(QueryStatsFilter.HEADER);
+        assertNotNull(header);
+        assertTrue(header.startsWith("statements="), header);
+    }
+
+    private void assertBudget(int budget, String url) throws Throwable {
+        QueryBudget.assertMaxStatements(budget, () -> mockMvc
+                .perform(get(url).header("Authorization", bearer))
+                .andExpect(status().isOk()));
+    }
+}
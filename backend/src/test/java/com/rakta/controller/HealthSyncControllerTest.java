@@ -6,13 +6,17 @@ import com.rakta.entity.DailyMetric;
 import com.rakta.entity.User;
 import com.rakta.repository.DailyMetricRepository;
 import com.rakta.repository.UserRepository;
+import com.rakta.service.DailyMetricAggregateService;
 import com.rakta.service.HealthIntegrationService;
 import com.rakta.service.ReadinessCalculatorService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.ResponseEntity;
@@ -48,6 +52,12 @@ class HealthSyncControllerTest {
     @Mock
     private ReadinessCalculatorService readinessCalculatorService;
 
+    @Mock
+    private DailyMetricAggregateService dailyMetricAggregateService;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @Mock
     private UserDetails userDetails;
 
@@ -0,0 +1,54 @@
+package com.rakta.controller;
+
+import com.rakta.security.JwtTokenProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The Prometheus scrape exposes the domain timers, cache statistics and
+ * connection pool metrics without authentication.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    void prometheusScrape_ContainsDomainAndPoolMetrics() throws Exception {
+        String bearer = "Bearer " + jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken("user1@rakta.app", null));
+        mockMvc.perform(get("/api/dashboard/stats").header("Authorization", bearer)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/feed")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        for (String meter : new String[] {
+                "rakta_dashboard_stats_seconds_count",
+                "rakta_feed_read_seconds_count",
+                "db_request_statements_count",
+                "cache_evictions_total{cache=\"idempotency\"",
+                "cache_gets_total{cache=\"daily-metric-series\"",
+                "rakta_series_cache_bytes",
+                "rakta_follow_graph_edges",
+                "hikaricp_connections_active" }) {
+            assertTrue(scrape.contains(meter), "missing " + meter);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.rakta.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Login bursts from one address are cut off with 429 and Retry-After.
+ */
+@SpringBootTest(properties = {
+        "rate-limit.enabled=true",
+        "rate-limit.login.capacity=2",
+        "rate-limit.login.refill-per-minute=1" })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void login_BurstOverCapacity_Returns429() throws Exception {
+        login().andExpect(status().isOk());
+        login().andExpect(status().isOk());
+
+        login().andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", matchesPattern("[1-5]?[0-9]|60")))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.path").value("/api/auth/login"));
+    }
+
+    private ResultActions login() throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"user3@rakta.app\",\"password\":\"password123\"}"));
+    }
+}
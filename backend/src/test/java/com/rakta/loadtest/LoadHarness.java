@@ -0,0 +1,245 @@
+package com.rakta.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Closed-loop HTTP load generator.
+ *
+ * Worker threads pick scenarios by weight from seeded random streams and send
+ * requests back to back. Latencies are recorded per scenario in HdrHistograms
+ * (microseconds, 3 significant digits). Statement counts come from a serial
+ * probe of each scenario beforehand, because concurrent requests cannot be
+ * told apart in the global Hibernate statistics.
+ */
+public class LoadHarness {
+
+    private static final long MAX_LATENCY_MICROS = Duration.ofMinutes(1).toNanos() / 1000;
+
+    /**
+     * One kind of request in the traffic mix.
+     *
+     * @param weight  Relative share of requests
+     * @param request Builds a request from the worker's random stream
+     */
+    public record Scenario(String name, int weight, Function<Random, HttpRequest> request) {
+    }
+
+    /**
+     * @param threads        Concurrent workers
+     * @param warmupRequests Requests sent before measuring (not recorded)
+     * @param requests       Measured requests across all workers
+     * @param probeRequests  Serial requests per scenario for statement counts
+     * @param seed           Seed of the request streams
+     */
+    public record Settings(int threads, int warmupRequests, int requests, int probeRequests, long seed) {
+    }
+
+    public record Result(String scenario, Histogram latencies, long errors, double statementsPerRequest) {
+    }
+
+    public record Report(List<Result> results, Histogram total, long errors, Duration elapsed) {
+
+        public double throughput() {
+            return total.getTotalCount() / Math.max(1e-9, elapsed.toNanos() / 1e9);
+        }
+
+        public double errorRate() {
+            return total.getTotalCount() == 0 ? 0 : (double) errors / total.getTotalCount();
+        }
+
+        public String format() {
+            StringBuilder out = new StringBuilder();
+            out.append(String.format(Locale.ROOT, "%-20s %8s %7s %9s %9s %9s %9s %10s%n",
+                    "scenario", "count", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "stmts/req"));
+            for (Result result : results) {
+                out.append(line(result.scenario(), result.latencies(), result.errors(),
+                        String.format(Locale.ROOT, "%10.1f", result.statementsPerRequest())));
+            }
+            out.append(line("total", total, errors, ""));
+            out.append(String.format(Locale.ROOT, "throughput: %.1f req/s over %.1f s%n",
+                    throughput(), elapsed.toMillis() / 1000.0));
+            return out.toString();
+        }
+
+        private static String line(String name, Histogram histogram, long errors, String statements) {
+            return String.format(Locale.ROOT, "%-20s %8d %7d %9.2f %9.2f %9.2f %9.2f %s%n",
+                    name, histogram.getTotalCount(), errors,
+                    millis(histogram, 50.0), millis(histogram, 99.0), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1000.0, statements);
+        }
+
+        private static double millis(Histogram histogram, double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+
+    private final HttpClient client;
+    private final List<Scenario> scenarios;
+    private final LongSupplier statementCounter;
+    private final int[] cumulativeWeights;
+
+    /**
+     * @param statementCounter Running total of executed JDBC statements
+     */
+    public LoadHarness(HttpClient client, List<Scenario> scenarios, LongSupplier statementCounter) {
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("At least one scenario is required");
+        }
+        this.client = client;
+        this.scenarios = List.copyOf(scenarios);
+        this.statementCounter = statementCounter;
+        this.cumulativeWeights = new int[scenarios.size()];
+        int sum = 0;
+        for (int i = 0; i < scenarios.size(); i++) {
+            sum += scenarios.get(i).weight();
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    public Report run(Settings settings) throws InterruptedException {
+        double[] statements = probeStatements(settings);
+        runConcurrently(settings, settings.warmupRequests(), settings.seed() ^ 0x5DEECE66DL);
+
+        long start = System.nanoTime();
+        List<Worker> workers = runConcurrently(settings, settings.requests(), settings.seed());
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        List<Result> results = new ArrayList<>(scenarios.size());
+        Histogram total = newHistogram();
+        long errors = 0;
+        for (int s = 0; s < scenarios.size(); s++) {
+            Histogram merged = newHistogram();
+            long scenarioErrors = 0;
+            for (Worker worker : workers) {
+                merged.add(worker.latencies[s]);
+                scenarioErrors += worker.errors[s];
+            }
+            total.add(merged);
+            errors += scenarioErrors;
+            results.add(new Result(scenarios.get(s).name(), merged, scenarioErrors, statements[s]));
+        }
+        return new Report(results, total, errors, elapsed);
+    }
+
+    /**
+     * Average statements per request of each scenario, measured one request
+     * at a time.
+     */
+    private double[] probeStatements(Settings settings) {
+        double[] statements = new double[scenarios.size()];
+        if (settings.probeRequests() <= 0) {
+            return statements;
+        }
+        Random random = new Random(settings.seed());
+        for (int s = 0; s < scenarios.size(); s++) {
+            long before = statementCounter.getAsLong();
+            for (int i = 0; i < settings.probeRequests(); i++) {
+                send(scenarios.get(s).request().apply(random));
+            }
+            statements[s] = (double) (statementCounter.getAsLong() - before) / settings.probeRequests();
+        }
+        return statements;
+    }
+
+    private List<Worker> runConcurrently(Settings settings, int requests, long seed) throws InterruptedException {
+        int threads = Math.max(1, settings.threads());
+        List<Worker> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            // Spread the remainder so exactly `requests` are sent
+            int share = requests / threads + (t < requests % threads ? 1 : 0);
+            workers.add(new Worker(new Random(seed * 31 + t), share));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (Worker worker : workers) {
+                futures.add(executor.submit(worker));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return workers;
+    }
+
+    private int pick(Random random) {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    /**
+     * @return true if the request succeeded (status below 400)
+     */
+    private boolean send(HttpRequest request) {
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() < 400;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(MAX_LATENCY_MICROS, 3);
+    }
+
+    private final class Worker implements Runnable {
+
+        private final Random random;
+        private final int requests;
+        private final Histogram[] latencies = new Histogram[scenarios.size()];
+        private final long[] errors = new long[scenarios.size()];
+
+        Worker(Random random, int requests) {
+            this.random = random;
+            this.requests = requests;
+            for (int s = 0; s < latencies.length; s++) {
+                latencies[s] = newHistogram();
+            }
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < requests && !Thread.currentThread().isInterrupted(); i++) {
+                int s = pick(random);
+                HttpRequest request = scenarios.get(s).request().apply(random);
+                long start = System.nanoTime();
+                boolean ok = send(request);
+                long micros = (System.nanoTime() - start) / 1000;
+                latencies[s].recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+                if (!ok) {
+                    errors[s]++;
+                }
+            }
+        }
+    }
+}
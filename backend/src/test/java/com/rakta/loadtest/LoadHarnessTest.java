@@ -0,0 +1,120 @@
+package com.rakta.loadtest;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the traffic mix against the embedded backend (H2, bulk-seeded data)
+ * and reports latency percentiles, throughput and statements per request for
+ * each endpoint. The report is logged and written to target/load-report.txt.
+ *
+ * Excluded from the default build; run with {@code mvn test -Pload-test}.
+ * Tune with -Dload.threads, -Dload.requests, -Dload.warmup, -Dload.probe,
+ * -Dload.users and -Dload.seed.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN",
+        "logging.level.com.rakta=WARN" })
+@ActiveProfiles("test")
+class LoadHarnessTest {
+
+    private static final Path REPORT = Path.of("target", "load-report.txt");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void trafficMix() throws Exception {
+        String baseUrl = "http://localhost:" + port;
+        int users = Integer.getInteger("load.users", 20);
+
+        List<String> tokens = new ArrayList<>(users);
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (int i = 1; i <= users; i++) {
+            JsonNode auth = login(baseUrl, "user" + i + "@rakta.app");
+            tokens.add(auth.get("token").asString());
+            userIds.add(auth.get("userId").asLong());
+        }
+        List<Long> postIds = new ArrayList<>();
+        for (JsonNode post : getJson(baseUrl + "/api/v1/feed?size=100").get("content")) {
+            postIds.add(post.get("id").asLong());
+            userIds.add(post.get("userId").asLong());
+        }
+        assertFalse(postIds.isEmpty(), "seeded feed is empty");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        LoadHarness harness = new LoadHarness(client,
+                new TrafficMix(baseUrl, tokens, postIds, List.copyOf(userIds)).scenarios(),
+                statistics::getPrepareStatementCount);
+        LoadHarness.Settings settings = new LoadHarness.Settings(
+                Integer.getInteger("load.threads", 8),
+                Integer.getInteger("load.warmup", 500),
+                Integer.getInteger("load.requests", 4000),
+                Integer.getInteger("load.probe", 20),
+                Long.getLong("load.seed", 42L));
+
+        LoadHarness.Report report = harness.run(settings);
+
+        String text = report.format();
+        log.warn("Load test ({} threads, {} requests):\n{}", settings.threads(), settings.requests(), text);
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, text);
+
+        assertEquals(settings.requests(), report.total().getTotalCount());
+        assertTrue(report.errorRate() < 0.01, "error rate " + report.errorRate() + "\n" + text);
+    }
+
+    private JsonNode login(String baseUrl, String email) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                        Map.of("email", email, "password", "password123"))))
+                .build();
+        return send(request);
+    }
+
+    private JsonNode getJson(String url) throws Exception {
+        return send(HttpRequest.newBuilder(URI.create(url)).GET().build());
+    }
+
+    private JsonNode send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), request.uri() + ": " + response.body());
+        return objectMapper.readTree(response.body());
+    }
+}
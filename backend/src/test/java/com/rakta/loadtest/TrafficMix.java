@@ -0,0 +1,108 @@
+package com.rakta.loadtest;
+
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Weighted request mix modelled on app usage: mostly feed and dashboard
+ * reads, with likes, device webhooks, readiness and exports on top.
+ */
+public class TrafficMix {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Webhook dates are spread over this many days to keep concurrent upserts
+     * of the same user and day rare.
+     */
+    private static final int WEBHOOK_DAYS = 365;
+
+    private static final String PAYLOAD_DATE = "2025-12-13";
+
+    private final String baseUrl;
+    private final List<String> tokens;
+    private final List<Long> postIds;
+    private final List<Long> userIds;
+    private final String garminPayload;
+    private final String applePayload;
+
+    /**
+     * @param tokens  Bearer tokens of the logged-in load users
+     * @param postIds Feed posts to read and like
+     * @param userIds Users whose public profiles are read
+     */
+    public TrafficMix(String baseUrl, List<String> tokens, List<Long> postIds, List<Long> userIds) {
+        this.baseUrl = baseUrl;
+        this.tokens = List.copyOf(tokens);
+        this.postIds = List.copyOf(postIds);
+        this.userIds = List.copyOf(userIds);
+        this.garminPayload = payload("payloads/garmin_mock.json");
+        this.applePayload = payload("payloads/apple_mock.json");
+    }
+
+    public List<LoadHarness.Scenario> scenarios() {
+        return List.of(
+                new LoadHarness.Scenario("feed page", 30,
+                        r -> get(r, "/api/v1/feed?page=" + r.nextInt(5) + "&size=20")),
+                new LoadHarness.Scenario("feed detail", 10,
+                        r -> get(r, "/api/v1/feed/" + pick(r, postIds))),
+                new LoadHarness.Scenario("like", 5,
+                        r -> authorized(r, "/api/v1/feed/" + pick(r, postIds) + "/like")
+                                .POST(HttpRequest.BodyPublishers.noBody()).build()),
+                new LoadHarness.Scenario("unlike", 5,
+                        r -> authorized(r, "/api/v1/feed/" + pick(r, postIds) + "/like").DELETE().build()),
+                new LoadHarness.Scenario("dashboard", 15,
+                        r -> get(r, "/api/dashboard/stats")),
+                new LoadHarness.Scenario("readiness current", 10,
+                        r -> get(r, "/api/v1/readiness/current")),
+                new LoadHarness.Scenario("readiness history", 5,
+                        r -> get(r, "/api/v1/readiness/history?resolution=week")),
+                new LoadHarness.Scenario("garmin webhook", 5,
+                        r -> webhook(r, "/api/webhooks/garmin", garminPayload)),
+                new LoadHarness.Scenario("apple webhook", 5,
+                        r -> webhook(r, "/api/webhooks/apple", applePayload)),
+                new LoadHarness.Scenario("export", 5,
+                        r -> get(r, "/api/donations/export")),
+                new LoadHarness.Scenario("public profile", 5,
+                        r -> get(r, "/api/users/" + pick(r, userIds) + "/profile")));
+    }
+
+    private HttpRequest get(Random random, String path) {
+        return authorized(random, path).GET().build();
+    }
+
+    private HttpRequest webhook(Random random, String path, String payload) {
+        String date = LocalDate.now().minusDays(random.nextInt(WEBHOOK_DAYS)).toString();
+        return authorized(random, path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(payload.replace(PAYLOAD_DATE, date)))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(Random random, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + pick(random, tokens));
+    }
+
+    private static <T> T pick(Random random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String payload(String resource) {
+        try {
+            return new ClassPathResource(resource).getContentAsString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
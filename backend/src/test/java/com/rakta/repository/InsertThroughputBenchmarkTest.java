@@ -0,0 +1,112 @@
+package com.rakta.repository;
+
+import com.rakta.entity.DonationLocation;
+import com.rakta.entity.DonationPost;
+import com.rakta.entity.PostLike;
+import com.rakta.entity.User;
+import com.rakta.entity.UserFollow;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Insert throughput of seeding likes and follows through the repositories,
+ * with JDBC batching enabled as in production. Reports rows per second and
+ * the number of JDBC statements prepared per phase.
+ *
+ * With identity ids (and merge for follows) both phases took one statement
+ * per row, about 1,500 rows/s on in-memory H2; with pooled sequence ids
+ * they are batched.
+ */
+@Slf4j
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN" })
+@ActiveProfiles("test")
+class InsertThroughputBenchmarkTest {
+
+    private static final int USERS = 200;
+    private static final int POSTS = 40;
+    private static final int LIKES_PER_POST = 100;
+    private static final int FOLLOWS_PER_USER = 20;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private DonationLocationRepository locationRepository;
+    @Autowired
+    private DonationPostRepository donationPostRepository;
+    @Autowired
+    private PostLikeRepository postLikeRepository;
+    @Autowired
+    private UserFollowRepository userFollowRepository;
+
+    @Test
+    void seedLikesAndFollows() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        List<User> users = userRepository.saveAll(IntStream.range(0, USERS)
+                .mapToObj(i -> User.builder().firstName("Bench").lastName("User" + i)
+                        .email("bench" + i + "@rakta.app").password("x").termsAccepted(true).build())
+                .toList());
+        DonationLocation location = locationRepository.save(DonationLocation.builder()
+                .name("Bench Centre").type("HQ").address("Bangkok").build());
+        List<DonationPost> posts = donationPostRepository.saveAll(IntStream.range(0, POSTS)
+                .mapToObj(i -> DonationPost.builder().user(users.get(i)).location(location)
+                        .donationDate(LocalDate.of(2025, 1, 1)).build())
+                .toList());
+        entityManager.flush();
+
+        List<PostLike> likes = new ArrayList<>();
+        for (int p = 0; p < POSTS; p++) {
+            for (int u = 0; u < LIKES_PER_POST; u++) {
+                likes.add(PostLike.builder().user(users.get((p + 1 + u) % USERS)).post(posts.get(p)).build());
+            }
+        }
+        long likeStatements = measure(statistics, "post likes", likes.size(), () -> postLikeRepository.saveAll(likes));
+
+        List<UserFollow> follows = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            for (int f = 1; f <= FOLLOWS_PER_USER; f++) {
+                follows.add(UserFollow.builder().follower(users.get(u)).following(users.get((u + f) % USERS))
+                        .build());
+            }
+        }
+        long followStatements = measure(statistics, "follows", follows.size(),
+                () -> userFollowRepository.saveAll(follows));
+
+        // One statement per row (identity ids, merge of assigned ids) means
+        // batching is off again
+        assertTrue(likeStatements <= likes.size() / 25, "post like statements: " + likeStatements);
+        assertTrue(followStatements <= follows.size() / 25, "follow statements: " + followStatements);
+    }
+
+    private long measure(Statistics statistics, String label, int rows, Runnable insert) {
+        statistics.clear();
+        long start = System.nanoTime();
+        insert.run();
+        entityManager.flush();
+        long elapsedNanos = System.nanoTime() - start;
+        long statements = statistics.getPrepareStatementCount();
+
+        log.info("Inserted {} {} in {} ms ({} rows/s) with {} JDBC statements",
+                rows, label, elapsedNanos / 1_000_000, Math.round(rows / (elapsedNanos / 1e9)), statements);
+        return statements;
+    }
+}
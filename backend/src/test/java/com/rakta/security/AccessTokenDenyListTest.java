@@ -0,0 +1,122 @@
+package com.rakta.security;
+
+import com.rakta.entity.RevokedAccessToken;
+import com.rakta.repository.RevokedAccessTokenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccessTokenDenyListTest {
+
+    private static final long MINUTE = 60_000;
+    private static final long LIFETIME = 15 * MINUTE;
+
+    @Mock
+    private RevokedAccessTokenRepository revokedRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AccessTokenDenyList denyList;
+
+    @BeforeEach
+    void setUp() {
+        denyList = new AccessTokenDenyList(revokedRepository, transactionManager, meterRegistry, LIFETIME);
+    }
+
+    @Test
+    void deny_DeniesOnlyThatTokenAndPersistsIt() {
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(10).withNano(0);
+
+        denyList.deny("token-1", expiresAt);
+
+        assertTrue(denyList.isDenied("token-1", millis(expiresAt)));
+        assertFalse(denyList.isDenied("token-2", millis(expiresAt)));
+        assertFalse(denyList.isDenied(null, millis(expiresAt)));
+        ArgumentCaptor<RevokedAccessToken> saved = ArgumentCaptor.forClass(RevokedAccessToken.class);
+        verify(revokedRepository).save(saved.capture());
+        assertEquals("token-1", saved.getValue().getTokenId());
+        assertEquals(expiresAt, saved.getValue().getExpiresAt());
+        assertEquals(1.0, meterRegistry.get("rakta.auth.deny-list.size").gauge().value());
+    }
+
+    @Test
+    void deny_InTransaction_DeniedOnlyAfterCommit() {
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(10).withNano(0);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            denyList.deny("committed", expiresAt);
+            denyList.deny("rolled-back", expiresAt);
+            assertFalse(denyList.isDenied("committed", millis(expiresAt)));
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.get(0).afterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(denyList.isDenied("committed", millis(expiresAt)));
+        assertFalse(denyList.isDenied("rolled-back", millis(expiresAt)));
+    }
+
+    @Test
+    void add_SlotReusedAfterItsMinute_DropsExpiredIds() {
+        long base = System.currentTimeMillis() / MINUTE * MINUTE;
+        int slots = 17; // 15 minutes + 2
+        denyList.add("old", base);
+
+        denyList.add("new", base + slots * MINUTE);
+
+        assertFalse(denyList.isDenied("old", base));
+        assertTrue(denyList.isDenied("new", base + slots * MINUTE));
+        // A token expired before the slot's current minute is not re-added
+        denyList.add("older", base);
+        assertFalse(denyList.isDenied("older", base));
+    }
+
+    @Test
+    void add_TokensExpiringInSameMinute_ShareBucket() {
+        long base = System.currentTimeMillis() / MINUTE * MINUTE + 5 * MINUTE;
+
+        denyList.add("a", base + 1_000);
+        denyList.add("b", base + 59_000);
+
+        assertTrue(denyList.isDenied("a", base + 1_000));
+        assertTrue(denyList.isDenied("b", base + 59_000));
+        assertFalse(denyList.isDenied("a", base + MINUTE + 1_000));
+    }
+
+    @Test
+    void sync_LoadsRevocationsFromOtherInstances() {
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(5).withNano(0);
+        when(revokedRepository.findRevokedSince(any(), any())).thenReturn(List.of(RevokedAccessToken.builder()
+                .tokenId("elsewhere").expiresAt(expiresAt).revokedAt(LocalDateTime.now()).build()));
+
+        denyList.sync();
+
+        assertTrue(denyList.isDenied("elsewhere", millis(expiresAt)));
+        verify(revokedRepository).deleteExpired(any());
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
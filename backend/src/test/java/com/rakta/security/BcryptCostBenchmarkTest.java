@@ -0,0 +1,70 @@
+package com.rakta.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the median time of one BCrypt hash per cost factor and picks the
+ * highest cost whose hash stays within the target latency on this machine.
+ * Run it on the deployment hardware and set BCRYPT_STRENGTH to the result;
+ * existing hashes are upgraded as users log in.
+ *
+ * Excluded from the default build; run with {@code mvn test -Pload-test}.
+ * Tune with -Dbcrypt.target-ms, -Dbcrypt.min-cost, -Dbcrypt.max-cost and
+ * -Dbcrypt.samples. The result is written to target/bcrypt-cost.txt.
+ */
+@Slf4j
+@Tag("load")
+class BcryptCostBenchmarkTest {
+
+    private static final Path REPORT = Path.of("target", "bcrypt-cost.txt");
+
+    @Test
+    void pickCost() throws IOException {
+        long targetMs = Long.getLong("bcrypt.target-ms", 100);
+        int minCost = Integer.getInteger("bcrypt.min-cost", 8);
+        int maxCost = Integer.getInteger("bcrypt.max-cost", 14);
+        int samples = Integer.getInteger("bcrypt.samples", 7);
+
+        StringBuilder report = new StringBuilder("cost  median ms\n");
+        int chosen = minCost;
+        for (int cost = minCost; cost <= maxCost; cost++) {
+            double medianMs = medianHashMs(new BCryptPasswordEncoder(cost), samples);
+            report.append(String.format("%4d  %9.1f%n", cost, medianMs));
+            if (medianMs <= targetMs) {
+                chosen = cost;
+            } else {
+                // Each step doubles the work; higher costs only get slower
+                break;
+            }
+        }
+        report.append(String.format("target %d ms -> security.password-hashing.bcrypt-strength=%d%n",
+                targetMs, chosen));
+
+        log.info("BCrypt cost benchmark\n{}", report);
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, report);
+        assertTrue(chosen >= minCost);
+    }
+
+    private static double medianHashMs(BCryptPasswordEncoder encoder, int samples) {
+        encoder.encode("warm-up password");
+        long[] nanos = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            long start = System.nanoTime();
+            encoder.encode("benchmark password " + i);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[samples / 2] / 1_000_000.0;
+    }
+}
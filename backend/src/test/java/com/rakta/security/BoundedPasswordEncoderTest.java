@@ -0,0 +1,133 @@
+package com.rakta.security;
+
+import com.rakta.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void encodeAndMatches_DelegateToBcrypt() {
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 4, 2, 4,
+                meterRegistry)) {
+            String hash = encoder.encode("password123");
+
+            assertTrue(hash.startsWith("$2a$04$"));
+            assertTrue(encoder.matches("password123", hash));
+            assertFalse(encoder.matches("wrong", hash));
+            assertEquals(1, meterRegistry.timer("rakta.password.hashing", "operation", "encode").count());
+            assertEquals(2, meterRegistry.timer("rakta.password.hashing", "operation", "matches").count());
+        }
+    }
+
+    @Test
+    void matches_QueueFull_RejectedWith429() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 4, 1, 1, meterRegistry)) {
+            CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "x"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "x"));
+            waitForQueue(1);
+
+            TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                    () -> encoder.matches("c", "x"));
+            assertEquals(1, e.getRetryAfterSeconds());
+            assertEquals(1.0, meterRegistry.counter("rakta.password.hashing.rejected").count());
+
+            release.countDown();
+            assertTrue(running.get(5, TimeUnit.SECONDS));
+            assertTrue(queued.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void authenticate_LowerCostHash_RehashedWithConfiguredCost() {
+        assertRehashedAtCost5(new BCryptPasswordEncoder(4).encode("password123"));
+    }
+
+    @Test
+    void authenticate_HigherCostHash_RehashedWithConfiguredCost() {
+        // The cost was lowered after benchmarking: hashes made at 6 come down to 5
+        assertRehashedAtCost5(new BCryptPasswordEncoder(6).encode("password123"));
+    }
+
+    @Test
+    void upgradeEncoding_ComparesStoredCostBothWays() {
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(10), 10, 1, 1,
+                meterRegistry)) {
+            String salt = "LhayLxezLhK1LhWvKxCyLO";
+            assertFalse(encoder.upgradeEncoding("$2a$10$" + salt + "j0jQIAsyQX0cS1eMW9eQAuQ6m4I1n5q"));
+            assertTrue(encoder.upgradeEncoding("$2a$08$" + salt + "j0jQIAsyQX0cS1eMW9eQAuQ6m4I1n5q"));
+            assertTrue(encoder.upgradeEncoding("$2b$12$" + salt + "j0jQIAsyQX0cS1eMW9eQAuQ6m4I1n5q"));
+            assertFalse(encoder.upgradeEncoding(null));
+        }
+    }
+
+    private void assertRehashedAtCost5(String stored) {
+        AtomicReference<String> updated = new AtomicReference<>();
+        UserDetails user = new User("user1@rakta.app", stored, List.of());
+        UserDetailsPasswordService passwordService = (details, newPassword) -> {
+            updated.set(newPassword);
+            return User.withUserDetails(details).password(newPassword).build();
+        };
+
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 5, 1, 1,
+                meterRegistry)) {
+            DaoAuthenticationProvider provider = new DaoAuthenticationProvider(username -> user);
+            provider.setPasswordEncoder(encoder);
+            provider.setUserDetailsPasswordService(passwordService);
+
+            provider.authenticate(new UsernamePasswordAuthenticationToken("user1@rakta.app", "password123"));
+
+            assertNotNull(updated.get());
+            assertTrue(updated.get().startsWith("$2a$05$"));
+            assertTrue(encoder.matches("password123", updated.get()));
+            assertFalse(encoder.upgradeEncoding(updated.get()));
+        }
+    }
+
+    private void waitForQueue(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("rakta.password.hashing.queue").gauge().value() < depth) {
+            assertTrue(System.nanoTime() < deadline, "call was not queued");
+            Thread.sleep(5);
+        }
+    }
+}
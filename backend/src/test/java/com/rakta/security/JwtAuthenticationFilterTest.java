@@ -0,0 +1,131 @@
+package com.rakta.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String EMAIL = "user1@rakta.app";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+    @Mock
+    private AccessTokenDenyList denyList;
+
+    private JwtAuthenticationFilter filter;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret",
+                "testsecretkeythatisverylongandatleast256bitslong123456789012345678901234567890");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationDate", 900_000L);
+        token = tokenProvider.generateToken(EMAIL);
+        filter = new JwtAuthenticationFilter(tokenProvider, userDetailsService, denyList);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void healthCheck_SkipsFilter() throws Exception {
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+
+        perform("GET", "/healthz", seen);
+
+        assertNull(seen.get());
+        verifyNoInteractions(userDetailsService, denyList);
+    }
+
+    @Test
+    void protectedRoute_LoadsUserEagerly() throws Exception {
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(principal());
+
+        perform("GET", "/api/users/me", null);
+
+        verify(userDetailsService).loadUserByUsername(EMAIL);
+    }
+
+    @Test
+    void publicRoute_LoadsUserOnlyWhenAskedAndOnce() throws Exception {
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(principal());
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+
+        perform("GET", "/api/v1/feed", seen);
+
+        assertEquals(EMAIL, seen.get().getName());
+        verify(userDetailsService).loadUserByUsername(EMAIL);
+    }
+
+    @Test
+    void publicRoute_NotAsked_NoLookup() throws Exception {
+        perform("GET", "/api/v1/feed", null);
+
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void publicRoute_DeletedUser_StaysAnonymous() throws Exception {
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenThrow(new UsernameNotFoundException(EMAIL));
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+
+        perform("GET", "/api/v1/feed/7", seen);
+
+        assertNull(seen.get());
+    }
+
+    @Test
+    void revokedToken_NotAuthenticated() throws Exception {
+        when(denyList.isDenied(anyString(), anyLong())).thenReturn(true);
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+
+        perform("GET", "/api/users/me", seen);
+
+        assertNull(seen.get());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    /**
+     * Runs the filter; when seen is given, the downstream chain reads the
+     * authentication twice and records it.
+     */
+    private void perform(String method, String path, AtomicReference<Authentication> seen) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            if (seen != null) {
+                SecurityContextHolder.getContext().getAuthentication();
+                seen.set(SecurityContextHolder.getContext().getAuthentication());
+            }
+        });
+    }
+
+    private static UserPrincipal principal() {
+        return new UserPrincipal(1L, EMAIL, "hash", "Test", "User", true,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
@@ -0,0 +1,143 @@
+package com.rakta.security;
+
+import com.rakta.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<TooManyRequestsException> rejections = new ArrayList<>();
+    private final HandlerExceptionResolver resolver = (request, response, handler, ex) -> {
+        rejections.add((TooManyRequestsException) ex);
+        response.setStatus(429);
+        return new ModelAndView();
+    };
+
+    private final RateLimitFilter filter = new RateLimitFilter(List.of(
+            new RateLimitFilter.Rule("login",
+                    PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.POST, "/api/auth/login"), 2, 6),
+            new RateLimitFilter.Rule("likes",
+                    PathPatternRequestMatcher.withDefaults().matcher("/api/v1/feed/*/like"), 1, 60)),
+            1000, resolver, meterRegistry);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tokenBucket_RefillsAtRateUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(2, SECOND, 0);
+
+        assertEquals(0, bucket.tryTake(0));
+        assertEquals(0, bucket.tryTake(0));
+        assertEquals(SECOND, bucket.tryTake(0));
+        assertEquals(SECOND / 2, bucket.tryTake(SECOND / 2));
+        assertEquals(0, bucket.tryTake(SECOND));
+
+        // Idle for a minute: full again, not 60 tokens
+        assertEquals(0, bucket.tryTake(61 * SECOND));
+        assertEquals(0, bucket.tryTake(61 * SECOND));
+        assertTrue(bucket.tryTake(61 * SECOND) > 0);
+    }
+
+    @Test
+    void tokenBucket_ConcurrentTakes_NeverExceedCapacity() throws Exception {
+        TokenBucket bucket = new TokenBucket(1000, TimeUnit.HOURS.toNanos(1), 0);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                results.add(pool.submit(() -> {
+                    int taken = 0;
+                    for (int i = 0; i < 500; i++) {
+                        if (bucket.tryTake(0) == 0) {
+                            taken++;
+                        }
+                    }
+                    return taken;
+                }));
+            }
+            int taken = 0;
+            for (Future<Integer> result : results) {
+                taken += result.get(10, TimeUnit.SECONDS);
+            }
+            assertEquals(1000, taken);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void login_OverCapacity_RejectedWithRetryAfter() throws Exception {
+        assertEquals(200, login("10.0.0.1").getStatus());
+        assertEquals(200, login("10.0.0.1").getStatus());
+
+        MockHttpServletResponse rejected = login("10.0.0.1");
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals(1, rejections.size());
+        assertEquals(10, rejections.get(0).getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.counter("rakta.rate-limit.rejected", "route", "login").count());
+        // Another address has its own bucket
+        assertEquals(200, login("10.0.0.2").getStatus());
+    }
+
+    @Test
+    void likes_KeyedByUserNotAddress() throws Exception {
+        assertEquals(200, like("alice@rakta.app").getStatus());
+        assertEquals(429, like("alice@rakta.app").getStatus());
+        assertEquals(200, like("bob@rakta.app").getStatus());
+    }
+
+    @Test
+    void unlimitedRoute_PassesThrough() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/feed"), new MockHttpServletResponse(), chain);
+            assertNotNull(chain.getRequest());
+        }
+        assertTrue(rejections.isEmpty());
+    }
+
+    private MockHttpServletResponse login(String address) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr(address);
+        return perform(request);
+    }
+
+    private MockHttpServletResponse like(String user) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(user, null, List.of()));
+        return perform(new MockHttpServletRequest("POST", "/api/v1/feed/7/like"));
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
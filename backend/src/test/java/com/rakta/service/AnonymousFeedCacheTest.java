@@ -0,0 +1,132 @@
+package com.rakta.service;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.rakta.dto.FeedPostDto;
+import com.rakta.event.FeedChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnonymousFeedCacheTest {
+
+    @Mock
+    private FeedService feedService;
+
+    private final List<Runnable> refreshes = new ArrayList<>();
+    private final AtomicLong nanos = new AtomicLong();
+    private AnonymousFeedCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AnonymousFeedCache(feedService, JsonMapper.builder().build(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "pages", 2);
+        ReflectionTestUtils.setField(cache, "pageSize", 20);
+        ReflectionTestUtils.setField(cache, "refreshSeconds", 5L);
+        ReflectionTestUtils.setField(cache, "maxStaleSeconds", 30L);
+        ReflectionTestUtils.setField(cache, "refreshExecutor", (Executor) refreshes::add);
+        ReflectionTestUtils.setField(cache, "ticker", (Ticker) nanos::get);
+        cache.init();
+        when(feedService.getFeedLastModified()).thenReturn(Instant.parse("2026-01-01T00:00:00Z"));
+    }
+
+    @Test
+    void get_FirstPages_LoadedOnceAsJson() {
+        feedReturns(1);
+
+        AnonymousFeedCache.CachedPage first = cache.get(0, 20);
+        AnonymousFeedCache.CachedPage second = cache.get(0, 20);
+
+        assertSame(first, second);
+        assertTrue(json(first).contains("\"likeCount\":1"), json(first));
+        assertEquals(Instant.parse("2026-01-01T00:00:00Z"), first.lastModified());
+        verify(feedService, times(1)).getPublicFeed(any(), isNull());
+        assertNull(cache.get(2, 20));
+        assertNull(cache.get(-1, 20));
+        assertNull(cache.get(0, 10));
+    }
+
+    @Test
+    void onFeedChanged_ServesStaleUntilReloaded() {
+        feedReturns(1);
+        cache.get(0, 20);
+        feedReturns(2);
+
+        cache.onFeedChanged(new FeedChangedEvent(1L, false));
+
+        assertTrue(json(cache.get(0, 20)).contains("\"likeCount\":1"));
+        runRefreshes();
+        assertTrue(json(cache.get(0, 20)).contains("\"likeCount\":2"));
+    }
+
+    @Test
+    void onFeedChanged_LikeOfPostNotShown_RefreshesNothing_NewPostRefreshesAll() {
+        feedReturns(1);
+        cache.get(0, 20);
+        cache.get(1, 20);
+
+        cache.onFeedChanged(new FeedChangedEvent(99L, false));
+        runRefreshes();
+        verify(feedService, times(2)).getPublicFeed(any(), isNull());
+
+        cache.onFeedChanged(new FeedChangedEvent(99L, true));
+        runRefreshes();
+        verify(feedService, times(4)).getPublicFeed(any(), isNull());
+    }
+
+    @Test
+    void get_AfterRefreshInterval_ReloadsInBackground_NeverPastMaxStale() {
+        feedReturns(1);
+        cache.get(0, 20);
+        feedReturns(2);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        assertTrue(json(cache.get(0, 20)).contains("\"likeCount\":1"));
+        assertFalse(refreshes.isEmpty());
+
+        // The background reload never ran: past max-stale the page is loaded in line
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertTrue(json(cache.get(0, 20)).contains("\"likeCount\":2"));
+    }
+
+    private void runRefreshes() {
+        while (!refreshes.isEmpty()) {
+            refreshes.remove(0).run();
+        }
+    }
+
+    private void feedReturns(int likeCount) {
+        FeedPostDto post = new FeedPostDto(1L, 2L, "donor", "Dana", 3L, "Central Blood Bank", "1 Main St",
+                LocalDate.of(2026, 1, 1), "Quick and easy", likeCount, null, LocalDateTime.of(2026, 1, 1, 9, 0));
+        when(feedService.getPublicFeed(any(Pageable.class), isNull()))
+                .thenReturn(new PageImpl<>(List.of(post), PageRequest.of(0, 20), 1));
+    }
+
+    private static String json(AnonymousFeedCache.CachedPage page) {
+        return new String(page.json(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,241 @@
+package com.rakta.service;
+
+import com.rakta.entity.Badge;
+import com.rakta.entity.DonationStatus;
+import com.rakta.entity.User;
+import com.rakta.entity.UserBadge;
+import com.rakta.entity.UserBadgeProgress;
+import com.rakta.event.DonationLoggedEvent;
+import com.rakta.event.FollowChangedEvent;
+import com.rakta.event.MetricLoggedEvent;
+import com.rakta.repository.DailyMetricRepository;
+import com.rakta.repository.DonationRepository;
+import com.rakta.repository.UserBadgeProgressRepository;
+import com.rakta.repository.UserBadgeRepository;
+import com.rakta.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BadgeAwardServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    @Mock
+    private UserBadgeProgressRepository progressRepository;
+    @Mock
+    private UserBadgeRepository userBadgeRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private DonationRepository donationRepository;
+    @Mock
+    private DailyMetricRepository dailyMetricRepository;
+    @Mock
+    private BadgeCatalog badgeCatalog;
+    @Mock
+    private PublicProfileService publicProfileService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private BadgeAwardService badgeAwardService;
+
+    @Test
+    void donation_BelowNextThreshold_QueriesNoBadges() {
+        UserBadgeProgress progress = progress(2, 0, null);
+        when(progressRepository.findByUserIdForUpdate(USER_ID)).thenReturn(Optional.of(progress));
+
+        badgeAwardService.onDonationLogged(new DonationLoggedEvent(USER_ID, 10L, DonationStatus.COMPLETED));
+
+        assertEquals(3, progress.getDonationCount());
+        verify(progressRepository).save(progress);
+        verifyNoInteractions(badgeCatalog, userBadgeRepository, donationRepository);
+    }
+
+    @Test
+    void donation_CrossingThreshold_AwardsThatBadgeOnly() {
+        when(progressRepository.findByUserIdForUpdate(USER_ID)).thenReturn(Optional.of(progress(4, 0, null)));
+        Badge badge = badge(2L, "DONATION_5");
+        when(badgeCatalog.findByCode("DONATION_5")).thenReturn(Optional.of(badge));
+        when(userBadgeRepository.findHeldBadgeIds(USER_ID, List.of(2L))).thenReturn(List.of());
+        when(userRepository.getReferenceById(USER_ID)).thenReturn(User.builder().id(USER_ID).build());
+
+        badgeAwardService.onDonationLogged(new DonationLoggedEvent(USER_ID, 10L, DonationStatus.COMPLETED));
+
+        assertEquals(List.of("DONATION_5"), awardedCodes());
+        assertEquals(1.0, meterRegistry.counter("rakta.badges.awarded", "badge", "DONATION_5").count());
+        verify(publicProfileService).evict(USER_ID);
+    }
+
+    @Test
+    void donation_NotCompleted_IsIgnored() {
+        badgeAwardService.onDonationLogged(new DonationLoggedEvent(USER_ID, 10L, DonationStatus.PROCESSING));
+
+        verifyNoInteractions(progressRepository, transactionManager);
+    }
+
+    @Test
+    void donation_MissingProgress_RebuiltFromHistory() {
+        when(progressRepository.findByUserIdForUpdate(USER_ID)).thenReturn(Optional.empty());
+        when(donationRepository.countByUserIdAndStatus(USER_ID, DonationStatus.COMPLETED)).thenReturn(5L);
+        when(dailyMetricRepository.findRecentDates(eq(USER_ID), any()))
+                .thenReturn(List.of(TODAY, TODAY.minusDays(1), TODAY.minusDays(3)));
+        when(badgeCatalog.findByCode(any())).thenAnswer(i -> Optional.of(badge(1L, i.getArgument(0))));
+        when(userBadgeRepository.findHeldBadgeIds(eq(USER_ID), anyCollection())).thenReturn(List.of());
+
+        badgeAwardService.onDonationLogged(new DonationLoggedEvent(USER_ID, 10L, DonationStatus.COMPLETED));
+
+        ArgumentCaptor<UserBadgeProgress> saved = ArgumentCaptor.forClass(UserBadgeProgress.class);
+        verify(progressRepository).save(saved.capture());
+        assertEquals(5, saved.getValue().getDonationCount()); // Not counted twice
+        assertEquals(2, saved.getValue().getStreakDays());
+        assertEquals(TODAY, saved.getValue().getLastMetricDate());
+        assertEquals(List.of("FIRST_DONATION", "DONATION_5"), awardedCodes());
+    }
+
+    @Test
+    void donation_BadgeAlreadyHeld_NotAwardedAgain() {
+        when(progressRepository.findByUserIdForUpdate(USER_ID)).thenReturn(Optional.of(progress(0, 0, null)));
+        when(badgeCatalog.findByCode("FIRST_DONATION")).thenReturn(Optional.of(badge(1L, "FIRST_DONATION")));
+        when(userBadgeRepository.findHeldBadgeIds(USER_ID, List.of(1L))).thenReturn(List.of(1L));
+
+        badgeAwardService.onDonationLogged(new DonationLoggedEvent(USER_ID, 10L, DonationStatus.COMPLETED));
+
+        verify(userBadgeRepository, never()).saveAll(any());
+        verifyNoInteractions(publicProfileService);
+    }
+
+    @Test
+    void metric_NextDay_ExtendsStreakAndAwards() {
+        UserBadgeProgress progress = progress(0, 6, TODAY.minusDays(1));
+        when(progressRepository.findByUserIdForUpdate(USER_ID)).thenReturn(Optional.of(progress));
+        when(badgeCatalog.findByCode("STREAK_7")).thenReturn(Optional.of(badge(6L, "STREAK_7")));
+        when(userBadgeRepository.findHeldBadgeIds(USER_ID, List.of(6L))).thenReturn(List.of());
+
+        badgeAwardService.onMetricLogged(new MetricLoggedEvent(USER_ID, TODAY));
+
+        assertEquals(7, progress.getStreakDays());
+        assertEquals(TODAY, progress.getLastMetricDate());
+        assertEquals(List.of("STREAK_7"), awardedCodes());
+    }
+
+    @Test
+    void metric_AfterGap_ResetsStreak() {
+        UserBadgeProgress progress = progress(0, 6, TODAY.minusDays(2));
+        when(progressRepository.findByUserIdForUpdate(USER_ID)).thenReturn(Optional.of(progress));
+
+        badgeAwardService.onMetricLogged(new MetricLoggedEvent(USER_ID, TODAY));
+
+        assertEquals(1, progress.getStreakDays());
+        verifyNoInteractions(badgeCatalog);
+    }
+
+    @Test
+    void metric_EarlierDay_LeavesStreak() {
+        UserBadgeProgress progress = progress(0, 6, TODAY);
+        when(progressRepository.findByUserIdForUpdate(USER_ID)).thenReturn(Optional.of(progress));
+
+        badgeAwardService.onMetricLogged(new MetricLoggedEvent(USER_ID, TODAY.minusDays(3)));
+
+        assertEquals(6, progress.getStreakDays());
+        assertEquals(TODAY, progress.getLastMetricDate());
+    }
+
+    @Test
+    void metric_BackfilledDayBeforeStreak_JoinsEarlierRun() {
+        // Streak of 3 ending today; yesterday-3 is backfilled after a run of 3 days before it
+        UserBadgeProgress progress = progress(0, 3, TODAY);
+        when(progressRepository.findByUserIdForUpdate(USER_ID)).thenReturn(Optional.of(progress));
+        when(dailyMetricRepository.findRecentDatesUpTo(eq(USER_ID), eq(TODAY.minusDays(4)), any()))
+                .thenReturn(List.of(TODAY.minusDays(4), TODAY.minusDays(5), TODAY.minusDays(6), TODAY.minusDays(9)));
+        when(badgeCatalog.findByCode("STREAK_7")).thenReturn(Optional.of(badge(6L, "STREAK_7")));
+        when(userBadgeRepository.findHeldBadgeIds(USER_ID, List.of(6L))).thenReturn(List.of());
+
+        badgeAwardService.onMetricLogged(new MetricLoggedEvent(USER_ID, TODAY.minusDays(3)));
+
+        assertEquals(7, progress.getStreakDays());
+        assertEquals(TODAY, progress.getLastMetricDate());
+        assertEquals(List.of("STREAK_7"), awardedCodes());
+    }
+
+    @Test
+    void missingProgress_CreatedConcurrently_RetriedAsRecount() {
+        UserBadgeProgress created = progress(1, 0, null);
+        when(progressRepository.findByUserIdForUpdate(USER_ID))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(created));
+        when(donationRepository.countByUserIdAndStatus(USER_ID, DonationStatus.COMPLETED)).thenReturn(1L, 2L);
+        when(dailyMetricRepository.findRecentDates(eq(USER_ID), any())).thenReturn(List.of());
+        when(progressRepository.save(any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key user_badge_progress"))
+                .thenAnswer(i -> i.getArgument(0));
+        when(badgeCatalog.findByCode("FIRST_DONATION")).thenReturn(Optional.of(badge(1L, "FIRST_DONATION")));
+        when(userBadgeRepository.findHeldBadgeIds(USER_ID, List.of(1L))).thenReturn(List.of(1L));
+
+        badgeAwardService.onDonationLogged(new DonationLoggedEvent(USER_ID, 10L, DonationStatus.COMPLETED));
+
+        ArgumentCaptor<UserBadgeProgress> saved = ArgumentCaptor.forClass(UserBadgeProgress.class);
+        verify(progressRepository, times(2)).save(saved.capture());
+        // Both donations are committed by now: counted from history, not incremented
+        assertEquals(2, saved.getValue().getDonationCount());
+        assertEquals(0.0, meterRegistry.counter("rakta.badges.failures", "event", "donation").count());
+    }
+
+    @Test
+    void unfollow_IsIgnored() {
+        badgeAwardService.onFollowChanged(new FollowChangedEvent(2L, USER_ID, false));
+
+        verifyNoInteractions(progressRepository);
+    }
+
+    @Test
+    void failure_IsCountedNotThrown() {
+        when(progressRepository.findByUserIdForUpdate(USER_ID)).thenThrow(new IllegalStateException("db down"));
+
+        assertDoesNotThrow(() -> badgeAwardService.onFollowChanged(new FollowChangedEvent(2L, USER_ID, true)));
+
+        assertEquals(1.0, meterRegistry.counter("rakta.badges.failures", "event", "follow").count());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> awardedCodes() {
+        ArgumentCaptor<List<UserBadge>> awards = ArgumentCaptor.forClass(List.class);
+        verify(userBadgeRepository).saveAll(awards.capture());
+        return awards.getValue().stream().map(award -> award.getBadge().getCode()).toList();
+    }
+
+    private static UserBadgeProgress progress(int donations, int streak, LocalDate lastMetricDate) {
+        return UserBadgeProgress.builder()
+                .userId(USER_ID)
+                .donationCount(donations)
+                .streakDays(streak)
+                .lastMetricDate(lastMetricDate)
+                .build();
+    }
+
+    private static Badge badge(Long id, String code) {
+        return Badge.builder().id(id).code(code).name(code).build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.rakta.service;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the backfill statements against a migrated in-memory database.
+ */
+class BadgeBackfillTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+
+    @Test
+    void backfill_AwardsReachedThresholdsOnce() throws SQLException {
+        String url = "jdbc:h2:mem:badgebackfill;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        // H2 binds CHECK constraints to the migrating session; keep it open
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            Flyway.configure().dataSource(new SingleConnectionDataSource(connection, true)).load().migrate();
+            JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+            for (long id = 1; id <= 3; id++) {
+                jdbc.update("INSERT INTO users (id, first_name, last_name, email, password, terms_accepted, enabled) "
+                        + "VALUES (?, 'F', 'L', ?, 'x', TRUE, TRUE)", id, "u" + id + "@example.com");
+            }
+            jdbc.update("UPDATE users SET date_of_birth = DATE '1990-01-01', gender = 'F', height = 170, "
+                    + "weight = 60, blood_type = 'O+' WHERE id = 1");
+
+            // User 1: five completed donations (one more processing), already holds FIRST_DONATION
+            for (int i = 0; i < 6; i++) {
+                jdbc.update("INSERT INTO donations (user_id, donation_date, donation_type, status) "
+                        + "VALUES (1, ?, 'WHOLE_BLOOD', ?)", START.plusDays(60L * i), i < 5 ? "COMPLETED" : "PROCESSING");
+            }
+            jdbc.update("INSERT INTO user_badges (user_id, badge_id, earned_at, is_viewed) "
+                    + "SELECT 1, id, NOW(), FALSE FROM badges WHERE code = 'FIRST_DONATION'");
+
+            // User 1: 6 days, gap, 7 days; user 3: two 7-day runs
+            metricDays(jdbc, 1, 0, 6);
+            metricDays(jdbc, 1, 7, 7);
+            metricDays(jdbc, 3, 0, 7);
+            metricDays(jdbc, 3, 10, 7);
+
+            jdbc.update("INSERT INTO user_follows (follower_id, following_id, created_at) VALUES (1, 2, ?)",
+                    Timestamp.valueOf(START.atStartOfDay().plusHours(5)));
+            jdbc.update("INSERT INTO user_follows (follower_id, following_id, created_at) VALUES (3, 2, ?)",
+                    Timestamp.valueOf(START.atStartOfDay().plusHours(2)));
+
+            BadgeBackfill backfill = new BadgeBackfill(jdbc);
+            BadgeBackfill.BackfillReport report = backfill.backfill();
+
+            assertEquals(3, report.users());
+            assertEquals(5, report.awarded());
+            assertEquals(List.of(
+                    "1 DONATION_5 " + START.plusDays(240),
+                    "1 FIRST_DONATION",
+                    "1 PROFILE_COMPLETE " + LocalDate.now(),
+                    "1 STREAK_7 " + START.plusDays(13),
+                    "2 FIRST_FOLLOWER " + START,
+                    "3 STREAK_7 " + START.plusDays(6)), badges(jdbc));
+
+            assertEquals(0, backfill.backfill().awarded());
+        }
+    }
+
+    private void metricDays(JdbcTemplate jdbc, long userId, int fromDay, int days) {
+        for (int d = fromDay; d < fromDay + days; d++) {
+            jdbc.update("INSERT INTO daily_metrics (id, user_id, date) VALUES (RANDOM_UUID(), ?, ?)",
+                    userId, START.plusDays(d));
+        }
+    }
+
+    /**
+     * "user code date" of retroactive awards, "user code" of the others.
+     */
+    private List<String> badges(JdbcTemplate jdbc) {
+        return jdbc.query("SELECT ub.user_id, b.code, ub.earned_at, ub.context FROM user_badges ub "
+                + "JOIN badges b ON b.id = ub.badge_id ORDER BY ub.user_id, b.code",
+                (rs, rowNum) -> rs.getLong(1) + " " + rs.getString(2) + (rs.getString(4) == null ? ""
+                        : " " + rs.getTimestamp(3).toLocalDateTime().toLocalDate()));
+    }
+}
@@ -0,0 +1,174 @@
+package com.rakta.service;
+
+import com.rakta.dto.FollowPageDto;
+import com.rakta.dto.FollowSuggestionDto;
+import com.rakta.dto.FollowUserDto;
+import com.rakta.entity.User;
+import com.rakta.entity.UserFollow;
+import com.rakta.event.FollowChangedEvent;
+import com.rakta.repository.UserFollowRepository;
+import com.rakta.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CommunityServiceTest {
+
+    @Mock
+    private UserFollowRepository userFollowRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private PublicProfileService publicProfileService;
+    @Mock
+    private RelationLookupService relationLookupService;
+    @Mock
+    private FollowGraphIndex followGraphIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private CommunityService communityService;
+
+    private final User follower = User.builder().id(1L).email("a@rakta.app").build();
+    private final User following = User.builder().id(2L).email("b@rakta.app").build();
+
+    @Test
+    void followUser_NewFollow_IncrementsBothCounters() {
+        when(userRepository.findById(2L)).thenReturn(Optional.of(following));
+        when(userFollowRepository.existsByFollowerIdAndFollowingId(1L, 2L)).thenReturn(false);
+
+        communityService.followUser(follower, 2L);
+
+        verify(userFollowRepository).save(any(UserFollow.class));
+        verify(userRepository).adjustFollowCounts(1L, 2L, 1);
+        verify(relationLookupService).recordFollow(1L, 2L, true);
+        verify(eventPublisher).publishEvent(new FollowChangedEvent(1L, 2L, true));
+        verify(publicProfileService).evict(1L, 2L);
+    }
+
+    @Test
+    void followUser_AlreadyFollowing_LeavesCounters() {
+        when(userRepository.findById(2L)).thenReturn(Optional.of(following));
+        when(userFollowRepository.existsByFollowerIdAndFollowingId(1L, 2L)).thenReturn(true);
+
+        communityService.followUser(follower, 2L);
+
+        verify(userFollowRepository, never()).save(any());
+        verify(userRepository, never()).adjustFollowCounts(anyLong(), anyLong(), anyInt());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void followUser_Self_Throws() {
+        assertThrows(RuntimeException.class, () -> communityService.followUser(follower, 1L));
+        verifyNoInteractions(userFollowRepository);
+    }
+
+    @Test
+    void unfollowUser_RemovedRow_DecrementsBothCounters() {
+        when(userFollowRepository.deleteByFollowerIdAndFollowingId(1L, 2L)).thenReturn(1);
+
+        communityService.unfollowUser(follower, 2L);
+
+        verify(userRepository).adjustFollowCounts(1L, 2L, -1);
+        verify(relationLookupService).recordFollow(1L, 2L, false);
+        verify(eventPublisher).publishEvent(new FollowChangedEvent(1L, 2L, false));
+        verify(publicProfileService).evict(1L, 2L);
+    }
+
+    @Test
+    void unfollowUser_NotFollowing_LeavesCounters() {
+        when(userFollowRepository.deleteByFollowerIdAndFollowingId(1L, 2L)).thenReturn(0);
+
+        communityService.unfollowUser(follower, 2L);
+
+        verifyNoInteractions(userRepository, publicProfileService, eventPublisher);
+    }
+
+    @Test
+    void getFollowers_FullPage_ReturnsCursorOfLastUser() {
+        List<Object[]> rows = List.of(row(3L, "c"), row(5L, null), row(9L, "i"));
+        when(userFollowRepository.findFollowerRowsAfter(2L, 0L, PageRequest.of(0, 3))).thenReturn(rows);
+
+        FollowPageDto page = communityService.getFollowers(2L, null, 2);
+
+        assertEquals(List.of(new FollowUserDto(3L, "c", "First3"), new FollowUserDto(5L, null, "First5")),
+                page.users());
+        assertEquals(5L, page.nextCursor());
+    }
+
+    @Test
+    void getFollowing_LastPage_HasNoCursor() {
+        List<Object[]> rows = Collections.singletonList(row(9L, "i"));
+        when(userFollowRepository.findFollowingRowsAfter(2L, 5L, PageRequest.of(0, 3))).thenReturn(rows);
+
+        FollowPageDto page = communityService.getFollowing(2L, 5L, 2);
+
+        assertEquals(1, page.users().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void counts_ReadStoredCounters() {
+        when(userRepository.findFollowerCount(2L)).thenReturn(Optional.of(12));
+        when(userRepository.findFollowingCount(2L)).thenReturn(Optional.empty());
+
+        assertEquals(12, communityService.getFollowerCount(2L));
+        assertEquals(0, communityService.getFollowingCount(2L));
+        verifyNoInteractions(userFollowRepository);
+    }
+
+    @Test
+    void countsAndIsFollowing_IgnoreGraphIndex() {
+        when(userRepository.findFollowerCount(2L)).thenReturn(Optional.of(7));
+        when(relationLookupService.isFollowing(1L, 2L)).thenReturn(true);
+
+        assertEquals(7, communityService.getFollowerCount(2L));
+        assertTrue(communityService.isFollowing(1L, 2L));
+        verifyNoInteractions(followGraphIndex);
+    }
+
+    @Test
+    void getSuggestions_KeepsIndexRanking() {
+        when(followGraphIndex.isReady()).thenReturn(true);
+        when(followGraphIndex.suggestions(1L, 2)).thenReturn(List.of(
+                new FollowGraphIndex.Suggestion(9L, 3, 1), new FollowGraphIndex.Suggestion(5L, 1, 4)));
+        List<Object[]> rows = List.of(row(5L, "e"), row(9L, "i"));
+        when(userRepository.findFollowUserRows(List.of(9L, 5L))).thenReturn(rows);
+
+        List<FollowSuggestionDto> suggestions = communityService.getSuggestions(1L, 2);
+
+        assertEquals(List.of(new FollowSuggestionDto(9L, "i", "First9", 3),
+                new FollowSuggestionDto(5L, "e", "First5", 1)), suggestions);
+    }
+
+    @Test
+    void getMutualFollows_BeforeIndexLoads_QueriesDatabase() {
+        when(userFollowRepository.findMutualFollowIds(1L)).thenReturn(List.of(3L, 4L, 6L));
+        List<Object[]> rows = List.of(row(3L, null), row(4L, "d"));
+        when(userRepository.findFollowUserRows(List.of(3L, 4L))).thenReturn(rows);
+
+        assertEquals(List.of(new FollowUserDto(3L, null, "First3"), new FollowUserDto(4L, "d", "First4")),
+                communityService.getMutualFollows(1L, 2));
+    }
+
+    private static Object[] row(Long id, String username) {
+        return new Object[] { id, username, "First" + id };
+    }
+}
@@ -0,0 +1,179 @@
+package com.rakta.service;
+
+import com.rakta.entity.DailyMetric;
+import com.rakta.entity.DailyMetricAggregate;
+import com.rakta.repository.DailyMetricAggregateRepository;
+import com.rakta.repository.DailyMetricRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for DailyMetricAggregateService.
+ * Replays upserts against in-memory repositories and checks the incremental
+ * aggregate always equals a full recompute.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DailyMetricAggregateServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private DailyMetricAggregateRepository aggregateRepository;
+    @Mock
+    private DailyMetricRepository dailyMetricRepository;
+    @Mock
+    private DailyMetricSeriesCache dailyMetricSeriesCache;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private DailyMetricAggregateService aggregateService;
+
+    private final TreeMap<LocalDate, DailyMetric> metrics = new TreeMap<>();
+    private DailyMetricAggregate stored;
+
+    @BeforeEach
+    void setUp() {
+        when(aggregateRepository.findByUserIdForUpdate(USER_ID)).thenAnswer(i -> Optional.ofNullable(stored));
+        when(aggregateRepository.findById(USER_ID)).thenAnswer(i -> Optional.ofNullable(stored));
+        when(aggregateRepository.save(any(DailyMetricAggregate.class))).thenAnswer(i -> {
+            stored = i.getArgument(0);
+            return stored;
+        });
+        when(dailyMetricRepository.findFirstByUserIdOrderByDateDesc(USER_ID))
+                .thenAnswer(i -> metrics.isEmpty() ? Optional.empty() : Optional.of(metrics.lastEntry().getValue()));
+        when(dailyMetricRepository.findByUserIdAndDateBetween(eq(USER_ID), any(), any()))
+                .thenAnswer(i -> List.copyOf(metrics.subMap(i.getArgument(1), true, i.getArgument(2), true).values()));
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn("H2");
+        // The claiming insert succeeds unless a row exists
+        when(jdbcTemplate.update(anyString(), any(), any(), any())).thenAnswer(i -> stored == null ? 1 : 0);
+    }
+
+    @Test
+    void firstUpsert_BuildsAggregateFromScan() {
+        LocalDate today = LocalDate.of(2025, 3, 10);
+        upsert(today, new BigDecimal("7.50"), 4, 6);
+
+        assertNotNull(stored);
+        assertEquals(today, stored.getAsOfDate());
+        assertEquals(1, stored.getAcuteCount());
+        assertEquals(0, new BigDecimal("7.50").compareTo(stored.getAcuteSleepSum()));
+        assertEquals(6, stored.getChronicLoadSum());
+    }
+
+    @Test
+    void firstUpsert_ConcurrentFirstWriteWon_AppliesDeltaToItsRow() {
+        LocalDate today = LocalDate.of(2025, 3, 10);
+        // Another transaction committed the aggregate for its own metric of yesterday
+        DailyMetric theirs = DailyMetric.builder().id(UUID.randomUUID()).date(today.minusDays(1))
+                .sleepHours(new BigDecimal("6.00")).ironIntakeScore(2).trainingLoadAcute(3).build();
+        metrics.put(theirs.getDate(), theirs);
+        DailyMetricAggregate committed = aggregateService.rebuild(USER_ID);
+        when(aggregateRepository.findByUserIdForUpdate(USER_ID))
+                .thenReturn(Optional.empty())
+                .thenAnswer(i -> Optional.of(committed));
+        when(jdbcTemplate.update(anyString(), any(), any(), any())).thenReturn(0);
+
+        upsert(today, new BigDecimal("8.00"), 4, 5);
+
+        assertSame(committed, stored);
+        assertEquals(today, stored.getAsOfDate());
+        assertTrue(stored.sameTotals(aggregateService.rebuild(USER_ID)), stored.toString());
+        assertEquals(2, stored.getAcuteCount());
+    }
+
+    @Test
+    void randomUpserts_IncrementalMatchesRebuild() {
+        Random random = new Random(11);
+        LocalDate day = LocalDate.of(2025, 1, 1);
+
+        for (int i = 0; i < 400; i++) {
+            // Mostly move forward, sometimes backfill or jump ahead
+            int roll = random.nextInt(10);
+            LocalDate date = roll < 6 ? day.plusDays(random.nextInt(2))
+                    : roll < 9 ? day.minusDays(random.nextInt(35))
+                    : day.plusDays(5 + random.nextInt(40));
+            day = date.isAfter(day) ? date : day;
+
+            upsert(date,
+                    random.nextInt(4) == 0 ? null : BigDecimal.valueOf(400 + random.nextInt(600), 2),
+                    random.nextInt(4) == 0 ? null : 1 + random.nextInt(5),
+                    random.nextInt(4) == 0 ? null : random.nextInt(12));
+
+            DailyMetricAggregate expected = aggregateService.rebuild(USER_ID);
+            assertTrue(stored.sameTotals(expected), "Drift after upsert " + i + ": " + stored + " vs " + expected);
+        }
+    }
+
+    @Test
+    void reconcile_RepairsDrift() {
+        LocalDate today = LocalDate.of(2025, 3, 10);
+        upsert(today, new BigDecimal("8.00"), 3, 5);
+        stored.setChronicLoadSum(999);
+
+        assertFalse(aggregateService.reconcile(USER_ID));
+        assertEquals(5, stored.getChronicLoadSum());
+        assertTrue(aggregateService.reconcile(USER_ID));
+    }
+
+    @Test
+    void aggregateScore_MatchesWindowScore() {
+        ReadinessScoringKernel kernel = new ReadinessScoringKernel(45, 60, 90, 8.0);
+        LocalDate today = LocalDate.of(2025, 3, 10);
+        for (int d = 30; d >= 0; d--) {
+            upsert(today.minusDays(d), BigDecimal.valueOf(500 + d * 10, 2), d % 5 == 0 ? null : 1 + d % 5, d % 9);
+        }
+
+        List<DailyMetric> window = metrics.descendingMap().values().stream()
+                .filter(m -> m.getDate().isAfter(today.minusDays(28)))
+                .sorted(Comparator.comparing(DailyMetric::getDate).reversed())
+                .toList();
+        ReadinessScoringKernel.Score fromWindow = kernel.score(ReadinessScoringKernel.Window.of(window, today), 20, true);
+        ReadinessScoringKernel.Score fromAggregate = kernel.score(stored, 20, true);
+
+        assertEquals(fromWindow.totalScore(), fromAggregate.totalScore());
+        assertEquals(fromWindow.lifestyleComponent(), fromAggregate.lifestyleComponent(), 1e-9);
+        assertEquals(fromWindow.ironComponent(), fromAggregate.ironComponent(), 1e-9);
+    }
+
+    private void upsert(LocalDate date, BigDecimal sleep, Integer iron, Integer load) {
+        DailyMetric metric = metrics.get(date);
+        DailyMetricAggregateService.Contribution previous = DailyMetricAggregateService.Contribution.of(metric);
+        if (metric == null) {
+            metric = DailyMetric.builder().id(UUID.randomUUID()).date(date).build();
+            metrics.put(date, metric);
+        }
+        metric.setSleepHours(sleep);
+        metric.setIronIntakeScore(iron);
+        metric.setTrainingLoadAcute(load);
+
+        aggregateService.recordUpsert(USER_ID, previous, metric);
+    }
+}
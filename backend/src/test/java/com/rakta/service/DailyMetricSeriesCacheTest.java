@@ -0,0 +1,114 @@
+package com.rakta.service;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.rakta.entity.DailyMetric;
+import com.rakta.repository.DailyMetricRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DailyMetricSeriesCacheTest {
+
+    private static final Long USER_ID = 7L;
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private DailyMetricRepository dailyMetricRepository;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private DailyMetricSeriesCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DailyMetricSeriesCache(dailyMetricRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxBytes", 1_000_000L);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(cache, "ticker", (Ticker) nanos::get);
+        cache.init();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void recordWrite_Committed_UpdatesSeriesInPlace() {
+        when(dailyMetricRepository.findSeriesRowsByUserId(USER_ID)).thenReturn(List.of());
+        cache.get(USER_ID);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.recordWrite(USER_ID, DailyMetric.builder().date(DAY).sleepHours(new BigDecimal("7.50")).build());
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertEquals(7.5, cache.get(USER_ID).get(DailyMetricSeries.Column.SLEEP_HOURS, DAY));
+        verify(dailyMetricRepository, times(1)).findSeriesRowsByUserId(USER_ID);
+    }
+
+    @Test
+    void recordWrite_RolledBack_DropsSeries() {
+        when(dailyMetricRepository.findSeriesRowsByUserId(USER_ID)).thenReturn(List.of());
+        cache.get(USER_ID);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.recordWrite(USER_ID, DailyMetric.builder().date(DAY).sleepHours(new BigDecimal("7.50")).build());
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertFalse(cache.get(USER_ID).contains(DAY));
+        verify(dailyMetricRepository, times(2)).findSeriesRowsByUserId(USER_ID);
+    }
+
+    @Test
+    void recordWrite_UserNotResident_SeriesLoadedMeanwhileGetsRowOnCommit() {
+        // A reader loads the series before the writer commits: without the row
+        when(dailyMetricRepository.findSeriesRowsByUserId(USER_ID)).thenReturn(List.of());
+        TransactionSynchronizationManager.initSynchronization();
+        cache.recordWrite(USER_ID, DailyMetric.builder().date(DAY).sleepHours(new BigDecimal("7.50")).build());
+        assertFalse(cache.get(USER_ID).contains(DAY));
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertTrue(cache.get(USER_ID).contains(DAY));
+        verify(dailyMetricRepository, times(1)).findSeriesRowsByUserId(USER_ID);
+    }
+
+    @Test
+    void get_AfterTtl_Reloads() {
+        when(dailyMetricRepository.findSeriesRowsByUserId(USER_ID)).thenReturn(List.of());
+        cache.get(USER_ID);
+        cache.get(USER_ID);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        cache.get(USER_ID);
+
+        verify(dailyMetricRepository, times(2)).findSeriesRowsByUserId(USER_ID);
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations =
+                new ArrayList<>(TransactionSynchronizationManager.getSynchronizations());
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
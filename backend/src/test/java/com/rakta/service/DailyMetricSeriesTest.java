@@ -0,0 +1,81 @@
+package com.rakta.service;
+
+import com.rakta.entity.DailyMetric;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DailyMetricSeries.
+ * Checks round-tripping of values and that windows built from the series
+ * score exactly like windows built from the repository rows.
+ */
+class DailyMetricSeriesTest {
+
+    @Test
+    void put_RoundTripsValuesAndNulls() {
+        DailyMetricSeries series = new DailyMetricSeries();
+        LocalDate day = LocalDate.of(2025, 3, 10);
+        series.put(DailyMetric.builder().date(day).sleepHours(new BigDecimal("7.25"))
+                .restingHeartRate(52).hydrationLiters(new BigDecimal("2.5")).build());
+        // Earlier day forces the columns to shift
+        series.put(DailyMetric.builder().date(day.minusDays(40)).hrvMs(61).build());
+
+        assertEquals(2, series.rows());
+        assertEquals(new BigDecimal("7.25").doubleValue(), series.get(DailyMetricSeries.Column.SLEEP_HOURS, day));
+        assertEquals(2.5, series.get(DailyMetricSeries.Column.HYDRATION_LITERS, day));
+        assertEquals(52, series.getInt(DailyMetricSeries.Column.RESTING_HEART_RATE, day));
+        assertNull(series.getInt(DailyMetricSeries.Column.HRV_MS, day));
+        assertEquals(61, series.getInt(DailyMetricSeries.Column.HRV_MS, day.minusDays(40)));
+        assertTrue(Double.isNaN(series.get(DailyMetricSeries.Column.SLEEP_HOURS, day.minusDays(40))));
+        assertFalse(series.contains(day.minusDays(1)));
+        assertArrayEquals(new LocalDate[] { day, day.minusDays(40) }, series.latestDates(14));
+    }
+
+    @Test
+    void put_RejectsValuesOutsideShortRange() {
+        DailyMetricSeries series = new DailyMetricSeries();
+        assertFalse(series.put(DailyMetric.builder().date(LocalDate.of(2025, 3, 10)).trainingLoadAcute(40_000).build()));
+        assertEquals(0, series.rows());
+    }
+
+    @Test
+    void window_ScoresLikeRepositoryRows() {
+        ReadinessScoringKernel kernel = new ReadinessScoringKernel(45, 60, 90, 8.0);
+        Random random = new Random(5);
+        TreeMap<LocalDate, DailyMetric> metrics = new TreeMap<>();
+        DailyMetricSeries series = new DailyMetricSeries();
+        LocalDate start = LocalDate.of(2025, 1, 1);
+
+        for (int i = 0; i < 300; i++) {
+            LocalDate date = start.plusDays(random.nextInt(120));
+            DailyMetric metric = DailyMetric.builder()
+                    .date(date)
+                    .sleepHours(random.nextInt(4) == 0 ? null : BigDecimal.valueOf(300 + random.nextInt(700), 2))
+                    .ironIntakeScore(random.nextInt(4) == 0 ? null : 1 + random.nextInt(5))
+                    .trainingLoadAcute(random.nextInt(4) == 0 ? null : random.nextInt(15))
+                    .build();
+            metrics.put(date, metric);
+            assertTrue(series.put(metric));
+
+            LocalDate scoringDate = start.plusDays(random.nextInt(130));
+            List<DailyMetric> scanned = metrics.values().stream()
+                    .filter(m -> m.getDate().isAfter(scoringDate.minusDays(ReadinessScoringKernel.CHRONIC_WINDOW_DAYS)))
+                    .sorted(Comparator.comparing(DailyMetric::getDate).reversed())
+                    .toList();
+
+            ReadinessScoringKernel.Score expected = kernel.score(ReadinessScoringKernel.Window.of(scanned, scoringDate),
+                    30, false);
+            ReadinessScoringKernel.Score actual = kernel.score(
+                    series.window(scoringDate, new ReadinessScoringKernel.Window()), 30, false);
+            assertEquals(expected, actual, "Mismatch for scoring date " + scoringDate);
+        }
+    }
+}
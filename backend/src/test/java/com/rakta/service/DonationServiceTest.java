@@ -1,9 +1,11 @@
 package com.rakta.service;
 
 import com.rakta.entity.Donation;
+import com.rakta.entity.DonationStatus;
 import com.rakta.entity.DonationType;
 
 import com.rakta.entity.User;
+import com.rakta.event.DonationLoggedEvent;
 import com.rakta.repository.DonationLocationRepository;
 import com.rakta.repository.DonationRepository;
 import com.rakta.repository.UserRepository;
@@ -13,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.Collections;
@@ -32,6 +35,10 @@ class DonationServiceTest {
     private UserRepository userRepository;
     @Mock
     private DonationLocationRepository locationRepository;
+    @Mock
+    private PublicProfileService publicProfileService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private DonationService donationService;
@@ -93,6 +100,8 @@ class DonationServiceTest {
         assertNotNull(result.getId());
         assertEquals(DonationType.PLATELETS, result.getDonationType());
         assertEquals(testUser, result.getUser());
+        verify(publicProfileService).evict(1L);
+        verify(eventPublisher).publishEvent(new DonationLoggedEvent(1L, 1L, DonationStatus.COMPLETED));
     }
 
     @Test
@@ -0,0 +1,195 @@
+package com.rakta.service;
+
+import com.rakta.entity.OutboxEmail;
+import com.rakta.entity.OutboxEmailStatus;
+import com.rakta.repository.OutboxEmailRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Dispatches outbox emails to a local fake SMTP server.
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    @Mock
+    private OutboxEmailRepository outboxRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FakeSmtpServer smtp;
+    private JavaMailSenderImpl mailSender;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new FakeSmtpServer();
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.port());
+
+        dispatcher = new EmailOutboxDispatcher(outboxRepository, mailSender, meterRegistry, transactionManager);
+        ReflectionTestUtils.setField(dispatcher, "fromEmail", "noreply@rakta.app");
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoffSeconds", 30L);
+        ReflectionTestUtils.setField(dispatcher, "maxBackoffSeconds", 3600L);
+        ReflectionTestUtils.setField(dispatcher, "leaseSeconds", 300L);
+        ReflectionTestUtils.setField(dispatcher, "sentRetentionDays", 3L);
+        ReflectionTestUtils.setField(dispatcher, "failedRetentionDays", 14L);
+        dispatcher.init();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        smtp.close();
+    }
+
+    @Test
+    void dispatchBatch_SendsAllOverOneConnection() {
+        List<OutboxEmail> batch = due(email(1L, "a@rakta.app", 0), email(2L, "b@rakta.app", 0),
+                email(3L, "c@rakta.app", 0));
+
+        assertEquals(3, dispatcher.dispatchBatch());
+
+        assertEquals(1, smtp.connections());
+        assertEquals(List.of("a@rakta.app", "b@rakta.app", "c@rakta.app"),
+                smtp.received().stream().map(FakeSmtpServer.Received::recipient).toList());
+        assertTrue(smtp.received().get(0).data().contains("Body 1"));
+        batch.forEach(email -> {
+            assertEquals(OutboxEmailStatus.SENT, email.getStatus());
+            assertEquals(1, email.getAttempts());
+            assertNotNull(email.getSentAt());
+            assertEquals("", email.getBody());
+        });
+        assertEquals(3.0, meterRegistry.counter("rakta.email.outbox.sent").count());
+        assertEquals(3, meterRegistry.timer("rakta.email.outbox.delivery-delay").count());
+    }
+
+    @Test
+    void dispatchBatch_RejectedRecipient_RetriedWithBackoff() {
+        List<OutboxEmail> batch = due(email(1L, "a@rakta.app", 0), email(2L, "bounce@rakta.app", 0),
+                email(3L, "c@rakta.app", 0));
+        LocalDateTime before = LocalDateTime.now();
+
+        dispatcher.dispatchBatch();
+
+        assertEquals(2, smtp.received().size());
+        OutboxEmail rejected = batch.get(1);
+        assertEquals(OutboxEmailStatus.PENDING, rejected.getStatus());
+        assertEquals(1, rejected.getAttempts());
+        assertNotNull(rejected.getLastError());
+        assertFalse(rejected.getNextAttemptAt().isBefore(before.plusSeconds(30)));
+        assertTrue(rejected.getNextAttemptAt().isBefore(before.plusSeconds(60)));
+        assertEquals(OutboxEmailStatus.SENT, batch.get(2).getStatus());
+        // Kept for the retry
+        assertEquals("Body 2", rejected.getBody());
+        assertEquals(1.0, meterRegistry.counter("rakta.email.outbox.failures", "outcome", "retry").count());
+    }
+
+    @Test
+    void dispatchBatch_LastAttemptFails_GivesUp() {
+        List<OutboxEmail> batch = due(email(1L, "bounce@rakta.app", 2));
+
+        dispatcher.dispatchBatch();
+
+        assertEquals(OutboxEmailStatus.FAILED, batch.get(0).getStatus());
+        assertEquals(3, batch.get(0).getAttempts());
+        assertEquals(1.0, meterRegistry.counter("rakta.email.outbox.failures", "outcome", "gave-up").count());
+    }
+
+    @Test
+    void dispatchBatch_ServerDown_RetriesWholeBatch() {
+        // Refuse rather than close: a freed ephemeral port can be taken by another listener
+        smtp.setAvailable(false);
+        List<OutboxEmail> batch = due(email(1L, "a@rakta.app", 0), email(2L, "b@rakta.app", 0));
+
+        dispatcher.dispatchBatch();
+
+        batch.forEach(email -> {
+            assertEquals(OutboxEmailStatus.PENDING, email.getStatus());
+            assertEquals(1, email.getAttempts());
+        });
+        assertTrue(smtp.received().isEmpty());
+        assertEquals(2.0, meterRegistry.counter("rakta.email.outbox.failures", "outcome", "retry").count());
+    }
+
+    @Test
+    void dispatchBatch_NothingDue_SendsNothing() {
+        when(outboxRepository.findDueForUpdate(any(), any())).thenReturn(List.of());
+
+        assertEquals(0, dispatcher.dispatchBatch());
+        assertEquals(0, smtp.connections());
+    }
+
+    @Test
+    void purgeExpired_DeletesSentAndFailedPastTheirRetention() {
+        LocalDateTime before = LocalDateTime.now();
+
+        dispatcher.purgeExpired();
+
+        ArgumentCaptor<LocalDateTime> sentCutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> failedCutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepository).deleteSentBefore(sentCutoff.capture());
+        verify(outboxRepository).deleteFailedBefore(failedCutoff.capture());
+        assertFalse(sentCutoff.getValue().isBefore(before.minusDays(3)));
+        assertTrue(sentCutoff.getValue().isBefore(before.minusDays(3).plusMinutes(1)));
+        assertFalse(failedCutoff.getValue().isBefore(before.minusDays(14)));
+        assertTrue(failedCutoff.getValue().isBefore(before.minusDays(14).plusMinutes(1)));
+    }
+
+    @Test
+    void backoff_DoublesUpToCap() {
+        assertEquals(Duration.ofSeconds(30), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(60), dispatcher.backoff(2));
+        assertEquals(Duration.ofSeconds(1920), dispatcher.backoff(7));
+        assertEquals(Duration.ofSeconds(3600), dispatcher.backoff(8));
+        assertEquals(Duration.ofSeconds(3600), dispatcher.backoff(40));
+    }
+
+    /**
+     * Serve the emails as the due batch and as the rows reloaded to record
+     * the results.
+     */
+    private List<OutboxEmail> due(OutboxEmail... emails) {
+        List<OutboxEmail> batch = new ArrayList<>(List.of(emails));
+        when(outboxRepository.findDueForUpdate(any(), any())).thenReturn(batch);
+        when(outboxRepository.findAllById(anyList())).thenReturn(batch);
+        return batch;
+    }
+
+    private static OutboxEmail email(Long id, String recipient, int attempts) {
+        return OutboxEmail.builder()
+                .id(id)
+                .recipient(recipient)
+                .subject("Subject " + id)
+                .body("Body " + id)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now().minusSeconds(5))
+                .build();
+    }
+}
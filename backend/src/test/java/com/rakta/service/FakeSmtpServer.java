@@ -0,0 +1,105 @@
+package com.rakta.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal local SMTP sink for tests: accepts every message except those to
+ * recipients containing "bounce", which get a 550. Records what it received.
+ * While {@link #setAvailable unavailable} it greets with 421 and hangs up.
+ */
+class FakeSmtpServer implements AutoCloseable {
+
+    record Received(String recipient, String data) {
+    }
+
+    private final ServerSocket serverSocket;
+    private final List<Received> received = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicBoolean available = new AtomicBoolean(true);
+
+    FakeSmtpServer() throws IOException {
+        serverSocket = new ServerSocket(0);
+        Thread acceptor = new Thread(this::acceptLoop, "fake-smtp");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    List<Received> received() {
+        return received;
+    }
+
+    int connections() {
+        return connections.get();
+    }
+
+    void setAvailable(boolean available) {
+        this.available.set(available);
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try (Socket socket = serverSocket.accept()) {
+                connections.incrementAndGet();
+                converse(socket);
+            } catch (IOException e) {
+                // Closed
+            }
+        }
+    }
+
+    private void converse(Socket socket) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+        if (!available.get()) {
+            reply(out, "421 Service not available");
+            return;
+        }
+        reply(out, "220 fake-smtp ready");
+        String recipient = null;
+        String line;
+        while ((line = in.readLine()) != null) {
+            String command = line.toUpperCase();
+            if (command.startsWith("RCPT TO:")) {
+                recipient = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+                reply(out, recipient.contains("bounce") ? "550 No such user" : "250 OK");
+            } else if (command.equals("DATA")) {
+                reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                StringBuilder data = new StringBuilder();
+                while ((line = in.readLine()) != null && !line.equals(".")) {
+                    data.append(line).append('\n');
+                }
+                received.add(new Received(recipient, data.toString()));
+                reply(out, "250 OK");
+            } else if (command.startsWith("QUIT")) {
+                reply(out, "221 Bye");
+                return;
+            } else {
+                reply(out, "250 OK"); // EHLO, MAIL FROM, RSET, NOOP
+            }
+        }
+    }
+
+    private static void reply(PrintWriter out, String line) {
+        out.print(line + "\r\n");
+        out.flush();
+    }
+}
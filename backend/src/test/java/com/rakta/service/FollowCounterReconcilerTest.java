@@ -0,0 +1,52 @@
+package com.rakta.service;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the repair statement against a migrated in-memory database.
+ */
+class FollowCounterReconcilerTest {
+
+    @Test
+    void reconcile_RepairsOnlyDriftedUsers() throws SQLException {
+        String url = "jdbc:h2:mem:followcounters;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        // H2 binds CHECK constraints to the migrating session; keep it open
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            Flyway.configure().dataSource(new SingleConnectionDataSource(connection, true)).load().migrate();
+            JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+            for (long id = 1; id <= 3; id++) {
+                jdbc.update("INSERT INTO users (id, first_name, last_name, email, password, terms_accepted, enabled) "
+                        + "VALUES (?, 'F', 'L', ?, 'x', TRUE, TRUE)", id, "u" + id + "@example.com");
+            }
+            jdbc.update("INSERT INTO user_follows (follower_id, following_id, created_at) VALUES (1, 2, NOW())");
+            jdbc.update("INSERT INTO user_follows (follower_id, following_id, created_at) VALUES (3, 2, NOW())");
+            // User 1 is already correct, 2 and 3 have drifted
+            jdbc.update("UPDATE users SET following_count = 1 WHERE id = 1");
+            jdbc.update("UPDATE users SET follower_count = 5, following_count = 1 WHERE id = 2");
+
+            FollowCounterReconciler reconciler = new FollowCounterReconciler(jdbc);
+            FollowCounterReconciler.ReconciliationReport report = reconciler.reconcile();
+
+            assertEquals(3, report.checked());
+            assertEquals(2, report.repaired());
+            assertEquals("0/1;2/0;0/1;", counters(jdbc));
+
+            assertEquals(0, reconciler.reconcile().repaired());
+        }
+    }
+
+    private String counters(JdbcTemplate jdbc) {
+        return String.join("", jdbc.query("SELECT follower_count, following_count FROM users ORDER BY id",
+                (rs, rowNum) -> rs.getInt(1) + "/" + rs.getInt(2) + ";"));
+    }
+}
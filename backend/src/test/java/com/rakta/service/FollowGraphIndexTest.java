@@ -0,0 +1,147 @@
+package com.rakta.service;
+
+import com.rakta.event.FollowChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class FollowGraphIndexTest {
+
+    // 1 -> 2, 1 -> 3, 2 -> 1, 2 -> 4, 3 -> 4, 3 -> 5, 4 -> 5
+    private static final long[][] EDGES = { { 1, 2 }, { 1, 3 }, { 2, 1 }, { 2, 4 }, { 3, 4 }, { 3, 5 }, { 4, 5 } };
+
+    @Test
+    void load_BuildsBothDirectionsAndMutuals() throws Exception {
+        FollowGraphIndex index = loadedIndex();
+
+        assertEquals(7, index.edgeCount());
+        assertArrayEquals(new long[] { 2, 3 }, index.graph().following(1L));
+        assertArrayEquals(new long[] { 3, 4 }, index.graph().followers(5L));
+        assertArrayEquals(new long[0], index.graph().followers(99L));
+        assertArrayEquals(new long[] { 2 }, index.mutualFollows(1L));
+    }
+
+    @Test
+    void suggestions_RankFriendsOfFriendsBySharedFollowees() throws Exception {
+        FollowGraphIndex index = loadedIndex();
+
+        // Followees 2 and 3 both follow 4; only 3 follows 5; 1 is the user itself
+        assertEquals(List.of(new FollowGraphIndex.Suggestion(4, 2, 2), new FollowGraphIndex.Suggestion(5, 1, 2)),
+                index.suggestions(1L, 10));
+        assertEquals(1, index.suggestions(1L, 1).size());
+    }
+
+    @Test
+    void followEvents_UpdateBothDirectionsOnce() throws Exception {
+        FollowGraphIndex index = loadedIndex();
+
+        index.onFollowChanged(new FollowChangedEvent(5L, 1L, true));
+        index.onFollowChanged(new FollowChangedEvent(5L, 1L, true));
+        assertEquals(8, index.edgeCount());
+        assertArrayEquals(new long[] { 2, 5 }, index.graph().followers(1L));
+        assertArrayEquals(new long[] { 1 }, index.graph().following(5L));
+
+        index.onFollowChanged(new FollowChangedEvent(1L, 2L, false));
+        index.onFollowChanged(new FollowChangedEvent(1L, 2L, false));
+        assertEquals(7, index.edgeCount());
+        assertArrayEquals(new long[] { 3 }, index.graph().following(1L));
+        assertArrayEquals(new long[0], index.graph().followers(2L));
+        assertArrayEquals(new long[0], index.mutualFollows(1L));
+    }
+
+    @Test
+    void reload_PicksUpEdgesWrittenElsewhere_KeepsChangesDuringTheRead() throws Exception {
+        FollowGraphIndex index = loadedIndex();
+        FollowGraphIndex.Graph before = index.graph();
+        // An edge written by another instance, and a follow committed here while the table is read
+        long[][] reloaded = { { 1, 2 }, { 1, 3 }, { 2, 1 }, { 2, 4 }, { 3, 4 }, { 3, 5 }, { 4, 5 }, { 5, 3 } };
+        stubEdges(index, reloaded, () -> index.onFollowChanged(new FollowChangedEvent(4L, 1L, true)));
+
+        index.reload();
+
+        assertNotSame(before, index.graph());
+        assertEquals(9, index.edgeCount());
+        assertArrayEquals(new long[] { 3 }, index.graph().following(5L));
+        assertArrayEquals(new long[] { 1, 5 }, index.graph().following(4L));
+        // The old graph took the change too while it was still serving
+        assertArrayEquals(new long[] { 1, 5 }, before.following(4L));
+    }
+
+    @Test
+    void followEvents_BeforeLoad_AreIgnored() {
+        FollowGraphIndex index = new FollowGraphIndex(mock(JdbcTemplate.class), new SimpleMeterRegistry());
+        index.onFollowChanged(new FollowChangedEvent(1L, 2L, true));
+
+        assertFalse(index.isReady());
+    }
+
+    /**
+     * Memory of a synthetic graph with 1M edges over 50k users (20 follows
+     * each, targets skewed towards low ids like popular donors).
+     */
+    @Test
+    void estimatedBytes_SyntheticMillionEdgeGraph() {
+        int users = 50_000;
+        int edges = 1_000_000;
+        long[] followers = new long[edges];
+        long[] followings = new long[edges];
+        Random random = new Random(42);
+        for (int i = 0; i < edges; i++) {
+            followers[i] = i / 20 + 1;
+            long target;
+            do {
+                target = (long) (Math.pow(random.nextDouble(), 2) * users) + 1;
+            } while (target == followers[i]);
+            followings[i] = target;
+        }
+
+        long start = System.nanoTime();
+        FollowGraphIndex.Graph graph = FollowGraphIndex.Graph.build(followers, followings, edges);
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+
+        long megabytes = graph.estimatedBytes() / (1024 * 1024);
+        System.out.printf("Synthetic follow graph: %d edges, ~%d MB, built in %d ms%n",
+                graph.edgeCount(), megabytes, buildMillis);
+        assertTrue(graph.edgeCount() > 950_000);
+        assertTrue(megabytes < 32, "~" + megabytes + " MB");
+    }
+
+    private FollowGraphIndex loadedIndex() throws Exception {
+        FollowGraphIndex index = new FollowGraphIndex(mock(JdbcTemplate.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(index, "enabled", true);
+        stubEdges(index, EDGES, () -> { });
+        index.load();
+        assertTrue(index.isReady());
+        return index;
+    }
+
+    /**
+     * Serve the edges to the next table read, running duringRead after the
+     * rows have been read.
+     */
+    private static void stubEdges(FollowGraphIndex index, long[][] edges, Runnable duringRead) throws Exception {
+        JdbcTemplate jdbc = (JdbcTemplate) ReflectionTestUtils.getField(index, "jdbcTemplate");
+        ResultSet rs = mock(ResultSet.class);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (long[] edge : edges) {
+                when(rs.getLong(1)).thenReturn(edge[0]);
+                when(rs.getLong(2)).thenReturn(edge[1]);
+                handler.processRow(rs);
+            }
+            duringRead.run();
+            return null;
+        }).when(jdbc).query(anyString(), any(RowCallbackHandler.class));
+    }
+}
@@ -0,0 +1,109 @@
+package com.rakta.service;
+
+import com.rakta.dto.UserPublicProfileDto;
+import com.rakta.repository.UserBadgeRepository;
+import com.rakta.repository.UserFollowRepository;
+import com.rakta.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PublicProfileServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private UserBadgeRepository userBadgeRepository;
+    @Mock
+    private UserFollowRepository userFollowRepository;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private PublicProfileService publicProfileService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(publicProfileService, "ttlSeconds", 30L);
+        ReflectionTestUtils.setField(publicProfileService, "maxSize", 100L);
+        publicProfileService.init();
+    }
+
+    @Test
+    void getProfile_MapsCountsFromSingleRow() {
+        givenProfileRow(7L, 3L, 12L, 5L, 2L);
+
+        UserPublicProfileDto profile = publicProfileService.getProfile(7L, null);
+
+        assertEquals("jane@rakta.app", profile.email());
+        assertEquals(3, profile.postCount());
+        assertEquals(12, profile.followerCount());
+        assertEquals(5, profile.followingCount());
+        assertEquals(2, profile.donationCount());
+        assertNull(profile.isFollowedByCurrentUser());
+        assertNull(profile.isOwnProfile());
+        verifyNoInteractions(userFollowRepository);
+    }
+
+    @Test
+    void getProfile_CachedUntilEvicted() {
+        givenProfileRow(7L, 3L, 12L, 5L, 2L);
+
+        publicProfileService.getProfile(7L, null);
+        publicProfileService.getProfile(7L, null);
+        verify(userRepository, times(1)).findPublicProfileRows(7L);
+
+        publicProfileService.evict(7L);
+        publicProfileService.getProfile(7L, null);
+        verify(userRepository, times(2)).findPublicProfileRows(7L);
+    }
+
+    @Test
+    void getProfile_ViewerRelationshipIsNotCached() {
+        givenProfileRow(7L, 0L, 0L, 0L, 0L);
+        when(userFollowRepository.existsByFollowerEmailAndFollowingId("bob@rakta.app", 7L)).thenReturn(true);
+
+        UserPublicProfileDto asBob = publicProfileService.getProfile(7L, "bob@rakta.app");
+        UserPublicProfileDto asSelf = publicProfileService.getProfile(7L, "jane@rakta.app");
+        UserPublicProfileDto anonymous = publicProfileService.getProfile(7L, null);
+
+        assertTrue(asBob.isFollowedByCurrentUser());
+        assertFalse(asBob.isOwnProfile());
+        assertNull(asSelf.isFollowedByCurrentUser());
+        assertTrue(asSelf.isOwnProfile());
+        assertNull(anonymous.isFollowedByCurrentUser());
+        assertNull(anonymous.isOwnProfile());
+        verify(userFollowRepository, times(1)).existsByFollowerEmailAndFollowingId(any(), any());
+    }
+
+    @Test
+    void getProfile_UnknownUser_Throws() {
+        when(userRepository.findPublicProfileRows(99L)).thenReturn(Collections.emptyList());
+
+        assertThrows(NoSuchElementException.class, () -> publicProfileService.getProfile(99L, null));
+    }
+
+    private void givenProfileRow(Long userId, long posts, long followers, long following, long donations) {
+        Object[] row = { userId, "jane", "Jane", "Doe", "jane@rakta.app", "O+", "Bangkok",
+                LocalDateTime.of(2025, 1, 1, 9, 0), posts, followers, following, donations };
+        List<Object[]> rows = Collections.singletonList(row);
+        when(userRepository.findPublicProfileRows(userId)).thenReturn(rows);
+        when(userBadgeRepository.findByUserIdWithBadges(userId)).thenReturn(List.of());
+    }
+}
@@ -7,11 +7,14 @@ import com.rakta.repository.DailyMetricRepository;
 import com.rakta.repository.DonationRepository;
 import com.rakta.repository.ReadinessSnapshotRepository;
 import com.rakta.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -35,6 +38,12 @@ class ReadinessCalculatorServiceTest {
         private DonationRepository donationRepository;
         @Mock
         private UserRepository userRepository;
+        @Mock
+        private DailyMetricAggregateService dailyMetricAggregateService;
+        @Mock
+        private DailyMetricSeriesCache dailyMetricSeriesCache;
+        @Spy
+        private MeterRegistry meterRegistry = new SimpleMeterRegistry();
 
         @InjectMocks
         private ReadinessCalculatorService readinessService;
@@ -0,0 +1,113 @@
+package com.rakta.service;
+
+import com.rakta.dto.ReadinessHistoryDto;
+import com.rakta.repository.ReadinessSnapshotRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ReadinessHistoryService.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReadinessHistoryServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private ReadinessSnapshotRepository readinessSnapshotRepository;
+
+    @InjectMocks
+    private ReadinessHistoryService historyService;
+
+    @Test
+    void weekResolution_FoldsDaysIntoIsoWeeks() {
+        // 2025-03-09 is a Sunday, 2025-03-10 a Monday
+        when(readinessSnapshotRepository.aggregateDailyScores(eq(USER_ID), any(), any())).thenReturn(List.of(
+                day(LocalDate.of(2025, 3, 8), 1, 60, 60, 60),
+                day(LocalDate.of(2025, 3, 9), 2, 150, 70, 80),
+                day(LocalDate.of(2025, 3, 10), 1, 90, 90, 90)));
+
+        ReadinessHistoryDto history = historyService.getHistory(USER_ID, LocalDate.of(2025, 3, 1),
+                LocalDate.of(2025, 3, 31), ReadinessHistoryService.Resolution.WEEK);
+
+        assertEquals("week", history.getResolution());
+        assertEquals(2, history.getPoints().size());
+
+        ReadinessHistoryDto.HistoryPoint first = history.getPoints().get(0);
+        assertEquals(LocalDate.of(2025, 3, 3), first.getPeriodStart());
+        assertEquals(3, first.getSamples());
+        assertEquals(70.0, first.getTotalScore().getAvg());
+        assertEquals(60.0, first.getTotalScore().getMin());
+        assertEquals(80.0, first.getTotalScore().getMax());
+
+        ReadinessHistoryDto.HistoryPoint second = history.getPoints().get(1);
+        assertEquals(LocalDate.of(2025, 3, 10), second.getPeriodStart());
+        assertEquals(90.0, second.getLifestyleComponent().getAvg());
+    }
+
+    @Test
+    void monthResolution_StartsOnFirstOfMonth() {
+        when(readinessSnapshotRepository.aggregateDailyScores(eq(USER_ID), any(), any())).thenReturn(List.of(
+                day(LocalDate.of(2025, 1, 31), 1, 50, 50, 50),
+                day(LocalDate.of(2025, 2, 1), 1, 70, 70, 70)));
+
+        ReadinessHistoryDto history = historyService.getHistory(USER_ID, LocalDate.of(2025, 1, 1),
+                LocalDate.of(2025, 12, 31), ReadinessHistoryService.Resolution.MONTH);
+
+        assertEquals(List.of(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 1)),
+                history.getPoints().stream().map(ReadinessHistoryDto.HistoryPoint::getPeriodStart).toList());
+    }
+
+    @Test
+    void components_MissingOnSomeSnapshots_AverageOverPresentValues() {
+        // Three snapshots; rbc on two of them, iron on none
+        Object[] day = new Object[] { LocalDate.of(2025, 3, 10), 3L, 3L, 210L, 60, 80,
+                2L, BigDecimal.valueOf(150), BigDecimal.valueOf(70), BigDecimal.valueOf(80),
+                0L, null, null, null,
+                3L, BigDecimal.valueOf(180), BigDecimal.valueOf(50), BigDecimal.valueOf(70) };
+        when(readinessSnapshotRepository.aggregateDailyScores(eq(USER_ID), any(), any()))
+                .thenReturn(List.<Object[]>of(day));
+
+        ReadinessHistoryDto.HistoryPoint point = historyService.getHistory(USER_ID, LocalDate.of(2025, 3, 10),
+                LocalDate.of(2025, 3, 16), ReadinessHistoryService.Resolution.WEEK).getPoints().get(0);
+
+        assertEquals(3, point.getSamples());
+        assertEquals(70.0, point.getTotalScore().getAvg());
+        assertEquals(75.0, point.getRbcComponent().getAvg());
+        assertNull(point.getIronComponent());
+        assertEquals(60.0, point.getLifestyleComponent().getAvg());
+    }
+
+    @Test
+    void invalidRequests_AreRejected() {
+        LocalDate today = LocalDate.of(2025, 3, 10);
+        assertThrows(IllegalArgumentException.class,
+                () -> historyService.getHistory(USER_ID, today, today.minusDays(1),
+                        ReadinessHistoryService.Resolution.DAY));
+        assertThrows(IllegalArgumentException.class,
+                () -> historyService.getHistory(USER_ID, today.minusYears(10), today,
+                        ReadinessHistoryService.Resolution.DAY));
+        assertThrows(IllegalArgumentException.class, () -> ReadinessHistoryService.Resolution.parse("hour"));
+        assertEquals(ReadinessHistoryService.Resolution.MONTH, ReadinessHistoryService.Resolution.parse("Month"));
+    }
+
+    private static Object[] day(LocalDate date, long count, long totalSum, int totalMin, int totalMax) {
+        BigDecimal sum = BigDecimal.valueOf(totalSum);
+        BigDecimal min = BigDecimal.valueOf(totalMin);
+        BigDecimal max = BigDecimal.valueOf(totalMax);
+        return new Object[] { date, count, count, totalSum, totalMin, totalMax,
+                count, sum, min, max, count, sum, min, max, count, sum, min, max };
+    }
+}
@@ -0,0 +1,147 @@
+package com.rakta.service;
+
+import com.rakta.entity.DailyMetric;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReadinessScoringKernel.
+ * Verifies the single-pass kernel matches the original stream-based formula
+ * exactly.
+ */
+class ReadinessScoringKernelTest {
+
+    private static final int TAU_RBC = 45;
+    private static final int TAU_IRON_MALE = 60;
+    private static final int TAU_IRON_FEMALE = 90;
+    private static final double BASELINE_SLEEP = 8.0;
+
+    private final ReadinessScoringKernel kernel = new ReadinessScoringKernel(
+            TAU_RBC, TAU_IRON_MALE, TAU_IRON_FEMALE, BASELINE_SLEEP);
+
+    @Test
+    void emptyWindow_NoDonation_ScoresPerfect() {
+        ReadinessScoringKernel.Score score = kernel.score(
+                new ReadinessScoringKernel.Window(), ReadinessScoringKernel.NO_DONATION, false);
+
+        assertEquals(100, score.totalScore());
+        assertEquals(100.0, score.rbcComponent());
+        assertEquals(100.0, score.ironComponent());
+        assertEquals(100.0, score.lifestyleComponent());
+    }
+
+    @Test
+    void highAcuteLoad_AppliesAcrPenalty() {
+        ReadinessScoringKernel.Window window = new ReadinessScoringKernel.Window();
+        window.add(0, 8.0, 3, 20);
+        for (int day = 8; day < 28; day++) {
+            window.add(day, 8.0, 3, 2);
+        }
+
+        ReadinessScoringKernel.Score score = kernel.score(window, ReadinessScoringKernel.NO_DONATION, false);
+
+        // ACR = 20 / (60 / 21) > 1.5 -> lifestyle 100 * 0.8
+        assertEquals(80.0, score.lifestyleComponent(), 0.0001);
+    }
+
+    @Test
+    void randomWindows_MatchStreamFormulaExactly() {
+        Random random = new Random(7);
+        LocalDate date = LocalDate.of(2025, 6, 1);
+
+        for (int run = 0; run < 5_000; run++) {
+            List<DailyMetric> metrics = new ArrayList<>();
+            int days = random.nextInt(30);
+            for (int i = 0; i < days; i++) {
+                metrics.add(DailyMetric.builder()
+                        .date(date.minusDays(random.nextInt(28) - 1))
+                        .sleepHours(random.nextInt(5) == 0 ? null
+                                : BigDecimal.valueOf(3 + random.nextDouble() * 7).setScale(2, RoundingMode.HALF_UP))
+                        .ironIntakeScore(random.nextInt(5) == 0 ? null : 1 + random.nextInt(5))
+                        .trainingLoadAcute(random.nextInt(5) == 0 ? null : random.nextInt(15))
+                        .build());
+            }
+            LocalDate lastDonation = random.nextBoolean() ? null : date.minusDays(random.nextInt(120));
+            boolean female = random.nextBoolean();
+
+            ReadinessScoringKernel.Score score = kernel.score(
+                    ReadinessScoringKernel.Window.of(metrics, date),
+                    ReadinessScoringKernel.daysSinceDonation(lastDonation, date),
+                    female);
+            double[] expected = referenceScore(metrics, date, lastDonation, female);
+
+            assertEquals(expected[0], score.rbcComponent(), 0.0);
+            assertEquals(expected[1], score.ironComponent(), 0.0);
+            assertEquals(expected[2], score.lifestyleComponent(), 0.0);
+            assertEquals((int) expected[3], score.totalScore());
+        }
+    }
+
+    /**
+     * The original multi-pass stream formulation from ReadinessCalculatorService.
+     */
+    private double[] referenceScore(List<DailyMetric> recentMetrics, LocalDate date, LocalDate lastDonationDate,
+            boolean female) {
+        long daysSinceDonation = lastDonationDate == null ? 365
+                : Math.max(0, java.time.temporal.ChronoUnit.DAYS.between(lastDonationDate, date));
+
+        double rbcRecovery = 1.0;
+        if (lastDonationDate != null) {
+            rbcRecovery = Math.min(1.0, 1.0 - Math.exp(-1.0 * daysSinceDonation / TAU_RBC));
+        }
+        double rbcScore = rbcRecovery * 100.0;
+
+        int tauIron = female ? TAU_IRON_FEMALE : TAU_IRON_MALE;
+        double baseIronRecovery = 1.0;
+        if (lastDonationDate != null) {
+            baseIronRecovery = Math.min(1.0, 1.0 - Math.exp(-1.0 * daysSinceDonation / tauIron));
+        }
+        double avgIronScore = recentMetrics.stream()
+                .filter(m -> !m.getDate().isBefore(date.minusDays(7)))
+                .mapToInt(m -> m.getIronIntakeScore() != null ? m.getIronIntakeScore() : 3)
+                .average()
+                .orElse(3.0);
+        double ironScore = Math.min(100.0, (baseIronRecovery * 100.0) * (0.8 + (avgIronScore - 1) * 0.1));
+
+        double avgSleep7d = recentMetrics.stream()
+                .filter(m -> !m.getDate().isBefore(date.minusDays(7)))
+                .filter(m -> m.getSleepHours() != null)
+                .map(DailyMetric::getSleepHours)
+                .mapToDouble(BigDecimal::doubleValue)
+                .average()
+                .orElse(BASELINE_SLEEP);
+        double avgLoad7d = recentMetrics.stream()
+                .filter(m -> !m.getDate().isBefore(date.minusDays(7)))
+                .mapToInt(m -> m.getTrainingLoadAcute() != null ? m.getTrainingLoadAcute() : 0)
+                .average()
+                .orElse(0.0);
+        double avgLoad28d = recentMetrics.stream()
+                .mapToInt(m -> m.getTrainingLoadAcute() != null ? m.getTrainingLoadAcute() : 0)
+                .average()
+                .orElse(1.0);
+        if (avgLoad28d == 0)
+            avgLoad28d = 1.0;
+        double acr = avgLoad7d / avgLoad28d;
+
+        double lifestyleScore = 100.0;
+        if (avgSleep7d < BASELINE_SLEEP) {
+            lifestyleScore -= (BASELINE_SLEEP - avgSleep7d) * 10.0;
+        }
+        if (acr > 1.5) {
+            lifestyleScore *= 0.8;
+        }
+        lifestyleScore = Math.max(0.0, Math.min(100.0, lifestyleScore));
+
+        double finalScore = (0.35 * rbcScore) + (0.25 * ironScore) + (0.40 * lifestyleScore);
+        int total = (int) Math.round(Math.max(0.0, Math.min(100.0, finalScore)));
+        return new double[] { rbcScore, ironScore, lifestyleScore, total };
+    }
+}
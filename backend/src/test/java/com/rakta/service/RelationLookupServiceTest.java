@@ -0,0 +1,159 @@
+package com.rakta.service;
+
+import com.rakta.repository.PostLikeRepository;
+import com.rakta.repository.UserFollowRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RelationLookupServiceTest {
+
+    @Mock
+    private PostLikeRepository likeRepository;
+    @Mock
+    private UserFollowRepository userFollowRepository;
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private RelationLookupService relationLookupService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(relationLookupService, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(relationLookupService, "likeFilterTtlSeconds", 300L);
+        ReflectionTestUtils.setField(relationLookupService, "likeFilterMaxUsers", 100L);
+        relationLookupService.init();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void likedPostIds_QueriesOnlyUnknownIdsOncePerRequest() {
+        when(likeRepository.findLikedPostIdsByUserIdAndPostIds(1L, List.of(10L, 11L, 12L))).thenReturn(List.of(11L));
+        when(likeRepository.findLikedPostIdsByUserIdAndPostIds(1L, List.of(13L))).thenReturn(List.of());
+
+        assertEquals(Set.of(11L), relationLookupService.likedPostIds(1L, List.of(10L, 11L, 12L)));
+        assertTrue(relationLookupService.hasLiked(1L, 11L));
+        assertFalse(relationLookupService.hasLiked(1L, 12L));
+        assertEquals(Set.of(11L), relationLookupService.likedPostIds(1L, List.of(11L, 12L, 13L)));
+
+        verify(likeRepository, times(2)).findLikedPostIdsByUserIdAndPostIds(anyLong(), any());
+    }
+
+    @Test
+    void likedPostIds_OutsideRequest_AlwaysQueries() {
+        RequestContextHolder.resetRequestAttributes();
+        when(likeRepository.findLikedPostIdsByUserIdAndPostIds(1L, List.of(10L))).thenReturn(List.of(10L));
+
+        assertTrue(relationLookupService.hasLiked(1L, 10L));
+        assertTrue(relationLookupService.hasLiked(1L, 10L));
+
+        verify(likeRepository, times(2)).findLikedPostIdsByUserIdAndPostIds(1L, List.of(10L));
+    }
+
+    @Test
+    void recordLike_UpdatesRememberedAnswer() {
+        when(likeRepository.findLikedPostIdsByUserIdAndPostIds(1L, List.of(10L))).thenReturn(List.of());
+        assertFalse(relationLookupService.hasLiked(1L, 10L));
+
+        relationLookupService.recordLike(1L, 10L, true);
+
+        assertTrue(relationLookupService.hasLiked(1L, 10L));
+        verify(likeRepository, times(1)).findLikedPostIdsByUserIdAndPostIds(anyLong(), any());
+    }
+
+    @Test
+    void likeFilter_SkipsQueryForPostsRuledOut() {
+        ReflectionTestUtils.setField(relationLookupService, "likeFilterEnabled", true);
+        when(likeRepository.findPostIdsByUserId(1L)).thenReturn(List.of(5L));
+
+        assertEquals(Set.of(), relationLookupService.likedPostIds(1L, List.of(100L, 101L, 102L)));
+
+        verify(likeRepository, never()).findLikedPostIdsByUserIdAndPostIds(anyLong(), any());
+        assertEquals(3, meterRegistry.counter("rakta.relations.lookups", "relation", "like", "source", "filter")
+                .count());
+    }
+
+    @Test
+    void likeFilter_NewLikeIsNeverRuledOut() {
+        ReflectionTestUtils.setField(relationLookupService, "likeFilterEnabled", true);
+        when(likeRepository.findPostIdsByUserId(1L)).thenReturn(List.of());
+        relationLookupService.likedPostIds(1L, List.of());
+
+        relationLookupService.recordLike(1L, 42L, true);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(likeRepository.findLikedPostIdsByUserIdAndPostIds(1L, List.of(42L))).thenReturn(List.of(42L));
+
+        assertTrue(relationLookupService.hasLiked(1L, 42L));
+    }
+
+    @Test
+    void likeFilter_LoadedBeforeCommit_GetsLikeOnCommit() {
+        ReflectionTestUtils.setField(relationLookupService, "likeFilterEnabled", true);
+        when(likeRepository.findPostIdsByUserId(1L)).thenReturn(List.of());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            relationLookupService.recordLike(1L, 42L, true);
+            // Another request loads the filter before the like commits
+            relationLookupService.likedPostIds(1L, List.of());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(likeRepository.findLikedPostIdsByUserIdAndPostIds(1L, List.of(42L))).thenReturn(List.of(42L));
+        assertTrue(relationLookupService.hasLiked(1L, 42L));
+    }
+
+    @Test
+    void followedUserIds_BatchesIntoOneQuery() {
+        when(userFollowRepository.findFollowingIdsByFollowerIdAndFollowingIds(1L, List.of(2L, 3L)))
+                .thenReturn(List.of(3L));
+
+        assertEquals(Set.of(3L), relationLookupService.followedUserIds(1L, List.of(2L, 3L)));
+        assertTrue(relationLookupService.isFollowing(1L, 3L));
+        relationLookupService.recordFollow(1L, 2L, true);
+        assertTrue(relationLookupService.isFollowing(1L, 2L));
+
+        verify(userFollowRepository, times(1)).findFollowingIdsByFollowerIdAndFollowingIds(anyLong(), any());
+    }
+
+    @Test
+    void likedPostFilter_HasNoFalseNegativesAndFewFalsePositives() {
+        List<Long> liked = LongStream.rangeClosed(1, 500).map(i -> i * 7).boxed().toList();
+        LikedPostFilter filter = LikedPostFilter.of(liked, 0.01);
+
+        liked.forEach(id -> assertTrue(filter.mightContain(id)));
+        long falsePositives = LongStream.range(100_000, 110_000).filter(filter::mightContain).count();
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
@@ -4,7 +4,7 @@ import com.rakta.dto.AuthDto;
 import com.rakta.entity.User;
 import com.rakta.repository.UserRepository;
 import com.rakta.repository.VerificationTokenRepository;
-import com.rakta.security.JwtTokenProvider;
+import com.rakta.security.UserPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,7 +17,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDate;
-import java.util.Optional;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,7 +33,7 @@ class UserServiceTest {
     @Mock
     private AuthenticationManager authenticationManager;
     @Mock
-    private JwtTokenProvider jwtTokenProvider;
+    private AuthTokenService authTokenService;
     @Mock
     private EmailService emailService;
     @Mock
@@ -69,11 +69,9 @@ class UserServiceTest {
             return u;
         });
 
-        // Mock authentication for immediate token generation
-        Authentication mockAuth = mock(Authentication.class);
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenReturn(mockAuth);
-        when(jwtTokenProvider.generateToken(mockAuth)).thenReturn("mock_jwt_token");
+        // Tokens issued for the saved user
+        when(authTokenService.issue(1L, "test@example.com"))
+                .thenReturn(new AuthTokenService.AuthTokens("mock_jwt_token", "mock_refresh_token"));
 
         // When
         AuthDto.AuthResponse result = userService.register(request);
@@ -81,9 +79,15 @@ class UserServiceTest {
         // Then - Users now get token immediately (no email verification)
         assertNotNull(result.getToken());
         assertEquals("mock_jwt_token", result.getToken());
+        assertEquals("mock_refresh_token", result.getRefreshToken());
         assertEquals("Test", result.getFirstName());
         assertEquals("User", result.getLastName());
         assertEquals("test@example.com", result.getEmail());
+        assertEquals(1L, result.getUserId());
+
+        // One BCrypt operation: the password is not verified again
+        verify(passwordEncoder, times(1)).encode("password123");
+        verifyNoInteractions(authenticationManager);
 
         // Verify NO verification email is sent (email verification removed)
         verify(emailService, never()).sendPasswordResetEmail(anyString(), anyString());
@@ -108,26 +112,27 @@ class UserServiceTest {
         request.setEmail("test@example.com");
         request.setPassword("password123");
 
-        Authentication mockAuth = mock(Authentication.class);
+        UserPrincipal principal = new UserPrincipal(1L, "test@example.com", "encoded_password", "Test", "User",
+                true, List.of());
+        Authentication authentication = UsernamePasswordAuthenticationToken.authenticated(principal, null,
+                principal.getAuthorities());
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenReturn(mockAuth);
-        when(jwtTokenProvider.generateToken(mockAuth)).thenReturn("mock_jwt_token");
-        when(userRepository.findByEmail("test@example.com"))
-                .thenReturn(Optional.of(User.builder()
-                        .id(1L)
-                        .firstName("Test")
-                        .lastName("User")
-                        .email("test@example.com")
-                        .enabled(true)
-                        .termsAccepted(true)
-                        .build()));
+                .thenReturn(authentication);
+        when(authTokenService.issue(1L, "test@example.com"))
+                .thenReturn(new AuthTokenService.AuthTokens("mock_jwt_token", "mock_refresh_token"));
 
         // When
         AuthDto.AuthResponse result = userService.login(request);
 
         // Then
         assertEquals("mock_jwt_token", result.getToken());
+        assertEquals("mock_refresh_token", result.getRefreshToken());
+        assertEquals(1L, result.getUserId());
         assertEquals("Test", result.getFirstName());
         assertEquals("User", result.getLastName());
+        assertEquals("test@example.com", result.getEmail());
+
+        // The principal loaded for authentication is the only lookup
+        verifyNoInteractions(userRepository);
     }
 }
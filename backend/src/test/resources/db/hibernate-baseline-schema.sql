@@ -0,0 +1,263 @@
+-- Schema Hibernate generated (ddl-auto: update, H2 dialect) from the JPA entities
+-- as they were before Flyway was enabled: what existing databases look like
+-- when Flyway baselines them at V2. Used by LegacySchemaMigrationTest.
+
+
+create table badges (
+    display_order integer,
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    code varchar(50) not null unique,
+    name varchar(100) not null,
+    description TEXT,
+    icon_url varchar(255),
+    category enum ('COMMUNITY','DONATION','HEALTH','SPECIAL','STREAK'),
+    primary key (id)
+);
+
+create table daily_metrics (
+    date date not null,
+    energy_level integer,
+    hrv_ms integer,
+    hydration_liters numeric(3,1),
+    iron_intake_score integer,
+    menstrual_cycle_day integer,
+    resting_heart_rate integer,
+    sleep_efficiency integer,
+    sleep_hours numeric(4,2),
+    training_load_acute integer,
+    created_at timestamp(6),
+    user_id bigint not null,
+    id uuid not null,
+    source varchar(255),
+    primary key (id),
+    unique (user_id, date)
+);
+
+create table donation_locations (
+    end_date date,
+    latitude float(53),
+    longitude float(53),
+    start_date date,
+    id bigint generated by default as identity,
+    address varchar(255) not null,
+    contact_info varchar(255),
+    name varchar(255) not null unique,
+    opening_hours varchar(255),
+    type varchar(255) not null,
+    primary key (id)
+);
+
+create table donation_posts (
+    donation_date date not null,
+    like_count integer,
+    created_at timestamp(6),
+    donation_id bigint,
+    id bigint generated by default as identity,
+    location_id bigint not null,
+    user_id bigint not null,
+    review_text TEXT,
+    primary key (id)
+);
+
+create table donations (
+    diastolic_bp integer,
+    donation_date date not null,
+    donor_weight float(53),
+    hemoglobin_level float(53),
+    pulse_rate integer,
+    systolic_bp integer,
+    volume_donated integer,
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    location_id bigint,
+    user_id bigint not null,
+    notes varchar(255),
+    donation_type enum ('DOUBLE_RED_CELL','PLASMA','PLATELETS','WHOLE_BLOOD') not null,
+    status enum ('COMPLETED','DEFERRED','PROCESSING'),
+    primary key (id)
+);
+
+create table health_logs (
+    date date not null,
+    sleep_hours integer,
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    feeling varchar(255),
+    primary key (id)
+);
+
+create table post_likes (
+    id bigint generated by default as identity,
+    liked_at timestamp(6),
+    post_id bigint not null,
+    user_id bigint not null,
+    primary key (id),
+    unique (user_id, post_id)
+);
+
+create table readiness_snapshots (
+    date date not null,
+    iron_component numeric(38,2),
+    lifestyle_component numeric(38,2),
+    rbc_component numeric(38,2),
+    total_score integer not null,
+    created_at timestamp(6),
+    user_id bigint not null,
+    id uuid not null,
+    primary key (id)
+);
+
+create table supplement_logs (
+    logged_at timestamp(6),
+    user_id bigint not null,
+    id uuid not null,
+    type enum ('IRON','MULTIVITAMIN','OTHER','VITAMIN_C') not null,
+    primary key (id)
+);
+
+create table user_badges (
+    is_viewed boolean,
+    badge_id bigint not null,
+    earned_at timestamp(6),
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    context varchar(255),
+    primary key (id),
+    unique (user_id, badge_id)
+);
+
+create table user_follows (
+    created_at timestamp(6),
+    follower_id bigint not null,
+    following_id bigint not null,
+    primary key (follower_id, following_id)
+);
+
+create table user_integrations (
+    expires_at timestamp(6),
+    last_sync_at timestamp(6),
+    updated_at timestamp(6),
+    user_id bigint not null,
+    id uuid not null,
+    access_token varchar(2048),
+    refresh_token varchar(2048),
+    provider enum ('APPLE','GARMIN','GOOGLE','OURA') not null,
+    primary key (id)
+);
+
+create table users (
+    date_of_birth date,
+    enabled boolean not null,
+    height float(53),
+    terms_accepted boolean not null,
+    weight float(53),
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    updated_at timestamp(6),
+    blood_type varchar(255),
+    city varchar(255),
+    email varchar(255) not null unique,
+    first_name varchar(255) not null,
+    gender varchar(255),
+    last_name varchar(255) not null,
+    password varchar(255) not null,
+    phone varchar(255),
+    username varchar(255) unique,
+    primary key (id)
+);
+
+create table verification_tokens (
+    expiry_date timestamp(6) not null,
+    id bigint generated by default as identity,
+    user_id bigint not null,
+    token varchar(255) not null unique,
+    type enum ('PASSWORD_RESET') not null,
+    primary key (id)
+);
+
+alter table if exists daily_metrics 
+   add constraint FKifjrwl7nsqn4af7kje2mdi70g 
+   foreign key (user_id) 
+   references users;
+
+alter table if exists donation_posts 
+   add constraint FKoe6d4n83kmtwvdvfioueynpk8 
+   foreign key (donation_id) 
+   references donations;
+
+alter table if exists donation_posts 
+   add constraint FKmb34vg8f54f24nphs6re3bif5 
+   foreign key (location_id) 
+   references donation_locations;
+
+alter table if exists donation_posts 
+   add constraint FK4s4nch79vk1bklvbu5eg0bwqj 
+   foreign key (user_id) 
+   references users;
+
+alter table if exists donations 
+   add constraint FKmkymunrdhqfwwb9jgi35tlwxf 
+   foreign key (location_id) 
+   references donation_locations;
+
+alter table if exists donations 
+   add constraint FKd2p196clbvqgbemy05ndspwu 
+   foreign key (user_id) 
+   references users;
+
+alter table if exists health_logs 
+   add constraint FKrl52rix9oqkb736haaqhtl73f 
+   foreign key (user_id) 
+   references users;
+
+alter table if exists post_likes 
+   add constraint FK8cc79p4y0lg15bbv1b5nyhc5v 
+   foreign key (post_id) 
+   references donation_posts;
+
+alter table if exists post_likes 
+   add constraint FKkgau5n0nlewg6o9lr4yibqgxj 
+   foreign key (user_id) 
+   references users;
+
+alter table if exists readiness_snapshots 
+   add constraint FK35ji41plqx0ekdp9kblpv71k3 
+   foreign key (user_id) 
+   references users;
+
+alter table if exists supplement_logs 
+   add constraint FKkqveof6uk1ip200i03drgl6ms 
+   foreign key (user_id) 
+   references users;
+
+alter table if exists user_badges 
+   add constraint FKk6e00pguaij0uke6xr81gt045 
+   foreign key (badge_id) 
+   references badges;
+
+alter table if exists user_badges 
+   add constraint FKr46ah81sjymsn035m4ojstn5s 
+   foreign key (user_id) 
+   references users;
+
+alter table if exists user_follows 
+   add constraint FKqx9mu1fniaua5jfe1cdyspxdt 
+   foreign key (follower_id) 
+   references users;
+
+alter table if exists user_follows 
+   add constraint FKp1rxuw1ulwo6mu84qaajuttrk 
+   foreign key (following_id) 
+   references users;
+
+alter table if exists user_integrations 
+   add constraint FKg9afyfkdkwocvasy7u94tn8el 
+   foreign key (user_id) 
+   references users;
+
+alter table if exists verification_tokens 
+   add constraint FK54y8mqsnq1rtyf581sfmrbp4f 
+   foreign key (user_id) 
+   references users;
@@ -32,7 +32,7 @@ export default function LoginPage() {
                 firstName: data.firstName,
                 lastName: data.lastName,
                 email: data.email
-            });
+            }, data.refreshToken);
 
             toast.success(`Welcome back, ${data.firstName}!`);
             router.push('/dashboard');
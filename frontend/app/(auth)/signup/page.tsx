@@ -112,7 +112,7 @@ function RegisterForm() {
                 firstName: response.firstName,
                 lastName: response.lastName,
                 email: response.email
-            });
+            }, response.refreshToken);
 
             // Clear saved form state
             sessionStorage.removeItem('signup_form');
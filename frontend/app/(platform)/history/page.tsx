@@ -14,7 +14,7 @@ import {
     PaginationPrevious,
 } from "@/components/ui/pagination";
 import DonationDetailDialog from "@/components/tracking/DonationDetailDialog";
-import { apiRequest, API_URL } from "@/lib/api";
+import { apiRequest, API_URL, authorizedFetch } from "@/lib/api";
 
 interface DonationDetail {
     id: number;
@@ -73,12 +73,7 @@ export default function HistoryPage() {
 
         setIsExporting(true);
         try {
-            const response = await fetch(`${API_URL}/donations/export`, {
-                method: 'GET',
-                headers: {
-                    'Authorization': `Bearer ${token}`,
-                },
-            });
+            const response = await authorizedFetch(`${API_URL}/donations/export`, { method: 'GET' });
 
             if (!response.ok) throw new Error('Export failed');
 
@@ -8,8 +8,8 @@ import { Card, CardContent } from "@/components/ui/card";
 import { Avatar, AvatarFallback } from "@/components/ui/avatar";
 import { Badge } from "@/components/ui/badge";
 import { LogOut, Droplets, Activity, Heart, Calendar } from "lucide-react";
-import { clearAuthCookies, getToken } from "@/lib/auth";
-import { apiRequest } from "@/lib/api";
+import { getToken } from "@/lib/auth";
+import { apiRequest, logout } from "@/lib/api";
 
 interface UserProfile {
     firstName: string;
@@ -74,8 +74,8 @@ export default function ProfilePage() {
         fetchData();
     }, []);
 
-    const handleSignOut = () => {
-        clearAuthCookies();
+    const handleSignOut = async () => {
+        await logout();
         window.location.href = '/';
     };
 
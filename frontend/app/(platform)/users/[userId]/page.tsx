@@ -48,10 +48,17 @@ interface UserProfile {
 
 interface FollowUser {
     id: number;
-    fullName: string;
-    city: string | null;
+    username: string | null;
+    firstName: string;
 }
 
+interface FollowPage {
+    users: FollowUser[];
+    nextCursor: number | null;
+}
+
+const followDisplayName = (user: FollowUser) => user.username || user.firstName;
+
 export default function UserProfilePage() {
     const router = useRouter();
     const params = useParams();
@@ -61,6 +68,8 @@ export default function UserProfilePage() {
     const [posts, setPosts] = useState<FeedPost[]>([]);
     const [followers, setFollowers] = useState<FollowUser[]>([]);
     const [following, setFollowing] = useState<FollowUser[]>([]);
+    const [followersCursor, setFollowersCursor] = useState<number | null>(null);
+    const [followingCursor, setFollowingCursor] = useState<number | null>(null);
     const [activeTab, setActiveTab] = useState("posts");
     const [isLoading, setIsLoading] = useState(true);
     const [isFollowLoading, setIsFollowLoading] = useState(false);
@@ -97,25 +106,27 @@ export default function UserProfilePage() {
         }
     }, [userId]);
 
-    const fetchFollowers = useCallback(async () => {
+    const fetchFollowers = useCallback(async (cursor?: number) => {
         try {
-            const data: FollowUser[] = await apiRequest(
-                `/v1/community/users/${userId}/followers`,
+            const data: FollowPage = await apiRequest(
+                `/v1/community/users/${userId}/followers${cursor ? `?cursor=${cursor}` : ""}`,
                 "GET"
             );
-            setFollowers(data);
+            setFollowers((prev) => (cursor ? [...prev, ...data.users] : data.users));
+            setFollowersCursor(data.nextCursor);
         } catch (err) {
             console.error("Failed to fetch followers:", err);
         }
     }, [userId]);
 
-    const fetchFollowing = useCallback(async () => {
+    const fetchFollowing = useCallback(async (cursor?: number) => {
         try {
-            const data: FollowUser[] = await apiRequest(
-                `/v1/community/users/${userId}/following`,
+            const data: FollowPage = await apiRequest(
+                `/v1/community/users/${userId}/following${cursor ? `?cursor=${cursor}` : ""}`,
                 "GET"
             );
-            setFollowing(data);
+            setFollowing((prev) => (cursor ? [...prev, ...data.users] : data.users));
+            setFollowingCursor(data.nextCursor);
         } catch (err) {
             console.error("Failed to fetch following:", err);
         }
@@ -442,16 +453,18 @@ export default function UserProfilePage() {
                                             style={{ minHeight: '54px' }}
                                         >
                                             <div className="w-10 h-10 rounded-full bg-gradient-to-br from-red-600 to-red-500 flex items-center justify-center text-white font-bold flex-shrink-0 text-sm">
-                                                {user.fullName.charAt(0).toUpperCase()}
+                                                {followDisplayName(user).charAt(0).toUpperCase()}
                                             </div>
                                             <div className="flex-1 min-w-0">
-                                                <div className="font-semibold text-white text-sm">{user.fullName}</div>
-                                                {user.city && (
-                                                    <div className="text-xs text-muted-foreground">{user.city}</div>
-                                                )}
+                                                <div className="font-semibold text-white text-sm">{followDisplayName(user)}</div>
                                             </div>
                                         </div>
                                     ))}
+                                    {followersCursor !== null && (
+                                        <Button variant="outline" onClick={() => fetchFollowers(followersCursor)}>
+                                            Load more
+                                        </Button>
+                                    )}
                                 </div>
                             )}
                         </TabsContent>
@@ -477,16 +490,18 @@ export default function UserProfilePage() {
                                             style={{ minHeight: '54px' }}
                                         >
                                             <div className="w-10 h-10 rounded-full bg-gradient-to-br from-red-600 to-red-500 flex items-center justify-center text-white font-bold flex-shrink-0 text-sm">
-                                                {user.fullName.charAt(0).toUpperCase()}
+                                                {followDisplayName(user).charAt(0).toUpperCase()}
                                             </div>
                                             <div className="flex-1 min-w-0">
-                                                <div className="font-semibold text-white text-sm">{user.fullName}</div>
-                                                {user.city && (
-                                                    <div className="text-xs text-muted-foreground">{user.city}</div>
-                                                )}
+                                                <div className="font-semibold text-white text-sm">{followDisplayName(user)}</div>
                                             </div>
                                         </div>
                                     ))}
+                                    {followingCursor !== null && (
+                                        <Button variant="outline" onClick={() => fetchFollowing(followingCursor)}>
+                                            Load more
+                                        </Button>
+                                    )}
                                 </div>
                             )}
                         </TabsContent>
@@ -2,7 +2,7 @@
 
 import React, { useState } from "react";
 import styles from "./MetricInputForm.module.css";
-import { API_URL } from "@/lib/api";
+import { API_URL, authorizedFetch } from "@/lib/api";
 
 export default function MetricInputForm() {
     const [formData, setFormData] = useState({
@@ -29,12 +29,10 @@ export default function MetricInputForm() {
         e.preventDefault();
         setLoading(true);
         try {
-            const token = localStorage.getItem("token");
-            const res = await fetch(`${API_URL}/v1/health/daily/sync-from-device`, {
+            const res = await authorizedFetch(`${API_URL}/v1/health/daily/sync-from-device`, {
                 method: "POST",
                 headers: {
                     "Content-Type": "application/json",
-                    Authorization: `Bearer ${token}`,
                 },
                 body: JSON.stringify({
                     date: new Date().toISOString().split("T")[0],
@@ -4,7 +4,7 @@ import Link from "next/link";
 import { usePathname } from "next/navigation";
 import { LayoutDashboard, Map, History, Settings, LogOut, User, Rss } from "lucide-react";
 import { cn } from "@/lib/utils";
-import { clearAuthCookies } from "@/lib/auth";
+import { logout } from "@/lib/api";
 import { useUser } from "@/contexts/UserContext";
 
 const navItems = [
@@ -37,8 +37,8 @@ export default function AppSidebar() {
     const pathname = usePathname();
     const { user, loading } = useUser();
 
-    const handleSignOut = () => {
-        clearAuthCookies();
+    const handleSignOut = async () => {
+        await logout();
         window.location.href = '/';
     };
 
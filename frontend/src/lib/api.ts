@@ -1,4 +1,4 @@
-import { getToken } from './auth';
+import { clearAuthCookies, getRefreshToken, getToken, setTokens } from './auth';
 import { toast } from 'sonner';
 
 export const API_URL = (process.env.NEXT_PUBLIC_API_URL || 'http://localhost:8080/api').replace(/\/+$/, '');
@@ -8,7 +8,70 @@ const RETRY_DELAY = 1000; // 1 second
 // Function to sleep
 const sleep = (ms: number) => new Promise(resolve => setTimeout(resolve, ms));
 
-export async function apiRequest(endpoint: string, method: string = 'GET', body?: unknown, token?: string, retryCount = 0): Promise<any> {
+// One refresh at a time: refresh tokens are single use, so parallel 401s must share it
+let refreshInFlight: Promise<boolean> | null = null;
+
+/**
+ * Exchange the refresh token for a new access token. Resolves false if the
+ * session is over (no, expired or revoked refresh token).
+ */
+function refreshSession(): Promise<boolean> {
+    if (!refreshInFlight) {
+        refreshInFlight = (async () => {
+            const refreshToken = getRefreshToken();
+            if (!refreshToken) return false;
+            try {
+                const response = await fetch(`${API_URL}/auth/refresh`, {
+                    method: 'POST',
+                    headers: { 'Content-Type': 'application/json' },
+                    body: JSON.stringify({ refreshToken }),
+                });
+                if (!response.ok) return false;
+                const data = await response.json();
+                setTokens(data.token, data.refreshToken);
+                return true;
+            } catch {
+                return false;
+            }
+        })().finally(() => {
+            refreshInFlight = null;
+        });
+    }
+    return refreshInFlight;
+}
+
+/**
+ * fetch with the bearer token, renewing it once on 401. For requests that
+ * need the raw response (file downloads) instead of apiRequest's JSON.
+ */
+export async function authorizedFetch(url: string, init: RequestInit = {}): Promise<Response> {
+    const send = () => fetch(url, {
+        ...init,
+        headers: { ...(init.headers as Record<string, string>), Authorization: `Bearer ${getToken()}` },
+    });
+    const response = await send();
+    if (response.status === 401 && await refreshSession()) {
+        return send();
+    }
+    return response;
+}
+
+/**
+ * Sign out: revoke the session on the server (best effort) and clear local auth state.
+ */
+export async function logout() {
+    const refreshToken = getRefreshToken();
+    if (refreshToken) {
+        await fetch(`${API_URL}/auth/logout`, {
+            method: 'POST',
+            headers: { 'Content-Type': 'application/json' },
+            body: JSON.stringify({ refreshToken }),
+        }).catch(() => undefined);
+    }
+    clearAuthCookies();
+}
+
+export async function apiRequest(endpoint: string, method: string = 'GET', body?: unknown, token?: string, retryCount = 0, refreshed = false): Promise<any> {
     const headers: HeadersInit = {
         'Content-Type': 'application/json',
     };
@@ -33,7 +96,7 @@ export async function apiRequest(endpoint: string, method: string = 'GET', body?
                     // Only retry idempotent GET requests automatically
                     console.warn(`Request failed (${response.status}). Retrying... (${retryCount + 1}/${MAX_RETRIES})`);
                     await sleep(RETRY_DELAY * Math.pow(2, retryCount)); // Exponential backoff: 1s, 2s, 4s
-                    return apiRequest(endpoint, method, body, token, retryCount + 1);
+                    return apiRequest(endpoint, method, body, token, retryCount + 1, refreshed);
                 } else {
                     // Retries exhausted or non-safe method
                     const message = "Server is processing intensely. Please try again in a moment.";
@@ -44,8 +107,12 @@ export async function apiRequest(endpoint: string, method: string = 'GET', body?
 
             // Handle specific HTTP status codes
             if (response.status === 401) {
+                // Access tokens are short-lived: renew once and replay the request
+                if (typeof window !== 'undefined' && !refreshed && !endpoint.startsWith('/auth/') && await refreshSession()) {
+                    return apiRequest(endpoint, method, body, undefined, retryCount, true);
+                }
                 if (typeof window !== 'undefined') {
-                    localStorage.removeItem('token');
+                    clearAuthCookies();
                     // Redirect to login instead of throwing (prevents app crash)
                     window.location.href = '/login';
                     // Return never-resolving promise to halt execution during redirect
@@ -81,7 +148,7 @@ export async function apiRequest(endpoint: string, method: string = 'GET', body?
             if (retryCount < MAX_RETRIES) {
                 console.warn(`Network error. Retrying... (${retryCount + 1}/${MAX_RETRIES})`);
                 await sleep(RETRY_DELAY);
-                return apiRequest(endpoint, method, body, token, retryCount + 1);
+                return apiRequest(endpoint, method, body, token, retryCount + 1, refreshed);
             }
             const msg = "Could not connect to server. Please check your internet.";
             toast.error(msg);
@@ -5,9 +5,11 @@
 
 const TOKEN_COOKIE_NAME = 'token';
 const USER_COOKIE_NAME = 'user';
+const REFRESH_TOKEN_KEY = 'refreshToken';
 
-// Cookie options
-const COOKIE_MAX_AGE = 60 * 60 * 24; // 1 day in seconds
+// Cookie options: the session lasts as long as the refresh token (14 days);
+// the access token itself expires after 15 minutes and is renewed by apiRequest
+const COOKIE_MAX_AGE = 60 * 60 * 24 * 14;
 
 /**
  * User type matching backend AuthResponse
@@ -23,16 +25,34 @@ export interface AuthUser {
  * Set authentication cookies after login/signup.
  * Called from client-side after successful API response.
  */
-export function setAuthCookies(token: string, user: AuthUser) {
-    // Set token cookie (accessible to middleware)
-    document.cookie = `${TOKEN_COOKIE_NAME}=${token}; path=/; max-age=${COOKIE_MAX_AGE}; SameSite=Lax`;
+export function setAuthCookies(token: string, user: AuthUser, refreshToken?: string) {
+    setTokens(token, refreshToken);
 
     // Set user cookie (for UI hydration)
     document.cookie = `${USER_COOKIE_NAME}=${encodeURIComponent(JSON.stringify(user))}; path=/; max-age=${COOKIE_MAX_AGE}; SameSite=Lax`;
+    localStorage.setItem('user', JSON.stringify(user));
+}
+
+/**
+ * Store a new access token (and its refresh token) after login or refresh.
+ */
+export function setTokens(token: string, refreshToken?: string) {
+    // Set token cookie (accessible to middleware)
+    document.cookie = `${TOKEN_COOKIE_NAME}=${token}; path=/; max-age=${COOKIE_MAX_AGE}; SameSite=Lax`;
 
     // Also keep in localStorage for backward compatibility
     localStorage.setItem('token', token);
-    localStorage.setItem('user', JSON.stringify(user));
+    if (refreshToken) {
+        localStorage.setItem(REFRESH_TOKEN_KEY, refreshToken);
+    }
+}
+
+/**
+ * Get the single-use refresh token (client-side).
+ */
+export function getRefreshToken(): string | null {
+    if (typeof window === 'undefined') return null;
+    return localStorage.getItem(REFRESH_TOKEN_KEY);
 }
 
 /**
@@ -46,6 +66,7 @@ export function clearAuthCookies() {
     // Clear localStorage
     localStorage.removeItem('token');
     localStorage.removeItem('user');
+    localStorage.removeItem(REFRESH_TOKEN_KEY);
 }
 
 /**